@@ -31,6 +31,7 @@ import org.codehaus.groovy.grails.commons.*
 import org.codehaus.groovy.grails.commons.cfg.*
 import org.codehaus.groovy.control.*
 import org.springframework.util.Log4jConfigurer
+import org.codehaus.groovy.grails.web.pages.GroovyPageCompiler
 import grails.util.*
 
 
@@ -329,6 +330,23 @@ target(packageTemplates: "Packages templates into the app") {
 }
 
 
+// Compiles the GSP views of the application and its plugins within the given web application
+// directory into its WEB-INF/classes directory, together with the index that the
+// GroovyPagesTemplateEngine uses to load them at startup instead of compiling them on first request.
+precompileGroovyPages = { webAppDir ->
+    def compiler = new GroovyPageCompiler(new File("${webAppDir}/WEB-INF/classes"), classLoader)
+    def count = compiler.compileViews(new File("${webAppDir}/WEB-INF/grails-app/views"), "/WEB-INF/grails-app/views")
+
+    def pluginsDir = new File("${webAppDir}/WEB-INF/plugins")
+    if(pluginsDir.exists()) {
+        pluginsDir.eachDir { pluginDir ->
+            count += compiler.compileViews(new File(pluginDir, "grails-app/views"), "/WEB-INF/plugins/${pluginDir.name}/grails-app/views")
+        }
+    }
+    compiler.writeIndex()
+    event("StatusUpdate", ["Precompiled ${count} Groovy Server Pages"])
+}
+
 // Checks whether the project's sources have changed since the last
 // compilation, and then performs a recompilation if this is the case.
 // Returns the updated 'lastModified' value.
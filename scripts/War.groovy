@@ -245,6 +245,11 @@ target (war: "The implementation target") {
         }
 
 		warPlugins()
+		if(config.grails.views.gsp.precompile != false) {
+		    profile("precompiling Groovy Server Pages") {
+		        precompileGroovyPages(stagingDir)
+		    }
+		}
 		createDescriptor()
     	event("WarStart", [warName])
 		Ant.jar(destfile:warName, basedir:stagingDir)
@@ -15,13 +15,34 @@
 */
 package org.codehaus.groovy.grails.commons;
 
+import org.springframework.util.AntPathMatcher;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+
 /**
+ * <p>An ArtefactHandlerAdapter for controllers. Controllers are looked up by URI through an index that is rebuilt
+ * every time the controllers are (re)initialized: URIs without wildcards are held in a hash map and URIs with wildcards
+ * are grouped by their first path segment so that only the patterns that could match a URI are evaluated.</p>
+ *
+ * <p>If several controllers map to the same URI the first controller wins, as it did when every controller was
+ * scanned in turn.</p>
+ *
  * @author Marc Palmer (marc@anyware.co.uk)
 */
 public class ControllerArtefactHandler extends ArtefactHandlerAdapter {
 
     public static final String TYPE = "Controller";
+    private static final String SLASH = "/";
+
     private GrailsClass[] controllerClasses;
+    private Map uri2indexMap = new HashMap();
+    private Map segment2patternsMap = new HashMap();
+    private UriPattern[] rootPatterns = new UriPattern[0];
+    private AntPathMatcher pathMatcher = new AntPathMatcher();
 
 
     public ControllerArtefactHandler() {
@@ -31,18 +52,92 @@ public class ControllerArtefactHandler extends ArtefactHandlerAdapter {
     }
 
     public void initialize(ArtefactInfo artefacts) {
-        controllerClasses = artefacts.getGrailsClasses();
+        GrailsClass[] classes = artefacts.getGrailsClasses();
+        Map uriIndex = new HashMap();
+        Map segmentPatterns = new HashMap();
+        List patterns = new ArrayList();
+
+        for (int i = 0; i < classes.length; i++) {
+            String[] uris = ((GrailsControllerClass)classes[i]).getURIs();
+            for (int j = 0; j < uris.length; j++) {
+                String uri = uris[j];
+                if(pathMatcher.isPattern(uri)) {
+                    String segment = getFirstSegment(uri);
+                    List segmentList;
+                    if(segment == null || pathMatcher.isPattern(segment)) {
+                        segmentList = patterns;
+                    }
+                    else {
+                        segmentList = (List)segmentPatterns.get(segment);
+                        if(segmentList == null) {
+                            segmentList = new ArrayList();
+                            segmentPatterns.put(segment, segmentList);
+                        }
+                    }
+                    segmentList.add(new UriPattern(uri, i));
+                }
+                else if(!uriIndex.containsKey(uri)) {
+                    uriIndex.put(uri, new Integer(i));
+                }
+            }
+        }
+        for (Iterator i = segmentPatterns.entrySet().iterator(); i.hasNext();) {
+            Map.Entry entry = (Map.Entry) i.next();
+            List segmentList = (List)entry.getValue();
+            entry.setValue(segmentList.toArray(new UriPattern[segmentList.size()]));
+        }
+
+        this.controllerClasses = classes;
+        this.uri2indexMap = uriIndex;
+        this.segment2patternsMap = segmentPatterns;
+        this.rootPatterns = (UriPattern[])patterns.toArray(new UriPattern[patterns.size()]);
     }
 
     public GrailsClass getArtefactForFeature(Object feature) {
         String uri = feature.toString();
-        for (int i = 0; i < controllerClasses.length; i++) {
-            if (((GrailsControllerClass)controllerClasses[i]).mapsToURI(uri)) {
-                return controllerClasses[i];
+        GrailsClass[] classes = this.controllerClasses;
+        if(classes == null) return null;
+
+        Integer exact = (Integer)uri2indexMap.get(uri);
+        int index = exact != null ? exact.intValue() : Integer.MAX_VALUE;
+
+        String segment = getFirstSegment(uri);
+        if(segment != null) {
+            index = findMatchingPattern((UriPattern[])segment2patternsMap.get(segment), uri, index);
+        }
+        index = findMatchingPattern(rootPatterns, uri, index);
+
+        return index < classes.length ? classes[index] : null;
+    }
+
+    /**
+     * Returns the index of the first controller with a pattern that matches the URI if it is lower than the given index
+     */
+    private int findMatchingPattern(UriPattern[] patterns, String uri, int index) {
+        if(patterns == null) return index;
+        for (int i = 0; i < patterns.length && patterns[i].index < index; i++) {
+            if(pathMatcher.match(patterns[i].pattern, uri)) {
+                return patterns[i].index;
             }
         }
-        return null;
+        return index;
     }
 
+    private String getFirstSegment(String uri) {
+        int start = 0;
+        while(start < uri.length() && uri.charAt(start) == '/') start++;
+        if(start == uri.length()) return null;
+        int end = uri.indexOf(SLASH, start);
+        return (end == -1 ? uri.substring(start) : uri.substring(start, end)).trim();
+    }
+
+    private static class UriPattern {
+        private final String pattern;
+        private final int index;
 
+        UriPattern(String pattern, int index) {
+            this.pattern = pattern;
+            this.index = index;
+        }
+    }
 }
@@ -46,7 +46,8 @@ public class DefaultGrailsDomainClass extends AbstractGrailsClass  implements Gr
     private Map propertyMap;
     private Map relationshipMap;
 
-    private Map constraints = new HashMap();
+    // an unmodifiable view, which is replaced when the constraints are refreshed
+    private Map constraints = Collections.EMPTY_MAP;
     private Map mappedBy;
     private Validator validator;
     private String mappingStrategy = GrailsDomainClass.GORM;
@@ -101,7 +102,7 @@ public class DefaultGrailsDomainClass extends AbstractGrailsClass  implements Gr
         establishPersistentProperties();
         // process the constraints
         try {
-            this.constraints = GrailsDomainConfigurationUtil.evaluateConstraints(getReference().getWrappedInstance(), this.persistantProperties);
+            this.constraints = Collections.unmodifiableMap(GrailsDomainConfigurationUtil.evaluateConstraints(getReference().getWrappedInstance(), this.persistantProperties));
         } catch (IntrospectionException e) {
             LOG.error("Error reading class ["+getClazz()+"] constraints: " +e .getMessage(), e);
         }
@@ -662,7 +663,7 @@ public class DefaultGrailsDomainClass extends AbstractGrailsClass  implements Gr
       * @see org.codehaus.groovy.grails.commons.GrailsDomainClass#getConstraints()
       */
     public Map getConstrainedProperties() {
-        return Collections.unmodifiableMap(this.constraints);
+        return this.constraints;
     }
     /* (non-Javadoc)
       * @see org.codehaus.groovy.grails.commons.GrailsDomainClass#getValidator()
@@ -695,7 +696,7 @@ public class DefaultGrailsDomainClass extends AbstractGrailsClass  implements Gr
 
     public void refreshConstraints() {
         try {
-            this.constraints = GrailsDomainConfigurationUtil.evaluateConstraints(getReference().getWrappedInstance(), this.persistantProperties);
+            this.constraints = Collections.unmodifiableMap(GrailsDomainConfigurationUtil.evaluateConstraints(getReference().getWrappedInstance(), this.persistantProperties));
         } catch (IntrospectionException e) {
             LOG.error("Error reading class ["+getClazz()+"] constraints: " +e .getMessage(), e);
         }
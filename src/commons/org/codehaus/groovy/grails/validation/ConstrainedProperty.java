@@ -927,25 +927,23 @@ public class ConstrainedProperty   {
      * @param errors The Errors instances to report errors to
      */
     public void validate(Object target, Object propertyValue, Errors errors) {
-        List delayedConstraints = new ArrayList();
-
-        // validate only vetoing constraints first, putting non-vetoing into delayedConstraints
+        // validate only vetoing constraints first
         for(Iterator i = this.appliedConstraints.values().iterator(); i.hasNext();) {
             Constraint c = (Constraint) i.next();
             if(c instanceof VetoingConstraint) {
                 c.setMessageSource(this.messageSource);
                 // stop validation process when constraint vetoes
                 if(((VetoingConstraint)c).validateWithVetoing(target, propertyValue, errors)) return;
-            } else {
-                delayedConstraints.add(c);
             }
         }
 
-        // process non-vetoing constraints
-        for(Iterator i = delayedConstraints.iterator(); i.hasNext();) {
+        // process non-vetoing constraints, iterating again rather than collecting them in a list for each value
+        for(Iterator i = this.appliedConstraints.values().iterator(); i.hasNext();) {
             Constraint c = (Constraint) i.next();
-            c.setMessageSource(this.messageSource);
-            c.validate(target, propertyValue, errors);
+            if(!(c instanceof VetoingConstraint)) {
+                c.setMessageSource(this.messageSource);
+                c.validate(target, propertyValue, errors);
+            }
         }
     }
 
@@ -27,14 +27,15 @@ import org.apache.commons.validator.CreditCardValidator;
  *        Time: 8:12:04 AM
  */
 class CreditCardConstraint extends AbstractConstraint {
+    // the validator holds no state between calls, so one instance is shared
+    private static final CreditCardValidator VALIDATOR = new CreditCardValidator();
+
     private boolean creditCard;
 
 
     protected void processValidate(Object target, Object propertyValue, Errors errors) {
         if(creditCard) {
-            CreditCardValidator validator = new CreditCardValidator();
-
-            if(!validator.isValid(propertyValue.toString())  ) {
+            if(!VALIDATOR.isValid(propertyValue.toString())  ) {
                 Object[] args = new Object[] { constraintPropertyName, constraintOwningClass, propertyValue };
                 super.rejectValue(target,errors,ConstrainedProperty.DEFAULT_INVALID_CREDIT_CARD_MESSAGE_CODE,ConstrainedProperty.CREDIT_CARD_CONSTRAINT + ConstrainedProperty.INVALID_SUFFIX,args);
             }
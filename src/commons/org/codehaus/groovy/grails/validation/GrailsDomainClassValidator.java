@@ -18,12 +18,16 @@ import groovy.lang.GroovyObject;
 import org.codehaus.groovy.grails.commons.GrailsDomainClass;
 import org.codehaus.groovy.grails.commons.GrailsDomainClassProperty;
 import org.codehaus.groovy.runtime.InvokerHelper;
+import org.springframework.beans.BeanUtils;
 import org.springframework.beans.BeanWrapper;
 import org.springframework.beans.BeanWrapperImpl;
 import org.springframework.context.MessageSource;
+import org.springframework.util.ReflectionUtils;
 import org.springframework.validation.Errors;
 import org.springframework.validation.Validator;
 
+import java.beans.PropertyDescriptor;
+import java.lang.reflect.Method;
 import java.util.*;
 
 /**
@@ -47,6 +51,8 @@ public class GrailsDomainClassValidator implements Validator, CascadingValidator
     private Class targetClass;
     private GrailsDomainClass domainClass;
     private MessageSource messageSource;
+    private volatile PropertyValidation[] validationPlan;
+    private Map validationPlanSource;
     private static final String ERRORS_PROPERTY = "errors";
 
     public boolean supports(Class clazz) {
@@ -61,6 +67,7 @@ public class GrailsDomainClassValidator implements Validator, CascadingValidator
         this.domainClass = domainClass;
         this.domainClass.setValidator(this);
         this.targetClass = this.domainClass.getClazz();
+        this.validationPlan = null;
     }
 
 
@@ -73,6 +80,7 @@ public class GrailsDomainClassValidator implements Validator, CascadingValidator
 	 */
 	public void setMessageSource(MessageSource messageSource) {
 		this.messageSource = messageSource;
+        this.validationPlan = null;
 	}
 
     /**
@@ -82,21 +90,18 @@ public class GrailsDomainClassValidator implements Validator, CascadingValidator
         if(!domainClass.getClazz().isInstance(obj))
             throw new IllegalArgumentException("Argument ["+obj+"] is not an instance of ["+domainClass.getClazz()+"] which this validator is configured for");
 
-        BeanWrapper bean = new BeanWrapperImpl(obj);
-
-        Map constrainedProperties = domainClass.getConstrainedProperties();
-
-        GrailsDomainClassProperty[] persistentProperties = domainClass.getPersistentProperties();
-
-        for (int i = 0; i < persistentProperties.length; i++) {
-            GrailsDomainClassProperty persistentProperty = persistentProperties[i];
-            String propertyName = persistentProperty.getName();
-            if(constrainedProperties.containsKey(propertyName)) {
-                validatePropertyWithConstraint(propertyName, obj, errors, bean, constrainedProperties);
+        PropertyValidation[] plan = getValidationPlan();
+        BeanWrapper bean = null;
+        for (int i = 0; i < plan.length; i++) {
+            PropertyValidation validation = plan[i];
+            if(validation.constrainedProperty != null) {
+                validation.constrainedProperty.validate(obj, validation.getValue(obj), errors);
             }
 
-            if((persistentProperty.isAssociation() || persistentProperty.isEmbedded()) && cascade) {
-                cascadeToAssociativeProperty(errors, bean, persistentProperty);
+            if(validation.cascades && cascade) {
+                // only cascading needs a BeanWrapper
+                if(bean == null) bean = new BeanWrapperImpl(obj);
+                cascadeToAssociativeProperty(errors, bean, validation.persistentProperty);
             }
         }
 
@@ -200,6 +205,7 @@ public class GrailsDomainClassValidator implements Validator, CascadingValidator
                 Map associatedConstraintedProperties = associatedDomainClass.getConstrainedProperties();
 
                 GrailsDomainClassProperty[] associatedPersistentProperties = associatedDomainClass.getPersistentProperties();
+                BeanWrapper associatedBean = new BeanWrapperImpl(associatedObject);
                 String nestedPath = errors.getNestedPath();
                 try {
                     errors.setNestedPath(nestedPath+propertyName);
@@ -214,11 +220,11 @@ public class GrailsDomainClassValidator implements Validator, CascadingValidator
                         String associatedPropertyName = associatedPersistentProperty.getName();
                         if(associatedConstraintedProperties.containsKey(associatedPropertyName)) {
 
-                            validatePropertyWithConstraint(errors.getNestedPath() + associatedPropertyName, associatedObject, errors, new BeanWrapperImpl(associatedObject), associatedConstraintedProperties);
+                            validatePropertyWithConstraint(errors.getNestedPath() + associatedPropertyName, associatedObject, errors, associatedBean, associatedConstraintedProperties);
                         }
 
                         if(associatedPersistentProperty.isAssociation()) {
-                            cascadeToAssociativeProperty(errors, new BeanWrapperImpl(associatedObject), associatedPersistentProperty);
+                            cascadeToAssociativeProperty(errors, associatedBean, associatedPersistentProperty);
                         }
 
                     }
@@ -232,4 +238,58 @@ public class GrailsDomainClassValidator implements Validator, CascadingValidator
             }
     }
 
+    /**
+     * Returns the steps of validating an instance, one for each persistent property that is constrained or that
+     * validation may cascade to, in the order of the persistent properties. The plan is built on first use, and again
+     * if the constrained properties of the domain class are replaced, so that validating an instance neither looks
+     * properties up by name nor introspects the instance.
+     */
+    PropertyValidation[] getValidationPlan() {
+        PropertyValidation[] plan = this.validationPlan;
+        Map constrainedProperties = domainClass.getConstrainedProperties();
+        if(plan != null && this.validationPlanSource == constrainedProperties) return plan;
+
+        GrailsDomainClassProperty[] persistentProperties = domainClass.getPersistentProperties();
+        List steps = new ArrayList(persistentProperties.length);
+        for (int i = 0; i < persistentProperties.length; i++) {
+            GrailsDomainClassProperty persistentProperty = persistentProperties[i];
+            ConstrainedProperty constrainedProperty = (ConstrainedProperty) constrainedProperties.get(persistentProperty.getName());
+            boolean cascades = persistentProperty.isAssociation() || persistentProperty.isEmbedded();
+            if(constrainedProperty == null && !cascades) continue;
+
+            if(constrainedProperty != null) {
+                constrainedProperty.setMessageSource(this.messageSource);
+            }
+            steps.add(new PropertyValidation(persistentProperty, constrainedProperty, cascades, this.targetClass));
+        }
+        plan = (PropertyValidation[]) steps.toArray(new PropertyValidation[steps.size()]);
+        this.validationPlanSource = constrainedProperties;
+        this.validationPlan = plan;
+        return plan;
+    }
+
+    /**
+     * The validation of one property, holding its constraints and the getter to read its value with
+     */
+    private static class PropertyValidation {
+        private final GrailsDomainClassProperty persistentProperty;
+        private final ConstrainedProperty constrainedProperty;
+        private final boolean cascades;
+        private final Method getter;
+
+        PropertyValidation(GrailsDomainClassProperty persistentProperty, ConstrainedProperty constrainedProperty, boolean cascades, Class targetClass) {
+            this.persistentProperty = persistentProperty;
+            this.constrainedProperty = constrainedProperty;
+            this.cascades = cascades;
+            PropertyDescriptor descriptor = BeanUtils.getPropertyDescriptor(targetClass, persistentProperty.getName());
+            this.getter = descriptor != null ? descriptor.getReadMethod() : null;
+        }
+
+        Object getValue(Object obj) {
+            if(getter == null) {
+                return new BeanWrapperImpl(obj).getPropertyValue(persistentProperty.getName());
+            }
+            return ReflectionUtils.invokeMethod(getter, obj);
+        }
+    }
 }
@@ -16,6 +16,8 @@ package org.codehaus.groovy.grails.validation;
 
 import org.springframework.validation.Errors;
 
+import java.util.regex.Pattern;
+
 /**
  * A constraint that validates the property against a supplied regular expression
  *
@@ -29,6 +31,8 @@ import org.springframework.validation.Errors;
 class MatchesConstraint extends AbstractConstraint {
 
     private String regex;
+    // compiled once rather than by String.matches for every value
+    private Pattern pattern;
 
     /**
      * @return Returns the regex.
@@ -53,6 +57,7 @@ class MatchesConstraint extends AbstractConstraint {
             throw new IllegalArgumentException("Parameter for constraint ["+ConstrainedProperty.MATCHES_CONSTRAINT+"] of property ["+constraintPropertyName+"] of class ["+constraintOwningClass+"] must be of type [java.lang.String]");
 
         this.regex = (String)constraintParameter;
+        this.pattern = Pattern.compile(regex);
         super.setParameter(constraintParameter);
     }
 
@@ -61,7 +66,7 @@ class MatchesConstraint extends AbstractConstraint {
     }
 
     protected void processValidate(Object target, Object propertyValue, Errors errors) {
-        if(!propertyValue.toString().matches( regex )) {
+        if(!pattern.matcher( propertyValue.toString() ).matches()) {
             Object[] args = new Object[] { constraintPropertyName, constraintOwningClass, propertyValue, regex  };
             super.rejectValue(target,errors,ConstrainedProperty.DEFAULT_DOESNT_MATCH_MESSAGE_CODE,ConstrainedProperty.MATCHES_CONSTRAINT + ConstrainedProperty.INVALID_SUFFIX,args);
         }
@@ -67,23 +67,23 @@ class MaxSizeConstraint extends AbstractConstraint {
     }
 
     protected void processValidate(Object target, Object propertyValue, Errors errors) {
-        Object[] args = new Object[] { constraintPropertyName, constraintOwningClass, propertyValue, new Integer(maxSize) };
-
+        int length;
         if(propertyValue.getClass().isArray()) {
-            int length = Array.getLength( propertyValue );
-            if(length > maxSize) {
-                super.rejectValue(target,errors,ConstrainedProperty.DEFAULT_INVALID_MAX_SIZE_MESSAGE_CODE, ConstrainedProperty.MAX_SIZE_CONSTRAINT + ConstrainedProperty.EXCEEDED_SUFFIX,args);
-            }
+            length = Array.getLength( propertyValue );
         }
         else if(propertyValue instanceof Collection) {
-            if (((Collection) propertyValue).size() > maxSize) {
-                super.rejectValue(target,errors,ConstrainedProperty.DEFAULT_INVALID_MAX_SIZE_MESSAGE_CODE, ConstrainedProperty.MAX_SIZE_CONSTRAINT + ConstrainedProperty.EXCEEDED_SUFFIX, args);
-            }
+            length = ((Collection)propertyValue).size();
+        }
+        else if(propertyValue instanceof String) {
+            length = ((String)propertyValue).length();
         }
-        else if (propertyValue instanceof String) {
-            if (((String) propertyValue).length() > maxSize) {
-                super.rejectValue(target,errors, ConstrainedProperty.DEFAULT_INVALID_MAX_SIZE_MESSAGE_CODE, ConstrainedProperty.MAX_SIZE_CONSTRAINT + ConstrainedProperty.EXCEEDED_SUFFIX, args );
-            }
+        else {
+            return;
+        }
+
+        if(length > maxSize) {
+            Object[] args = new Object[] { constraintPropertyName, constraintOwningClass, propertyValue, new Integer(maxSize) };
+            super.rejectValue(target,errors,ConstrainedProperty.DEFAULT_INVALID_MAX_SIZE_MESSAGE_CODE, ConstrainedProperty.MAX_SIZE_CONSTRAINT + ConstrainedProperty.EXCEEDED_SUFFIX,args);
         }
     }
 }
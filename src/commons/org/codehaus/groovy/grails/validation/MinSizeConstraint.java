@@ -68,23 +68,23 @@ class MinSizeConstraint extends AbstractConstraint {
     }
 
     protected void processValidate(Object target, Object propertyValue, Errors errors) {
-        Object[] args = new Object[] { constraintPropertyName, constraintOwningClass, propertyValue, new Integer(minSize) };
-
+        int length;
         if(propertyValue.getClass().isArray()) {
-            int length = Array.getLength( propertyValue );
-            if(length < minSize) {
-                super.rejectValue(target,errors,ConstrainedProperty.DEFAULT_INVALID_MIN_SIZE_MESSAGE_CODE, ConstrainedProperty.MIN_SIZE_CONSTRAINT + ConstrainedProperty.NOTMET_SUFFIX,args );
-            }
+            length = Array.getLength( propertyValue );
         }
         else if(propertyValue instanceof Collection) {
-            if( ((Collection)propertyValue).size() < minSize ) {
-                super.rejectValue(target,errors,ConstrainedProperty.DEFAULT_INVALID_MIN_SIZE_MESSAGE_CODE, ConstrainedProperty.MIN_SIZE_CONSTRAINT + ConstrainedProperty.NOTMET_SUFFIX,args );
-            }
+            length = ((Collection)propertyValue).size();
         }
         else if(propertyValue instanceof String) {
-            if(((String)propertyValue ).length() < minSize) {
-                super.rejectValue(target,errors,ConstrainedProperty.DEFAULT_INVALID_MIN_SIZE_MESSAGE_CODE,ConstrainedProperty.MIN_SIZE_CONSTRAINT + ConstrainedProperty.NOTMET_SUFFIX,args);
-            }
+            length = ((String)propertyValue).length();
+        }
+        else {
+            return;
+        }
+
+        if(length < minSize) {
+            Object[] args = new Object[] { constraintPropertyName, constraintOwningClass, propertyValue, new Integer(minSize) };
+            super.rejectValue(target,errors,ConstrainedProperty.DEFAULT_INVALID_MIN_SIZE_MESSAGE_CODE, ConstrainedProperty.MIN_SIZE_CONSTRAINT + ConstrainedProperty.NOTMET_SUFFIX,args);
         }
     }
 }
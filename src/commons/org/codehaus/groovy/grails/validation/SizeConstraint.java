@@ -73,31 +73,34 @@ class SizeConstraint extends AbstractConstraint {
 
 
     protected void processValidate(Object target, Object propertyValue, Errors errors) {
-        Object[] args = new Object[] { constraintPropertyName, constraintOwningClass, propertyValue, range.getFrom(), range.getTo() };
-
         // size of the property (e.g. String length(), Collection size(), etc.) 
-        Integer size = null;
+        int size;
 
         // determine the value of size based on the property's type
         if(propertyValue.getClass().isArray()) {
-            size = new Integer(Array.getLength( propertyValue ));
+            size = Array.getLength( propertyValue );
         }
         else if(propertyValue instanceof Collection) {
-            size = new Integer(((Collection)propertyValue).size());
+            size = ((Collection)propertyValue).size();
         }
         else if(propertyValue instanceof String) {
-            size =  new Integer(((String)propertyValue).length());
+            size = ((String)propertyValue).length();
+        }
+        else {
+            return;
         }
         
-        if(!range.contains(size)) {
-            if(range.getFrom().compareTo(size) == 1) {
-                rejectValueTooSmall(args, errors, target);
-            }
-            else if(range.getTo().compareTo(size) == -1) {
-                rejectValueTooBig(args, errors, target);
-            }
+        if(size < range.getFromInt()) {
+            rejectValueTooSmall(createArgs(propertyValue), errors, target);
+        }
+        else if(size > range.getToInt()) {
+            rejectValueTooBig(createArgs(propertyValue), errors, target);
         }
     }
+
+    private Object[] createArgs(Object propertyValue) {
+        return new Object[] { constraintPropertyName, constraintOwningClass, propertyValue, range.getFrom(), range.getTo() };
+    }
     
     private void rejectValueTooSmall(Object[] args, Errors errors, Object target){
         rejectValue(args, errors, target, false);
@@ -23,6 +23,8 @@ package org.codehaus.groovy.grails.orm.hibernate.cfg
  * Created: Sep 27, 2007
  */
 class ColumnConfig {
+    static final FETCH_OPTIONS = ['join', 'select', 'subselect']
+
     String column
     String cascade
     def type
@@ -33,9 +35,11 @@ class ColumnConfig {
     int precision = -1
     int scale = -1
     CacheConfig cache
+    String fetch
+    int batchSize = -1
     JoinTable joinTable = new JoinTable()
 
     String toString() {
-        "column[name:$name, type:$type, index:$index, lazy:$lazy, unique:$unique, length:$length, precision:$precision, scale:$scale]"
+        "column[name:$name, type:$type, index:$index, lazy:$lazy, unique:$unique, length:$length, precision:$precision, scale:$scale, fetch:$fetch, batchSize:$batchSize]"
     }
 }
\ No newline at end of file
@@ -129,6 +129,43 @@ class HibernateMappingBuilder {
         cache(args)        
     }
 
+    /**
+    * <p>Configures whether instances of the class are loaded lazily through proxies
+    * <code> { lazy false }
+    *
+    * @param isLazy False if instances should always be loaded eagerly
+    */
+    void lazy(boolean isLazy) {
+        mapping.lazy = isLazy
+    }
+
+    /**
+    * <p>Configures the number of uninitialized proxies of the class that are loaded with a single query when one of
+    * them is accessed
+    * <code> { batchSize 25 }
+    *
+    * @param size The batch size
+    */
+    void batchSize(Integer size) {
+        mapping.batchSize = size
+    }
+
+    /**
+    * <p>Configures whether SQL updates only contain the columns that have changed
+    * <code> { dynamicUpdate true }
+    */
+    void dynamicUpdate(boolean isDynamic) {
+        mapping.dynamicUpdate = isDynamic
+    }
+
+    /**
+    * <p>Configures whether SQL inserts only contain the columns that are not null
+    * <code> { dynamicInsert true }
+    */
+    void dynamicInsert(boolean isDynamic) {
+        mapping.dynamicInsert = isDynamic
+    }
+
     /**
      * If true the class and its sub classes will be mapped with table per hierarchy mapping
      */
@@ -207,6 +244,14 @@ class HibernateMappingBuilder {
             column.precision = namedArgs.precision ? namedArgs.precision : -1
             column.scale = namedArgs.scale ? namedArgs.scale : -1
             column.cascade = namedArgs.cascade ? namedArgs.cascade : null
+            column.batchSize = namedArgs.batchSize ? namedArgs.batchSize.toInteger() : -1
+
+            if(namedArgs.fetch) {
+                if(ColumnConfig.FETCH_OPTIONS.contains(namedArgs.fetch.toString()))
+                    column.fetch = namedArgs.fetch.toString()
+                else
+                    LOG.warn("ORM Mapping Invalid: Specified [fetch] with value [$namedArgs.fetch] for association [$name] in class [$className] is not valid")
+            }
 
             if(namedArgs.cache instanceof String) {
                 CacheConfig cc = new CacheConfig()
@@ -44,6 +44,26 @@ class Mapping {
      */
     boolean autoTimestamp = true
 
+    /**
+     * Whether instances of the class are loaded lazily through proxies
+     */
+    boolean lazy = true
+
+    /**
+     * The number of proxies of the class to initialize together when one of them is accessed
+     */
+    Integer batchSize
+
+    /**
+     * Whether SQL updates should only contain the changed columns
+     */
+    boolean dynamicUpdate = false
+
+    /**
+     * Whether SQL inserts should only contain the non-null columns
+     */
+    boolean dynamicInsert = false
+
     Map columns = [:]
     /**
      * The identity definition
@@ -21,6 +21,7 @@ import grails.util.GrailsUtil
 import javax.servlet.http.HttpServletRequest
 import org.codehaus.groovy.grails.web.converters.Converter
 import org.codehaus.groovy.grails.web.converters.ConverterUtil
+import org.codehaus.groovy.grails.web.converters.MarshallerRegistry
 import org.codehaus.groovy.grails.web.json.JSONArray
 import org.codehaus.groovy.grails.web.json.JSONObject
 import org.codehaus.groovy.grails.web.converters.XMLParsingParameterCreationListener
@@ -81,6 +82,8 @@ class ConvertersGrailsPlugin {
     def doWithDynamicMethods = {applicationContext ->
         try {
             ConverterUtil.setGrailsApplication(application);
+            // the domain classes may have been reloaded
+            MarshallerRegistry.clear()
 
             log.debug "Applying new header and render methods to all Controllers..."
             def controllerClasses = application.controllerClasses
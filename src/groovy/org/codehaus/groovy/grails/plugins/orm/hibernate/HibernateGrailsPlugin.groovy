@@ -33,6 +33,7 @@ import org.codehaus.groovy.grails.validation.ConstrainedProperty
 import org.codehaus.groovy.grails.validation.HibernateDomainClassValidator
 import org.hibernate.LockMode
 import org.hibernate.Query
+import org.hibernate.ScrollMode
 import org.hibernate.Session
 import org.hibernate.SessionFactory
 import org.springframework.beans.BeanWrapperImpl
@@ -409,24 +410,12 @@ Try using Grails' default cache provider: 'org.hibernate.cache.OSCacheProvider'"
                 session.createCriteria(domainClassType).list()
             } as HibernateCallback)
         }
+        def getAllMethod = new GetAllPersistentMethod(application, sessionFactory, classLoader)
+        if (application.config.grails.gorm.getAll.chunkSize instanceof Number) {
+            getAllMethod.chunkSize = application.config.grails.gorm.getAll.chunkSize
+        }
         metaClass.'static'.getAll = {List ids ->
-            template.execute({Session session ->
-                def identityType = dc.identifier.type
-                ids = ids.collect {convertToType(it, identityType)}
-                def criteria = session.createCriteria(domainClassType)
-                criteria.add(org.hibernate.criterion.Restrictions.'in'(dc.identifier.name, ids))
-                def results = criteria.list()
-                def idsMap = [:]
-                for (object in results) {
-                    idsMap[object[dc.identifier.name]] = object
-                }
-                results.clear()
-                for (id in ids) {
-                    results << idsMap[id]
-                }
-                results
-            } as HibernateCallback)
-
+            getAllMethod.invoke(domainClassType, "getAll", [ids] as Object[])
         }
         metaClass.'static'.exists = {id ->
             def identityType = dc.identifier.type
@@ -449,6 +438,43 @@ Try using Grails' default cache provider: 'org.hibernate.cache.OSCacheProvider'"
             builder.invokeMethod("doCall", callable)
         }
 
+        // processes every instance in batches without holding them all in memory, clearing the session after each batch
+        metaClass.'static'.eachBatch = {Closure callable ->
+            template.execute({Session session ->
+                GrailsHibernateUtil.eachBatch(session, session.createCriteria(domainClassType), [:], callable)
+            } as HibernateCallback)
+        }
+        metaClass.'static'.eachBatch = {Map args, Closure callable ->
+            template.execute({Session session ->
+                GrailsHibernateUtil.eachBatch(session, session.createCriteria(domainClassType), args, callable)
+            } as HibernateCallback)
+        }
+        // passes a forward only ScrollableResults of every instance to the closure and closes it afterwards
+        def scrollAll = {Map args, Closure callable ->
+            template.execute({Session session ->
+                def criteria = session.createCriteria(domainClassType)
+                GrailsHibernateUtil.populateArgumentsForCriteria(criteria, args)
+                if(args[GrailsHibernateUtil.ARGUMENT_FETCH_SIZE]) {
+                    criteria.setFetchSize(args[GrailsHibernateUtil.ARGUMENT_FETCH_SIZE].toInteger())
+                }
+                def results = criteria.scroll(ScrollMode.FORWARD_ONLY)
+                def result
+                try {
+                    result = callable.call(results)
+                }
+                finally {
+                    results.close()
+                }
+                result
+            } as HibernateCallback)
+        }
+        metaClass.'static'.withScroll = {Closure callable ->
+            scrollAll([:], callable)
+        }
+        metaClass.'static'.withScroll = {Map args, Closure callable ->
+            scrollAll(args, callable)
+        }
+
 
         // TODO: deprecated methods planned for removing from further releases
 
@@ -562,6 +588,21 @@ Try using Grails' default cache provider: 'org.hibernate.cache.OSCacheProvider'"
                 }
             } as HibernateCallback)
         }
+        def saveAllMethod = new SaveAllPersistentMethod(sessionFactory, classLoader, application)
+        metaClass.'static'.saveAll = {Collection instances ->
+            saveAllMethod.invoke(dc.clazz, "saveAll", [instances] as Object[])
+        }
+        metaClass.'static'.saveAll = {Collection instances, Map args ->
+            saveAllMethod.invoke(dc.clazz, "saveAll", [instances, args] as Object[])
+        }
+
+        def deleteAllMethod = new DeleteAllPersistentMethod(sessionFactory, classLoader)
+        metaClass.'static'.deleteAll = {Collection instances ->
+            deleteAllMethod.invoke(dc.clazz, "deleteAll", [instances] as Object[])
+        }
+        metaClass.'static'.deleteAll = {Collection instances, Map args ->
+            deleteAllMethod.invoke(dc.clazz, "deleteAll", [instances, args] as Object[])
+        }
         metaClass.refresh = {->template.refresh(delegate)}
         metaClass.discard = {->template.evict(delegate)}
         metaClass.'static'.get = {id ->
@@ -47,6 +47,9 @@ import org.codehaus.groovy.grails.web.multipart.ContentLengthAwareCommonsMultipa
 import org.springframework.beans.factory.config.AutowireCapableBeanFactory
 import org.codehaus.groovy.grails.commons.metaclass.LazyMetaPropertyMap
 import org.codehaus.groovy.grails.web.pages.GroovyPagesTemplateEngine
+import org.codehaus.groovy.grails.web.pages.GroovyPageTagInvokerCache
+import org.codehaus.groovy.grails.web.pages.GroovyPagesWarmUpCompiler
+import org.codehaus.groovy.grails.web.mapping.filter.UrlMappingsResolutionCache
 
 /**
 * A plug-in that handles the configuration of controllers for Grails
@@ -116,6 +119,18 @@ class ControllersGrailsPlugin {
             if (grails.util.GrailsUtil.isDevelopmentEnv() || application.config.grails.gsp.enable.reload == true) {
                 reloadEnabled = true
             }
+            if (application.config.grails.gsp.reload.interval instanceof Number) {
+                modificationCheckInterval = application.config.grails.gsp.reload.interval
+            }
+        }
+
+        if (application.config.grails.views.gsp.warmup.enabled == true) {
+            groovyPagesWarmUpCompiler(GroovyPagesWarmUpCompiler) {
+                groovyPagesTemplateEngine = ref("groovyPagesTemplateEngine")
+                if (application.config.grails.views.gsp.warmup.threads instanceof Number) {
+                    threads = application.config.grails.views.gsp.warmup.threads
+                }
+            }
         }
 
         jspViewResolver(GrailsViewResolver) {
@@ -670,6 +685,9 @@ class ControllersGrailsPlugin {
                 def controllerTargetSource = context.getBean("${controllerClass.fullName}TargetSource")
                 controllerTargetSource.swap(controllerClass)
             }
+            if(context.containsBean(UrlMappingsResolutionCache.BEAN_ID)) {
+                context.getBean(UrlMappingsResolutionCache.BEAN_ID).clear()
+            }
 
         }
         else if (application.isArtefactOfType(TagLibArtefactHandler.TYPE, event.source)) {
@@ -685,6 +703,7 @@ class ControllersGrailsPlugin {
                 }
                 beans.registerBeans(event.ctx)
             }
+            GroovyPageTagInvokerCache.invalidateAll()
         }
 
         event.manager?.getGrailsPlugin("controllers")?.doWithDynamicMethods(event.ctx)
@@ -16,8 +16,10 @@
 package org.codehaus.groovy.grails.plugins.web.mapping;
 
 
+import org.codehaus.groovy.grails.commons.ConfigurationHolder
 import org.codehaus.groovy.grails.commons.UrlMappingsArtefactHandler
 import org.codehaus.groovy.grails.web.mapping.UrlMappingsHolderFactoryBean
+import org.codehaus.groovy.grails.web.mapping.filter.UrlMappingsResolutionCache
 import org.springframework.aop.framework.ProxyFactoryBean
 import org.springframework.aop.target.HotSwappableTargetSource
 import org.springframework.context.ApplicationContext
@@ -45,6 +47,10 @@ class UrlMappingsGrailsPlugin {
             targetSource = urlMappingsTargetSource
             proxyInterfaces = [org.codehaus.groovy.grails.web.mapping.UrlMappingsHolder]
         }
+        def cacheSize = ConfigurationHolder.config?.grails?.urlmapping?.cache?.maxsize
+        grailsUrlMappingsResolutionCache(UrlMappingsResolutionCache) {
+            maxSize = cacheSize instanceof Number ? cacheSize.intValue() : 0
+        }
 	}
 
     def doWithApplicationContext = { ApplicationContext ctx ->
@@ -124,7 +130,10 @@ class UrlMappingsGrailsPlugin {
 			def mappings = factory.getObject()
 
 			HotSwappableTargetSource ts = event.ctx.getBean("urlMappingsTargetSource")
-			ts.swap mappings			
+			ts.swap mappings
+			if(event.ctx.containsBean(UrlMappingsResolutionCache.BEAN_ID)) {
+			    event.ctx.getBean(UrlMappingsResolutionCache.BEAN_ID).clear()
+			}
         }
 	}
 }
\ No newline at end of file
@@ -203,9 +203,19 @@ class RenderTagLib implements com.opensymphony.module.sitemesh.RequestConstants
 	 * Creates next/previous links to support pagination for the current controller
 	 *
 	 * <g:paginate total="${Account.count()}" />
+	 *
+	 * In keyset mode the links carry the sort value and id of the first or last of the results of the current page
+	 * as the before/beforeId or after/afterId parameters instead of an offset, for use with list(params), and the
+	 * total is not required:
+	 *
+	 * <g:paginate mode="keyset" results="${accountList}" />
 	 */
 	def paginate = { attrs ->
 		def writer = out
+		if(attrs.mode == "keyset") {
+			renderKeysetPagination(attrs, writer)
+			return
+		}
         if(attrs.total == null)
             throwTagError("Tag [paginate] is missing required attribute [total]")
 
@@ -306,6 +316,74 @@ class RenderTagLib implements com.opensymphony.module.sitemesh.RequestConstants
 
 	}
 
+	private renderKeysetPagination(attrs, writer) {
+		if(attrs.results == null)
+			throwTagError("Tag [paginate] is missing required attribute [results] in keyset mode")
+
+		def messageSource = grailsAttributes.getApplicationContext().getBean("messageSource")
+		def locale = RCU.getLocale(request)
+
+		def results = attrs.results as List
+		def action = (attrs.action ? attrs.action : (params.action ? params.action : "list"))
+		def max = params.max?.toInteger()
+		if(!max) max = (attrs.max ? attrs.max.toInteger() : 10)
+		def idProperty = attrs.idProperty ? attrs.idProperty : "id"
+		def keyProperty = params.sort ? params.sort : idProperty
+
+		def linkParams = [max:max]
+		if(params.sort) linkParams.sort = params.sort
+		if(params.order) linkParams.order = params.order
+		if(attrs.params) linkParams.putAll(attrs.params)
+
+		def linkTagAttrs = [action:action]
+		if(attrs.controller) {
+			linkTagAttrs.controller = attrs.controller
+		}
+		if(attrs.id!=null) {
+			linkTagAttrs.id = attrs.id
+		}
+
+		// a page reached with a next link has a previous page and one reached with a previous link has a next page,
+		// otherwise there may be more results if the page is full
+		def fullPage = results.size() >= max
+		def hasPrevious = results && (params.after != null || (params.before != null && fullPage))
+		def hasNext = results && (params.before != null || fullPage)
+
+		def keyParams = { instance, keyName, idName ->
+			def keyParams = new LinkedHashMap(linkParams)
+			def key = instance."$keyProperty"
+			keyParams[keyName] = key instanceof Date ? key.time : key
+			if(keyProperty != idProperty) keyParams[idName] = instance."$idProperty"
+			keyParams
+		}
+
+		// a next link from a full last page leads to an empty page, which links back to the results preceding the
+		// key it was reached with
+		def emptyAfterPage = !results && params.after != null
+
+		if(hasPrevious || emptyAfterPage) {
+			linkTagAttrs.class = 'prevLink'
+			if(emptyAfterPage) {
+				linkTagAttrs.params = new LinkedHashMap(linkParams)
+				linkTagAttrs.params.before = params.after
+				if(params.afterId != null) linkTagAttrs.params.beforeId = params.afterId
+			}
+			else {
+				linkTagAttrs.params = keyParams(results[0], "before", "beforeId")
+			}
+			writer << link(linkTagAttrs.clone()) {
+				(attrs.prev ? attrs.prev : messageSource.getMessage('paginate.prev', null, messageSource.getMessage('default.paginate.prev', null, 'Previous', locale), locale))
+			}
+		}
+		if(hasNext) {
+			linkTagAttrs.class = 'nextLink'
+			linkTagAttrs.params = keyParams(results[-1], "after", "afterId")
+			writer << link(linkTagAttrs.clone()) {
+				(attrs.next ? attrs.next : messageSource.getMessage('paginate.next', null, messageSource.getMessage('default.paginate.next', null, 'Next', locale), locale))
+			}
+		}
+	}
+
 	/**
 	 * Renders a sortable column to support sorting in list views
 	 *
@@ -408,9 +486,7 @@ class RenderTagLib implements com.opensymphony.module.sitemesh.RequestConstants
             if(plugin) contextPath = plugin.getPluginPath()
         }
 
-        def r = engine.getResourceForUri("${contextPath}${uri}")
-        if(!r.exists()) r = engine.getResourceForUri("${contextPath}/grails-app/views/${uri}")
-        def t = engine.createTemplate( r )
+        def t = engine.createTemplateForUri(["${contextPath}${uri}", "${contextPath}/grails-app/views/${uri}"] as String[])
 
         if(attrs.model instanceof Map) {
             t.make( attrs.model ).writeTo(out)
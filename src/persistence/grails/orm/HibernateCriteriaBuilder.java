@@ -52,6 +52,20 @@ import java.util.*;
  * 			order("holderLastName", "desc")
  * 		}
  * </pre>
+ *
+ * <p>The results of a query can be cached in the query cache with "cache true", optionally in the region given
+ * with "cacheRegion":
+ *
+ * <pre>
+ * 		def branches = Branch.withCriteria {
+ * 			eq("active", true)
+ * 			cache true
+ * 			cacheRegion "branches"
+ * 		}
+ * </pre>
+ *
+ * <p>Instances that are only displayed can be loaded with "readOnly true", which excludes them from dirty
+ * checking when the session is flushed.
  * 
  * <p>The builder can also be instantiated standalone with a SessionFactory and persistent Class instance:
  * 
@@ -60,7 +74,17 @@ import java.util.*;
  * 		eq("firstName", "Fred")
  * 	 }
  * </pre>
- * 
+ *
+ * <p>Large results can be processed in batches with "eachBatch", which scrolls forward through the results and
+ * clears the session after each batch:
+ *
+ * <pre>
+ * 	 def c = Account.createCriteria()
+ * 	 c.eachBatch(batchSize:500, { eq("branch", "London") }) { accounts ->
+ * 		accounts.each { println it.holderLastName }
+ * 	 }
+ * </pre>
+ *
  * @author Graeme Rocher
  * @since Oct 10, 2005
  */
@@ -104,6 +128,7 @@ public class HibernateCriteriaBuilder extends GroovyObjectSupport {
     private static final String COUNT_CALL = "count";
     private static final String GET_CALL = "get";
     private static final String SCROLL_CALL = "scroll";
+    private static final String EACH_BATCH_CALL = "eachBatch";
 
 
     private static final String PROJECTIONS = "projections";
@@ -118,7 +143,9 @@ public class HibernateCriteriaBuilder extends GroovyObjectSupport {
     private Stack associationStack = new Stack();
     private boolean participate;
     private boolean scroll;
+    private boolean eachBatch;
     private boolean count;
+    private boolean readOnly;
     private ProjectionList projectionList;
     private BeanWrapper targetBean;
     private List aliasStack = new ArrayList();
@@ -337,6 +364,32 @@ public class HibernateCriteriaBuilder extends GroovyObjectSupport {
         }
     }
 
+    /**
+     * Whether the results of the query should be cached in the query cache. The cache region can be set
+     * with cacheRegion
+     *
+     * @param shouldCache True if the results should be cached
+     */
+    public void cache(boolean shouldCache) {
+        if(criteria == null) {
+            throwRuntimeException( new IllegalArgumentException("Call to [cache] not supported here"));
+        }
+        criteria.setCacheable(shouldCache);
+    }
+
+    /**
+     * Whether the instances returned by the query should be read-only, in which case they are not dirty checked
+     * when the session is flushed and changes to them are not persisted
+     *
+     * @param readOnly True if the instances should be read-only
+     */
+    public void readOnly(boolean readOnly) {
+        if(criteria == null) {
+            throwRuntimeException( new IllegalArgumentException("Call to [readOnly] not supported here"));
+        }
+        this.readOnly = readOnly;
+    }
+
     /**
      * Sets the resultTransformer.  
      * @param resultTransformer The result transformer to use.
@@ -697,6 +750,9 @@ public class HibernateCriteriaBuilder extends GroovyObjectSupport {
             else if (name.equals(SCROLL_CALL)) {
                 this.scroll = true;
             }
+            else if (name.equals(EACH_BATCH_CALL)) {
+                this.eachBatch = true;
+            }
             else if (name.equals(COUNT_CALL)) {
                 this.count = true;
             }
@@ -712,6 +768,8 @@ public class HibernateCriteriaBuilder extends GroovyObjectSupport {
             if(name.equals(LIST_CALL) && args.length == 2) {
                 paginationEnabledList = true;
                 invokeClosureNode(args[1]);
+            } else if(eachBatch) {
+                invokeClosureNode(args[args.length - 2]);
             } else {
                 invokeClosureNode(args[0]);
             }
@@ -722,7 +780,11 @@ public class HibernateCriteriaBuilder extends GroovyObjectSupport {
             }
             Object result;
             if(!uniqueResult) {
-                if(scroll) {
+                if(eachBatch) {
+                    Map batchArgs = args.length == 3 ? (Map)args[0] : Collections.EMPTY_MAP;
+                    result = new Integer(GrailsHibernateUtil.eachBatch(this.session, this.criteria, batchArgs, (Closure)args[args.length - 1]));
+                }
+                else if(scroll) {
                     result = this.criteria.scroll();
                 }
                 else if(count) {
@@ -743,6 +805,9 @@ public class HibernateCriteriaBuilder extends GroovyObjectSupport {
                     this.criteria.setProjection(null);
                     this.criteria.setResultTransformer(CriteriaSpecification.ROOT_ENTITY);
                     GrailsHibernateUtil.populateArgumentsForCriteria(this.criteria, (Map)args[0]);
+                    if(GrailsHibernateUtil.isReadOnly((Map)args[0])) {
+                        this.readOnly = true;
+                    }
                     PagedResultList pagedRes = new PagedResultList(this.criteria.list());
 
                     // Updated the paged results with the total number of records
@@ -756,6 +821,14 @@ public class HibernateCriteriaBuilder extends GroovyObjectSupport {
             else {
                 result = this.criteria.uniqueResult();
             }
+            if(readOnly) {
+                if(result instanceof Collection) {
+                    GrailsHibernateUtil.setObjectsToReadOnly(this.session, (Collection)result);
+                }
+                else {
+                    GrailsHibernateUtil.setObjectToReadOnly(this.session, result);
+                }
+            }
             if(!this.participate) {
                 this.session.close();
             }
@@ -894,7 +967,15 @@ public class HibernateCriteriaBuilder extends GroovyObjectSupport {
                 name.equals(LIST_DISTINCT_CALL) ||
                 name.equals(GET_CALL) ||
                 name.equals(COUNT_CALL) ||
-                name.equals(SCROLL_CALL) && args.length == 1 && args[0] instanceof Closure);
+                name.equals(SCROLL_CALL) && args.length == 1 && args[0] instanceof Closure) ||
+               (name.equals(EACH_BATCH_CALL) && isEachBatchArguments(args));
+    }
+
+    private boolean isEachBatchArguments(Object[] args) {
+        if(args.length == 2) {
+            return args[0] instanceof Closure && args[1] instanceof Closure;
+        }
+        return args.length == 3 && args[0] instanceof Map && args[1] instanceof Closure && args[2] instanceof Closure;
     }
 
     private void createCriteriaInstance() {
@@ -69,6 +69,9 @@ public final class GrailsDomainBinder {
     private static final String CASCADE_MERGE = "merge";
     private static final String CASCADE_NONE = "none";
     private static final String BACKTICK = "`";
+    private static final String FETCH_JOIN = "join";
+    private static final String FETCH_SELECT = "select";
+    private static final String FETCH_SUBSELECT = "subselect";
     
     private static final Map MAPPING_CACHE = new HashMap();
     private static final String ENUM_TYPE_CLASS = "org.hibernate.type.EnumType";
@@ -697,6 +700,7 @@ public final class GrailsDomainBinder {
         else {
             collection.setFetchMode( FetchMode.DEFAULT );
         }
+        bindCollectionFetchSettings(property, collection, owner);
 
 
         // if its a one-to-many mapping
@@ -726,6 +730,55 @@ public final class GrailsDomainBinder {
 
     }
 
+    /**
+     * Binds the fetch mode and batch size of a collection configured in the mapping
+     *
+     * @param property The collection property
+     * @param collection The collection
+     * @param owner The owning persistent class
+     */
+    private static void bindCollectionFetchSettings(GrailsDomainClassProperty property, Collection collection, PersistentClass owner) {
+        ColumnConfig cc = getColumnConfig(property);
+        if(cc == null) return;
+
+        if(FETCH_JOIN.equals(cc.getFetch())) {
+            collection.setFetchMode(FetchMode.JOIN);
+        }
+        else if(FETCH_SELECT.equals(cc.getFetch())) {
+            collection.setFetchMode(FetchMode.SELECT);
+        }
+        else if(FETCH_SUBSELECT.equals(cc.getFetch())) {
+            // loads the collections of all the owners retrieved by the same query with one query
+            collection.setFetchMode(FetchMode.SELECT);
+            collection.setSubselectLoadable(true);
+            owner.setSubselectLoadableCollections(true);
+        }
+        if(cc.getBatchSize() > 0) {
+            collection.setBatchSize(cc.getBatchSize());
+        }
+    }
+
+    /**
+     * Binds the fetch mode of a many-to-one or one-to-one association configured in the mapping
+     *
+     * @param property The association property
+     * @param value The association value
+     * @param cc The column config of the association, can be null
+     */
+    private static void bindToOneFetchSettings(GrailsDomainClassProperty property, ToOne value, ColumnConfig cc) {
+        if(cc == null || cc.getFetch() == null) return;
+
+        if(FETCH_JOIN.equals(cc.getFetch())) {
+            value.setFetchMode(FetchMode.JOIN);
+        }
+        else if(FETCH_SELECT.equals(cc.getFetch())) {
+            value.setFetchMode(FetchMode.SELECT);
+        }
+        else {
+            LOG.warn("ORM Mapping Invalid: Specified [fetch] with value ["+cc.getFetch()+"] for association ["+property.getName()+"] in class ["+property.getDomainClass().getFullName()+"] is only valid for collections");
+        }
+    }
+
     /*
      * We bind collections with foreign keys if specified in the mapping and only if it is a unidirectional one-to-many
      * that is
@@ -894,6 +947,16 @@ public final class GrailsDomainBinder {
 		// set select before update to false
 		persistentClass.setSelectBeforeUpdate(false);
 
+        Mapping m = getMapping(domainClass.getClazz());
+        if(m != null) {
+            persistentClass.setLazy(m.getLazy());
+            persistentClass.setDynamicInsert(m.getDynamicInsert());
+            persistentClass.setDynamicUpdate(m.getDynamicUpdate());
+            if(m.getBatchSize() != null) {
+                persistentClass.setBatchSize(m.getBatchSize().intValue());
+            }
+        }
+
 		// add import to mappings
 		if ( mappings.isAutoImport() && persistentClass.getEntityName().indexOf( '.' ) > 0 ) {
 			mappings.addImport( persistentClass.getEntityName(), StringHelper.unqualify( persistentClass
@@ -1527,6 +1590,7 @@ public final class GrailsDomainBinder {
         else {
             oneToOne.setLazy(false);
         }
+        bindToOneFetchSettings(property, oneToOne, cc);
 
         bindSimpleValue(property,oneToOne, path, mappings);
 
@@ -1547,6 +1611,7 @@ public final class GrailsDomainBinder {
         else {
             manyToOne.setLazy(false);
         }
+        bindToOneFetchSettings(property, manyToOne, cc);
         // set referenced entity
 		manyToOne.setReferencedEntityName( property.getReferencedPropertyType().getName() );
         if(manyToOne.isLazy()) {            
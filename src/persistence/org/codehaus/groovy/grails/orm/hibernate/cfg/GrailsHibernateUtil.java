@@ -14,10 +14,12 @@
  */
 package org.codehaus.groovy.grails.orm.hibernate.cfg;
 
+import groovy.lang.Closure;
 import groovy.lang.GroovyObject;
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
 import org.codehaus.groovy.grails.commons.DomainClassArtefactHandler;
+import org.codehaus.groovy.grails.commons.GrailsClassUtils;
 import org.codehaus.groovy.grails.commons.GrailsApplication;
 import org.codehaus.groovy.grails.commons.GrailsDomainClass;
 import org.codehaus.groovy.grails.commons.metaclass.DynamicMethods;
@@ -27,18 +29,22 @@ import org.codehaus.groovy.grails.orm.hibernate.metaclass.DomainClassMethods;
 import org.hibernate.Criteria;
 import org.hibernate.EntityMode;
 import org.hibernate.FetchMode;
+import org.hibernate.ScrollMode;
+import org.hibernate.ScrollableResults;
+import org.hibernate.Session;
 import org.hibernate.SessionFactory;
 import org.hibernate.criterion.Order;
+import org.hibernate.criterion.Restrictions;
+import org.hibernate.criterion.SimpleExpression;
 import org.hibernate.metadata.ClassMetadata;
+import org.hibernate.proxy.HibernateProxy;
+import org.hibernate.proxy.LazyInitializer;
 import org.springframework.beans.SimpleTypeConverter;
 import org.springframework.context.ApplicationContext;
 
 import java.beans.IntrospectionException;
 import java.lang.reflect.Modifier;
-import java.util.Collection;
-import java.util.HashMap;
-import java.util.Iterator;
-import java.util.Map;
+import java.util.*;
 
 /**
  * A class containing utility methods for configuring Hibernate inside Grails
@@ -60,6 +66,18 @@ public class GrailsHibernateUtil {
     public static final String ORDER_ASC = "asc";
     public static final String ARGUMENT_FETCH = "fetch";
     public static final String ARGUMENT_IGNORE_CASE = "ignoreCase";
+    public static final String ARGUMENT_BATCH_SIZE = "batchSize";
+    public static final String ARGUMENT_FETCH_SIZE = "fetchSize";
+    public static final String ARGUMENT_CLEAR = "clear";
+    public static final String ARGUMENT_FLUSH = "flush";
+    public static final String ARGUMENT_CACHE = "cache";
+    public static final String ARGUMENT_CACHE_REGION = "cacheRegion";
+    public static final String ARGUMENT_READ_ONLY = "readOnly";
+    public static final String ARGUMENT_AFTER = "after";
+    public static final String ARGUMENT_AFTER_ID = "afterId";
+    public static final String ARGUMENT_BEFORE = "before";
+    public static final String ARGUMENT_BEFORE_ID = "beforeId";
+    public static final int DEFAULT_SCROLL_BATCH_SIZE = 100;
 
     public static void configureDynamicMethods(SessionFactory sessionFactory, GrailsApplication application) {
         LOG.trace("Configuring dynamic methods");
@@ -155,6 +173,8 @@ public class GrailsHibernateUtil {
 
     public static void populateArgumentsForCriteria(Criteria c, Map argMap) {
 
+        populateCacheArgumentsForCriteria(c, argMap);
+
         Integer maxParam = null;
         Integer offsetParam = null;
         if(argMap.containsKey(ARGUMENT_MAX)) {
@@ -182,11 +202,7 @@ public class GrailsHibernateUtil {
         if(offset > -1)
             c.setFirstResult(offset);
         if(sort != null) {
-            boolean ignoreCase = true;
-            Object caseArg = argMap.get(ARGUMENT_IGNORE_CASE);
-            if(caseArg instanceof Boolean) {
-                ignoreCase = ((Boolean)caseArg).booleanValue();
-            }
+            boolean ignoreCase = isIgnoreCase(argMap);
             if(ORDER_DESC.equals(order)) {
                 c.addOrder( ignoreCase ? Order.desc(sort).ignoreCase() : Order.desc(sort));
             }
@@ -196,6 +212,264 @@ public class GrailsHibernateUtil {
         }
     }
 
+    /**
+     * Makes the results of the criteria cacheable in the query cache if the cache argument is true or a cacheRegion
+     * argument is given, in which case the results are cached in that region. A cacheRegion argument has no effect
+     * if the cache argument is false.
+     *
+     * @param c The criteria
+     * @param argMap The arguments
+     */
+    public static void populateCacheArgumentsForCriteria(Criteria c, Map argMap) {
+        Object cacheRegion = argMap.get(ARGUMENT_CACHE_REGION);
+        boolean cache = argMap.containsKey(ARGUMENT_CACHE) ? GrailsClassUtils.getBooleanFromMap(ARGUMENT_CACHE, argMap) :
+                cacheRegion != null;
+        if(cache) {
+            c.setCacheable(true);
+            if(cacheRegion != null) {
+                c.setCacheRegion(cacheRegion.toString());
+            }
+        }
+    }
+
+    /**
+     * Checks whether the arguments request a page of results by key rather than by offset
+     *
+     * @param argMap The arguments
+     * @return True if there is an after or a before argument
+     */
+    public static boolean isKeysetPagination(Map argMap) {
+        return argMap.get(ARGUMENT_AFTER) != null || argMap.get(ARGUMENT_BEFORE) != null;
+    }
+
+    /**
+     * <p>Populates the criteria to retrieve the page of results that follows the after argument or precedes the
+     * before argument, which is the value of the sort property of the last or first result of the current page.
+     * This seeks to the page with an index on the sort property instead of reading and skipping the rows before
+     * the offset, so that the time taken to retrieve a page doesn't grow with its position.</p>
+     *
+     * <p>The results are sorted as {@link #populateArgumentsForCriteria(Criteria, Map)} and
+     * {@link #populateIdentifierOrderForCriteria(Criteria, ClassMetadata, Map)} sort them, so that the pages follow
+     * on from a first page retrieved with an offset: by the sort property, or the identifier if there is no sort
+     * argument, ignoring case unless the ignoreCase argument is false, and then by the identifier so that results
+     * with the same sort value are always in the same order. The afterId and beforeId arguments are the identifier
+     * of the last or first result of the current page, without which results with the same sort value as the key
+     * are skipped. The offset argument is ignored. The max, fetch and cache arguments are applied as usual.</p>
+     *
+     * <p>The results preceding the before argument are queried in the reverse order, in which case this method
+     * returns true and the caller must reverse the results.</p>
+     *
+     * @param c The criteria
+     * @param metadata The metadata of the class being queried
+     * @param argMap The arguments
+     * @return True if the results are in the reverse order
+     */
+    public static boolean populateKeysetArgumentsForCriteria(Criteria c, ClassMetadata metadata, Map argMap) {
+        Map remainingArgs = new HashMap(argMap);
+        remainingArgs.remove(ARGUMENT_SORT);
+        remainingArgs.remove(ARGUMENT_ORDER);
+        remainingArgs.remove(ARGUMENT_OFFSET);
+        populateArgumentsForCriteria(c, remainingArgs);
+
+        boolean before = argMap.get(ARGUMENT_AFTER) == null;
+        boolean descending = ORDER_DESC.equalsIgnoreCase((String)argMap.get(ARGUMENT_ORDER));
+        // whether the page holds the values greater than the key, in which case it is queried in ascending order
+        boolean greater = before == descending;
+
+        String idName = metadata.getIdentifierPropertyName();
+        Class idType = metadata.getIdentifierType().getReturnedClass();
+        String sort = (String)argMap.get(ARGUMENT_SORT);
+        if(sort == null) sort = idName;
+        boolean sortById = sort.equals(idName);
+        Class sortType = sortById ? idType : metadata.getPropertyType(sort).getReturnedClass();
+        boolean ignoreCase = isIgnoreCase(argMap) && String.class.equals(sortType);
+        // results with the same sort value are ordered by identifier, as are identifiers equal but for their case
+        boolean orderById = !sortById || ignoreCase;
+
+        Object key = convertKeyValue(argMap.get(before ? ARGUMENT_BEFORE : ARGUMENT_AFTER), sortType);
+        Object keyId = sortById ? key : argMap.get(before ? ARGUMENT_BEFORE_ID : ARGUMENT_AFTER_ID);
+
+        SimpleExpression seek = greater ? Restrictions.gt(sort, key) : Restrictions.lt(sort, key);
+        SimpleExpression sameKey = Restrictions.eq(sort, key);
+        Order sortOrder = greater ? Order.asc(sort) : Order.desc(sort);
+        if(ignoreCase) {
+            seek.ignoreCase();
+            sameKey.ignoreCase();
+            sortOrder.ignoreCase();
+        }
+        if(orderById && keyId != null) {
+            keyId = convertKeyValue(keyId, idType);
+            c.add(Restrictions.or(seek, Restrictions.and(sameKey,
+                    greater ? Restrictions.gt(idName, keyId) : Restrictions.lt(idName, keyId))));
+        }
+        else {
+            c.add(seek);
+        }
+        c.addOrder(sortOrder);
+        if(orderById) {
+            c.addOrder(greater ? Order.asc(idName) : Order.desc(idName));
+        }
+        return before;
+    }
+
+    /**
+     * Orders the results of the criteria by the identifier after the sort argument, in the same direction, so that
+     * results with the same sort value are in the same order in every page and a page retrieved with an offset is
+     * followed on by the pages of {@link #populateKeysetArgumentsForCriteria(Criteria, ClassMetadata, Map)}. To be
+     * called after {@link #populateArgumentsForCriteria(Criteria, Map)}, which adds the order of the sort argument.
+     *
+     * @param c The criteria
+     * @param metadata The metadata of the class being queried
+     * @param argMap The arguments
+     */
+    public static void populateIdentifierOrderForCriteria(Criteria c, ClassMetadata metadata, Map argMap) {
+        String sort = (String)argMap.get(ARGUMENT_SORT);
+        if(sort == null) return;
+
+        String idName = metadata.getIdentifierPropertyName();
+        if(sort.equals(idName) && !(isIgnoreCase(argMap) && String.class.equals(metadata.getIdentifierType().getReturnedClass()))) {
+            return;
+        }
+        c.addOrder(ORDER_DESC.equalsIgnoreCase((String)argMap.get(ARGUMENT_ORDER)) ? Order.desc(idName) : Order.asc(idName));
+    }
+
+    private static boolean isIgnoreCase(Map argMap) {
+        Object caseArg = argMap.get(ARGUMENT_IGNORE_CASE);
+        return !(caseArg instanceof Boolean) || ((Boolean)caseArg).booleanValue();
+    }
+
+    /**
+     * Converts a key of keyset pagination, typically a request parameter, to the type of the property. Dates are
+     * represented by their time in milliseconds.
+     */
+    private static Object convertKeyValue(Object value, Class type) {
+        if(type.isInstance(value)) return value;
+
+        if(Date.class.isAssignableFrom(type)) {
+            long time = value instanceof Number ? ((Number)value).longValue() : Long.parseLong(value.toString());
+            if(java.sql.Timestamp.class.equals(type)) return new java.sql.Timestamp(time);
+            if(java.sql.Date.class.equals(type)) return new java.sql.Date(time);
+            return new Date(time);
+        }
+        // a converter local to the call, as its default editors hold the value being converted
+        return new SimpleTypeConverter().convertIfNecessary(value, type);
+    }
+
+    /**
+     * Scrolls forward through the results of the criteria and passes them to the closure in lists of at most
+     * batchSize results, so that the results are never all held in memory. After each batch the session is
+     * cleared, unless the clear argument is false, so that it doesn't grow with the number of results read.
+     * Changes made to the instances by the closure are lost when the session is cleared unless the flush argument
+     * is true, in which case the session is flushed before it is cleared.
+     *
+     * The max, offset, sort, order and fetch arguments are applied to the criteria and the JDBC fetch size is the
+     * fetchSize argument, or the batch size if there is no fetchSize argument.
+     *
+     * @param session The session the criteria was created with
+     * @param c The criteria
+     * @param argMap The arguments
+     * @param callable The closure called with each batch
+     * @return The number of results read
+     */
+    public static int eachBatch(Session session, Criteria c, Map argMap, Closure callable) {
+        populateArgumentsForCriteria(c, argMap);
+        int batchSize = DEFAULT_SCROLL_BATCH_SIZE;
+        if(argMap.containsKey(ARGUMENT_BATCH_SIZE)) {
+            batchSize = ((Integer)converter.convertIfNecessary(argMap.get(ARGUMENT_BATCH_SIZE), Integer.class)).intValue();
+            if(batchSize < 1) throw new IllegalArgumentException("Argument [" + ARGUMENT_BATCH_SIZE + "] must be greater than zero");
+        }
+        int fetchSize = batchSize;
+        if(argMap.containsKey(ARGUMENT_FETCH_SIZE)) {
+            fetchSize = ((Integer)converter.convertIfNecessary(argMap.get(ARGUMENT_FETCH_SIZE), Integer.class)).intValue();
+        }
+        boolean clear = !argMap.containsKey(ARGUMENT_CLEAR) || GrailsClassUtils.getBooleanFromMap(ARGUMENT_CLEAR, argMap);
+        boolean flush = GrailsClassUtils.getBooleanFromMap(ARGUMENT_FLUSH, argMap);
+
+        c.setFetchSize(fetchSize);
+        ScrollableResults results = c.scroll(ScrollMode.FORWARD_ONLY);
+        int count = 0;
+        try {
+            List batch = new ArrayList(batchSize);
+            while(results.next()) {
+                Object[] row = results.get();
+                batch.add(row.length == 1 ? row[0] : row);
+                if(batch.size() == batchSize) {
+                    count += processBatch(session, batch, callable, clear, flush);
+                    batch = new ArrayList(batchSize);
+                }
+            }
+            if(!batch.isEmpty()) {
+                count += processBatch(session, batch, callable, clear, flush);
+            }
+        }
+        finally {
+            results.close();
+        }
+        return count;
+    }
+
+    private static int processBatch(Session session, List batch, Closure callable, boolean clear, boolean flush) {
+        callable.call(new Object[]{batch});
+        if(flush) {
+            session.flush();
+        }
+        if(clear) {
+            session.clear();
+        }
+        return batch.size();
+    }
+
+    /**
+     * Checks whether the readOnly argument is true
+     *
+     * @param argMap The arguments
+     * @return True if the results should be read-only
+     */
+    public static boolean isReadOnly(Map argMap) {
+        return GrailsClassUtils.getBooleanFromMap(ARGUMENT_READ_ONLY, argMap);
+    }
+
+    /**
+     * Marks the persistent instances in the results read-only, which excludes them from dirty checking when the
+     * session is flushed and releases the state Hibernate keeps to detect changes. Changes made to the instances
+     * afterwards are not persisted. Rows that are arrays are searched for instances and other results are ignored.
+     *
+     * @param session The session the results were loaded with
+     * @param results The results
+     */
+    public static void setObjectsToReadOnly(Session session, Collection results) {
+        for (Iterator i = results.iterator(); i.hasNext();) {
+            Object result = i.next();
+            if(result instanceof Object[]) {
+                Object[] row = (Object[]) result;
+                for (int j = 0; j < row.length; j++) {
+                    setObjectToReadOnly(session, row[j]);
+                }
+            }
+            else {
+                setObjectToReadOnly(session, result);
+            }
+        }
+    }
+
+    /**
+     * Marks the given instance read-only if it is a persistent instance of the session
+     *
+     * @param session The session
+     * @param object The instance
+     */
+    public static void setObjectToReadOnly(Session session, Object object) {
+        if(object instanceof HibernateProxy) {
+            LazyInitializer initializer = ((HibernateProxy) object).getHibernateLazyInitializer();
+            // there is no state to release until the proxy is initialized
+            if(initializer.isUninitialized()) return;
+            object = initializer.getImplementation();
+        }
+        if(object != null && session.contains(object)) {
+            session.setReadOnly(object, true);
+        }
+    }
+
     /**
 	 * Will retrieve the fetch mode for the specified instance other wise return the
      * default FetchMode
@@ -0,0 +1,185 @@
+/*
+ * Copyright 2004-2005 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.codehaus.groovy.grails.orm.hibernate.metaclass;
+
+import groovy.lang.MissingMethodException;
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.codehaus.groovy.grails.commons.GrailsClassUtils;
+import org.hibernate.HibernateException;
+import org.hibernate.Session;
+import org.hibernate.SessionFactory;
+import org.hibernate.engine.SessionFactoryImplementor;
+import org.springframework.orm.hibernate3.HibernateCallback;
+
+import java.sql.SQLException;
+import java.util.*;
+import java.util.regex.Pattern;
+
+/**
+ * Abstract base class for static persistent methods that write a collection of instances in batches. The session
+ * is flushed after every batch, so that Hibernate can send the statements of a batch to the database with JDBC
+ * batching, and then cleared so that the memory used by the session doesn't grow with the number of instances.
+ *
+ * The size of a batch is the batchSize argument, or the hibernate.jdbc.batch_size setting of the SessionFactory if
+ * there is no batchSize argument. Clearing the session, which detaches every instance in it including those loaded
+ * before the method was called, can be switched off with clear:false.
+ *
+ * @since 1.0.4
+ */
+public abstract class AbstractBatchPersistentMethod extends AbstractStaticPersistentMethod {
+
+    private static final Log LOG = LogFactory.getLog(AbstractBatchPersistentMethod.class);
+
+    public static final String ARGUMENT_BATCH_SIZE = "batchSize";
+    public static final String ARGUMENT_CLEAR = "clear";
+    public static final int DEFAULT_BATCH_SIZE = 50;
+
+    private SessionFactory sessionFactory;
+
+    public AbstractBatchPersistentMethod(SessionFactory sessionFactory, ClassLoader classLoader, Pattern pattern) {
+        super(sessionFactory, classLoader, pattern);
+        this.sessionFactory = sessionFactory;
+    }
+
+    protected Object doInvokeInternal(final Class clazz, final String methodName, Object[] arguments) {
+        if(arguments.length == 0 || !(arguments[0] instanceof Collection)) {
+            throw new MissingMethodException(methodName, clazz, arguments);
+        }
+        final Collection instances = (Collection)arguments[0];
+        final Map argsMap = arguments.length > 1 && arguments[1] instanceof Map ? (Map)arguments[1] : Collections.EMPTY_MAP;
+        final int batchSize = getBatchSize(argsMap);
+        final boolean clear = !argsMap.containsKey(ARGUMENT_CLEAR) || GrailsClassUtils.getBooleanFromMap(ARGUMENT_CLEAR, argsMap);
+        final List rejected = new ArrayList();
+
+        Integer written = (Integer)getHibernateTemplate().execute(new HibernateCallback() {
+            public Object doInHibernate(Session session) throws HibernateException, SQLException {
+                int written = 0;
+                int batchCount = 0;
+                List candidates = new ArrayList();
+                for (Iterator i = instances.iterator(); i.hasNext();) {
+                    Object instance = i.next();
+                    if(instance == null) continue;
+
+                    candidates.add(instance);
+                    if(candidates.size() == batchSize) {
+                        List batch = acceptInstances(session, candidates, argsMap, rejected);
+                        if(!batch.isEmpty()) {
+                            writeBatch(session, clazz, methodName, batch, ++batchCount, argsMap, clear);
+                            written += batch.size();
+                        }
+                        candidates.clear();
+                    }
+                }
+                if(!candidates.isEmpty()) {
+                    List batch = acceptInstances(session, candidates, argsMap, rejected);
+                    if(!batch.isEmpty()) {
+                        writeBatch(session, clazz, methodName, batch, ++batchCount, argsMap, clear);
+                        written += batch.size();
+                    }
+                }
+                return new Integer(written);
+            }
+        });
+
+        if(LOG.isInfoEnabled() && !rejected.isEmpty()) {
+            LOG.info(methodName + " of [" + clazz.getName() + "] wrote [" + written + "] instances, [" +
+                    rejected.size() + "] were rejected");
+        }
+        return createResult(written.intValue(), rejected);
+    }
+
+    private void writeBatch(Session session, Class clazz, String methodName, List batch, int batchCount, Map argsMap, boolean clear) {
+        long start = System.currentTimeMillis();
+        writeInstances(session, batch, argsMap);
+        session.flush();
+        if(clear) {
+            session.clear();
+        }
+        if(LOG.isDebugEnabled()) {
+            LOG.debug(methodName + " of [" + clazz.getName() + "] wrote batch [" + batchCount + "] of [" + batch.size() +
+                    "] instances in [" + (System.currentTimeMillis() - start) + "ms]");
+        }
+    }
+
+    private int getBatchSize(Map argsMap) {
+        if(argsMap.containsKey(ARGUMENT_BATCH_SIZE)) {
+            Object value = argsMap.get(ARGUMENT_BATCH_SIZE);
+            int batchSize = value instanceof Number ? ((Number)value).intValue() : Integer.parseInt(String.valueOf(value));
+            if(batchSize > 0) return batchSize;
+        }
+        if(sessionFactory instanceof SessionFactoryImplementor) {
+            int jdbcBatchSize = ((SessionFactoryImplementor)sessionFactory).getSettings().getJdbcBatchSize();
+            if(jdbcBatchSize > 0) return jdbcBatchSize;
+        }
+        return DEFAULT_BATCH_SIZE;
+    }
+
+    /**
+     * Checks which instances of a batch should be written, by calling {@link #acceptInstance(Session, Object, Map)}
+     * for each of them. Subclasses can override this to prepare checks that are made for the whole batch.
+     *
+     * @param session The session
+     * @param candidates The non-null instances of the batch
+     * @param argsMap The named arguments passed to the method
+     * @param rejected The list to add the instances that are not accepted to
+     * @return The accepted instances
+     */
+    protected List acceptInstances(Session session, List candidates, Map argsMap, List rejected) {
+        List accepted = new ArrayList(candidates.size());
+        for (Iterator i = candidates.iterator(); i.hasNext();) {
+            Object instance = i.next();
+            if(acceptInstance(session, instance, argsMap)) {
+                accepted.add(instance);
+            }
+            else {
+                rejected.add(instance);
+            }
+        }
+        return accepted;
+    }
+
+    /**
+     * Checks whether an instance should be written. Instances that are not accepted are returned to the subclass in
+     * the list of rejected instances.
+     *
+     * @param session The session
+     * @param instance The instance
+     * @param argsMap The named arguments passed to the method
+     * @return False if the instance was rejected and is not to be written
+     */
+    protected boolean acceptInstance(Session session, Object instance, Map argsMap) {
+        return true;
+    }
+
+    /**
+     * Writes a batch of accepted instances to the session, before the session is flushed
+     *
+     * @param session The session
+     * @param batch The instances
+     * @param argsMap The named arguments passed to the method
+     */
+    protected abstract void writeInstances(Session session, List batch, Map argsMap);
+
+    /**
+     * Creates the value returned by the method
+     *
+     * @param written The number of instances written
+     * @param rejected The instances that were rejected
+     * @return The return value
+     */
+    protected abstract Object createResult(int written, List rejected);
+}
@@ -26,9 +26,13 @@ import org.springframework.beans.SimpleTypeConverter;
 import org.springframework.beans.TypeConverter;
 import org.springframework.beans.TypeMismatchException;
 
+import org.codehaus.groovy.runtime.metaclass.ConcurrentReaderHashMap;
+
 import java.util.ArrayList;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Locale;
+import java.util.Map;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
@@ -46,7 +50,7 @@ public abstract class AbstractClausedStaticPersistentMethod extends
 	 * @author Graeme Rocher
 	 *
 	 */
-	protected abstract static class GrailsMethodExpression {
+	protected abstract static class GrailsMethodExpression implements Cloneable {
 		private static final String LESS_THAN = "LessThan";
 		private static final String LESS_THAN_OR_EQUAL = "LessThanEquals";
 		private static final String GREATER_THAN = "GreaterThan";
@@ -67,8 +71,8 @@ public abstract class AbstractClausedStaticPersistentMethod extends
 		protected boolean negation;
 		protected String type;
 		protected Class targetClass;
+		protected Class propertyType;
 		private GrailsApplication application;
-		private TypeConverter converter = new SimpleTypeConverter();
 
 
 		GrailsMethodExpression(GrailsApplication application,Class targetClass,String propertyName, String type,int argumentsRequired,boolean negation) {
@@ -95,38 +99,64 @@ public abstract class AbstractClausedStaticPersistentMethod extends
 			return buf.toString();
 		}
 
-		void setArguments(Object[] args)
-			throws IllegalArgumentException {
-			if(args.length != argumentsRequired)
-				throw new IllegalArgumentException("Method expression '"+this.type+"' requires " + argumentsRequired + " arguments");
-
+		/**
+		 * Resolves the type of the property the expression applies to. Called once when the expression is
+		 * compiled into a FinderPlan
+		 */
+		void resolvePropertyType() throws IllegalArgumentException {
 			GrailsDomainClass dc = (GrailsDomainClass) application.getArtefact(DomainClassArtefactHandler.TYPE, targetClass.getName());
 			GrailsDomainClassProperty prop = dc.getPropertyByName(propertyName);
 
 			if(prop == null)
 				throw new IllegalArgumentException("Property "+propertyName+" doesn't exist for method expression '"+this.type+"'");
 
+			this.propertyType = prop.getType();
+		}
+
+		/**
+		 * Creates a copy of this expression bound to the given arguments
+		 */
+		GrailsMethodExpression bind(Object[] args) throws IllegalArgumentException {
+			GrailsMethodExpression bound;
+			try {
+				bound = (GrailsMethodExpression)clone();
+			} catch (CloneNotSupportedException e) {
+				throw new IllegalStateException("Cannot copy method expression: " + e.getMessage());
+			}
+			bound.setArguments(args);
+			return bound;
+		}
+
+		void setArguments(Object[] args)
+			throws IllegalArgumentException {
+			if(args.length != argumentsRequired)
+				throw new IllegalArgumentException("Method expression '"+this.type+"' requires " + argumentsRequired + " arguments");
+
+			if(propertyType == null) resolvePropertyType();
+
+			TypeConverter converter = null;
 			for (int i = 0; i < args.length; i++) {
                 if(args[i] == null) continue;
                 // convert GStrings to strings
-				if(prop.getType() == String.class && (args[i] instanceof GString)) {
+				if(propertyType == String.class && (args[i] instanceof GString)) {
 					args[i] = args[i].toString();
 				}
-				else if(!prop.getType().isAssignableFrom( args[i].getClass() ) && !(GrailsClassUtils.isMatchBetweenPrimativeAndWrapperTypes(prop.getType(), args[i].getClass()))) {
+				else if(!propertyType.isAssignableFrom( args[i].getClass() ) && !(GrailsClassUtils.isMatchBetweenPrimativeAndWrapperTypes(propertyType, args[i].getClass()))) {
+					if(converter == null) converter = new SimpleTypeConverter();
 					try {
-						args[i] = converter.convertIfNecessary( args[i], prop.getType());
+						args[i] = converter.convertIfNecessary( args[i], propertyType);
 					} catch ( TypeMismatchException tme ) {
 						// if we cannot perform direct conversion and argument is subclass of Number
 						// we can try to convert it through it's String representation
 						if(Number.class.isAssignableFrom(args[i].getClass())) {
 							try {
-								args[i] = converter.convertIfNecessary( args[i].toString(), prop.getType());
+								args[i] = converter.convertIfNecessary( args[i].toString(), propertyType);
 							} catch( TypeMismatchException tme1 ) {
 
-                                throw new IllegalArgumentException("Cannot convert value " + args[i] + " of property '"+propertyName+"' to required type " + prop.getType() + ": " + tme1.getMessage());
+                                throw new IllegalArgumentException("Cannot convert value " + args[i] + " of property '"+propertyName+"' to required type " + propertyType + ": " + tme1.getMessage());
 							}
 						} else {
-							throw new IllegalArgumentException("Cannot convert value " + args[i] + " of property '"+propertyName+"' to required type " + prop.getType());
+							throw new IllegalArgumentException("Cannot convert value " + args[i] + " of property '"+propertyName+"' to required type " + propertyType);
 						}
 					}
 				}
@@ -338,9 +368,42 @@ public abstract class AbstractClausedStaticPersistentMethod extends
 		}
 	}
 
+	/**
+	 * The result of parsing a dynamic finder method name: the expressions to apply, which are bound to the
+	 * arguments of each invocation, and the operator used to combine them. Plans are immutable and cached per
+	 * domain class and method name.
+	 */
+	protected static class FinderPlan {
+		private final Class clazz;
+		private final GrailsMethodExpression[] expressions;
+		private final String operatorInUse;
+		private final int totalRequiredArguments;
+
+		FinderPlan(Class clazz, GrailsMethodExpression[] expressions, String operatorInUse) {
+			this.clazz = clazz;
+			this.expressions = expressions;
+			this.operatorInUse = operatorInUse;
+			int total = 0;
+			for (int i = 0; i < expressions.length; i++) {
+				total += expressions[i].argumentsRequired;
+			}
+			this.totalRequiredArguments = total;
+		}
+
+		public String getOperatorInUse() {
+			return operatorInUse;
+		}
+
+		public int getTotalRequiredArguments() {
+			return totalRequiredArguments;
+		}
+	}
+
 	private final String[] operators;
 	private final Pattern[] operatorPatterns;
 	protected final GrailsApplication application;
+	// class name -> ClassFinderPlans, keyed by name so that reloaded classes replace the plans of the previous class
+	private final Map finderPlans = new ConcurrentReaderHashMap();
 
 	public AbstractClausedStaticPersistentMethod(GrailsApplication application, SessionFactory sessionFactory, ClassLoader classLoader, Pattern pattern, String[] operators) {
 		super(sessionFactory, classLoader, pattern);
@@ -357,97 +420,124 @@ public abstract class AbstractClausedStaticPersistentMethod extends
 	 */
 	protected Object doInvokeInternal(final Class clazz, String methodName,
 			Object[] arguments) {
-		List expressions = new ArrayList();
         if(arguments == null) arguments = new Object[0];
-        Matcher match = super.getPattern().matcher( methodName );
+
+		FinderPlan plan = getFinderPlan(clazz, methodName, arguments);
+
+		// if the total of all the arguments necessary does not equal the number of arguments
+		// throw exception
+		if(plan.totalRequiredArguments > arguments.length)
+			throw new MissingMethodException(methodName,clazz,arguments);
+
+		// populate the arguments into the GrailsExpressions from the argument list
+		List expressions = new ArrayList(plan.expressions.length);
+		int argumentCursor = 0;
+		for (int i = 0; i < plan.expressions.length; i++) {
+			GrailsMethodExpression expression = plan.expressions[i];
+			Object[] currentArguments = new Object[expression.argumentsRequired];
+			System.arraycopy(arguments, argumentCursor, currentArguments, 0, expression.argumentsRequired);
+			argumentCursor += expression.argumentsRequired;
+			try {
+				expressions.add(expression.bind(currentArguments));
+			}
+			catch(IllegalArgumentException iae) {
+				LOG.debug(iae.getMessage(),iae);
+				throw new MissingMethodException(methodName,clazz,arguments);
+			}
+		}
+
+		// calculate the remaining arguments
+		Object[] remainingArguments = new Object[arguments.length - plan.totalRequiredArguments];
+		if(remainingArguments.length > 0) {
+			System.arraycopy(arguments, plan.totalRequiredArguments, remainingArguments, 0, remainingArguments.length);
+		}
+
+		if(LOG.isTraceEnabled())
+			LOG.trace("Calculated expressions: " + expressions);
+
+		return doInvokeInternalWithExpressions(clazz, methodName, remainingArguments, expressions, plan.operatorInUse);
+	}
+
+	/**
+	 * Retrieves the FinderPlan for the given class and method name, parsing the method name on first use
+	 *
+	 * @param clazz The domain class
+	 * @param methodName The dynamic finder method name
+	 * @param arguments The arguments of the invocation, used to report a MissingMethodException
+	 * @return The FinderPlan
+	 */
+	protected FinderPlan getFinderPlan(Class clazz, String methodName, Object[] arguments) {
+		Map classPlans = (Map)finderPlans.get(clazz.getName());
+		FinderPlan plan = classPlans != null ? (FinderPlan)classPlans.get(methodName) : null;
+		if(plan != null && plan.clazz == clazz) {
+			return plan;
+		}
+
+		plan = createFinderPlan(clazz, methodName, arguments);
+		if(classPlans == null || !isPlansForClass(classPlans, clazz)) {
+			classPlans = new ConcurrentReaderHashMap();
+			finderPlans.put(clazz.getName(), classPlans);
+		}
+		classPlans.put(methodName, plan);
+		return plan;
+	}
+
+	private boolean isPlansForClass(Map classPlans, Class clazz) {
+		for (Iterator i = classPlans.values().iterator(); i.hasNext();) {
+			if(((FinderPlan)i.next()).clazz != clazz) return false;
+		}
+		return true;
+	}
+
+	/**
+	 * Removes all cached FinderPlans
+	 */
+	public void clearFinderPlans() {
+		finderPlans.clear();
+	}
+
+	private FinderPlan createFinderPlan(final Class clazz, String methodName, Object[] arguments) {
+		Matcher match = super.getPattern().matcher( methodName );
 		// find match
 		match.find();
 
-		String[] queryParameters;
-		int totalRequiredArguments = 0;
 		// get the sequence clauses
 		String querySequence = match.group(2);
-		// if it contains operator and split
-		boolean containsOperator = false;
+		String[] queryParameters = null;
         String operatorInUse = null;
 
+		// if it contains operator and split
         for (int i = 0; i < operators.length; i++) {
 			Matcher currentMatcher = operatorPatterns[i].matcher( querySequence );
 			if(currentMatcher.find()) {
-				containsOperator = true;
 				operatorInUse = this.operators[i];
 
 				queryParameters = new String[2];
 				queryParameters[0] = currentMatcher.group(1);
 				queryParameters[1] = currentMatcher.group(3) + currentMatcher.group(4);
-
-				// loop through query parameters and create expressions
-				// calculating the numBer of arguments required for the expression
-				int argumentCursor = 0;
-				for (int j = 0; j < queryParameters.length; j++) {
-					GrailsMethodExpression currentExpression = GrailsMethodExpression.create(this.application,clazz,queryParameters[j]);
-					totalRequiredArguments += currentExpression.argumentsRequired;
-					// populate the arguments into the GrailsExpression from the argument list
-					Object[] currentArguments = new Object[currentExpression.argumentsRequired];
-					if((argumentCursor + currentExpression.argumentsRequired) > arguments.length)
-						throw new MissingMethodException(methodName,clazz,arguments);
-
-					for (int k = 0; k < currentExpression.argumentsRequired; k++,argumentCursor++) {
-						currentArguments[k] = arguments[argumentCursor];
-					}
-					try {
-						currentExpression.setArguments(currentArguments);
-					}catch(IllegalArgumentException iae) {
-						LOG.debug(iae.getMessage(),iae);
-						throw new MissingMethodException(methodName,clazz,arguments);
-					}
-					// add to list of expressions
-					expressions.add(currentExpression);
-				}
 				break;
 			}
 		}
 
 		// otherwise there is only one expression
-		if(!containsOperator) {
-			GrailsMethodExpression solo = GrailsMethodExpression.create(this.application, clazz,querySequence );
-
-			if(solo.argumentsRequired > arguments.length)
-				throw new MissingMethodException(methodName,clazz,arguments);
-
-			totalRequiredArguments += solo.argumentsRequired;
-			Object[] soloArgs = new Object[solo.argumentsRequired];
+		if(queryParameters == null) {
+			queryParameters = new String[] { querySequence };
+		}
 
-            System.arraycopy(arguments, 0, soloArgs, 0, solo.argumentsRequired);
+		GrailsMethodExpression[] expressions = new GrailsMethodExpression[queryParameters.length];
+		for (int i = 0; i < queryParameters.length; i++) {
+			expressions[i] = GrailsMethodExpression.create(this.application,clazz,queryParameters[i]);
 			try {
-				solo.setArguments(soloArgs);
+				expressions[i].resolvePropertyType();
 			}
 			catch(IllegalArgumentException iae) {
 				LOG.debug(iae.getMessage(),iae);
 				throw new MissingMethodException(methodName,clazz,arguments);
 			}
-			expressions.add(solo);
 		}
-
-		// if the total of all the arguments necessary does not equal the number of arguments
-		// throw exception
-		if(totalRequiredArguments > arguments.length)
-			throw new MissingMethodException(methodName,clazz,arguments);
-		
-		// calculate the remaining arguments
-		Object[] remainingArguments = new Object[arguments.length - totalRequiredArguments];
-		if(remainingArguments.length > 0) {		
-			for (int i = 0, j = totalRequiredArguments; i < remainingArguments.length; i++,j++) {
-				remainingArguments[i] = arguments[j];
-			}
-		}
-		
-		if(LOG.isTraceEnabled())
-			LOG.trace("Calculated expressions: " + expressions);
-		
-		return doInvokeInternalWithExpressions(clazz, methodName, remainingArguments, expressions, operatorInUse);
+		return new FinderPlan(clazz, expressions, operatorInUse);
 	}
-	
+
 	protected abstract Object doInvokeInternalWithExpressions(Class clazz, String methodName, Object[] arguments, List expressions, String operatorInUse);
 
 }
@@ -24,16 +24,12 @@ import org.hibernate.FlushMode;
 import org.hibernate.HibernateException;
 import org.hibernate.Session;
 import org.hibernate.SessionFactory;
-import org.springframework.beans.BeanWrapper;
-import org.springframework.beans.BeanWrapperImpl;
-import org.springframework.beans.InvalidPropertyException;
 import org.springframework.orm.hibernate3.HibernateCallback;
 import org.springframework.orm.hibernate3.HibernateTemplate;
 import org.springframework.validation.Errors;
 import org.springframework.validation.Validator;
 import org.springframework.validation.BeanPropertyBindingResult;
 
-import java.io.Serializable;
 import java.sql.SQLException;
 import java.util.Map;
 import java.util.regex.Pattern;
@@ -142,31 +138,16 @@ public abstract class AbstractSavePersistentMethod extends
      * @param domainClass The domain class to retrieve associations for
      * @param target The target object
      */
-	private void autoRetrieveAssocations(GrailsDomainClass domainClass, Object target) {
-		BeanWrapper bean = new BeanWrapperImpl(target);
-		HibernateTemplate t = getHibernateTemplate();
-		GrailsDomainClassProperty[] props = domainClass.getPersistentProperties();
-		for (int i = 0; i < props.length; i++) {
-		    GrailsDomainClassProperty prop = props[i];
-		    if(prop.isManyToOne() || prop.isOneToOne()) {
-		        Object propValue = bean.getPropertyValue(prop.getName());
-		        if(propValue != null && !t.contains(propValue)) {
-		            GrailsDomainClass otherSide = (GrailsDomainClass) application.getArtefact(DomainClassArtefactHandler.TYPE,
-                        prop.getType().getName());
-		            if(otherSide != null) {
-		                BeanWrapper propBean = new BeanWrapperImpl(propValue);
-		                try {
-                            Serializable id = (Serializable) propBean.getPropertyValue(otherSide.getIdentifier().getName());
-                            if (id != null) {
-                                bean.setPropertyValue(prop.getName(), t.get(prop.getType(), id));
-                            }
-                        } catch (InvalidPropertyException ipe) {
-                            // property is not accessable
-                        }
-		            }
-		        }
-		    }
-		}
+	private void autoRetrieveAssocations(final GrailsDomainClass domainClass, final Object target) {
+		getHibernateTemplate().execute(new HibernateCallback() {
+            public Object doInHibernate(Session session) throws HibernateException, SQLException {
+                DetachedAssociationResolver resolver = new DetachedAssociationResolver(application);
+                if(resolver.add(domainClass, target, session)) {
+                    resolver.resolve(session);
+                }
+                return null;
+            }
+        });
 	}
 
     /**
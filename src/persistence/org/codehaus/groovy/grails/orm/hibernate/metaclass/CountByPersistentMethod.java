@@ -15,6 +15,7 @@
 package org.codehaus.groovy.grails.orm.hibernate.metaclass;
 
 import org.codehaus.groovy.grails.commons.GrailsApplication;
+import org.codehaus.groovy.grails.orm.hibernate.cfg.GrailsHibernateUtil;
 import org.hibernate.Criteria;
 import org.hibernate.HibernateException;
 import org.hibernate.Session;
@@ -27,6 +28,7 @@ import org.springframework.orm.hibernate3.HibernateCallback;
 import java.sql.SQLException;
 import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
 import java.util.regex.Pattern;
 
 /**
@@ -34,6 +36,9 @@ import java.util.regex.Pattern;
  *
  * eg. Account.countByBranch('London') // returns how many accounts are in london
  *
+ * The count can be cached in the query cache with the cache and cacheRegion arguments:
+ *
+ * eg. Account.countByBranch('London', [cache:true])
  *
  * @author Graeme Rocher
  * @since 04-May-2006
@@ -52,13 +57,16 @@ public class CountByPersistentMethod extends
 	}
 
 	protected Object doInvokeInternalWithExpressions(final Class clazz,
-                                                     String methodName, Object[] arguments, final List expressions, String operatorInUse) {
+                                                     String methodName, final Object[] arguments, final List expressions, String operatorInUse) {
         final String operator = OPERATOR_OR.equals(operatorInUse) ? OPERATOR_OR : OPERATOR_AND;
         return super.getHibernateTemplate().execute( new HibernateCallback() {
 
 			public Object doInHibernate(Session session) throws HibernateException, SQLException {
 				Criteria crit = session.createCriteria(clazz);
 				crit.setProjection(Projections.rowCount());
+				if(arguments.length > 0 && arguments[0] instanceof Map) {
+					GrailsHibernateUtil.populateCacheArgumentsForCriteria(crit, (Map)arguments[0]);
+				}
                 populateCriteriaWithExpressions(crit, operator, expressions);
 
                 return crit.uniqueResult();
@@ -0,0 +1,52 @@
+/*
+ * Copyright 2004-2005 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.codehaus.groovy.grails.orm.hibernate.metaclass;
+
+import org.hibernate.Session;
+import org.hibernate.SessionFactory;
+
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Pattern;
+
+/**
+ * The "deleteAll" static persistent method for Grails domain classes. Deletes a collection of instances in batches,
+ * flushing and clearing the session after each batch, and returns the number of instances deleted.
+ *
+ * eg. Book.deleteAll(books) or Book.deleteAll(books, [batchSize:100])
+ *
+ * @since 1.0.4
+ */
+public class DeleteAllPersistentMethod extends AbstractBatchPersistentMethod {
+
+    public static final String METHOD_SIGNATURE = "deleteAll";
+    public static final Pattern METHOD_PATTERN = Pattern.compile('^'+METHOD_SIGNATURE+'$');
+
+    public DeleteAllPersistentMethod(SessionFactory sessionFactory, ClassLoader classLoader) {
+        super(sessionFactory, classLoader, METHOD_PATTERN);
+    }
+
+    protected void writeInstances(Session session, List batch, Map argsMap) {
+        for (Iterator i = batch.iterator(); i.hasNext();) {
+            session.delete(i.next());
+        }
+    }
+
+    protected Object createResult(int written, List rejected) {
+        return new Integer(written);
+    }
+}
@@ -0,0 +1,192 @@
+/*
+ * Copyright 2004-2005 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.codehaus.groovy.grails.orm.hibernate.metaclass;
+
+import groovy.lang.MissingPropertyException;
+import org.codehaus.groovy.grails.commons.DomainClassArtefactHandler;
+import org.codehaus.groovy.grails.commons.GrailsApplication;
+import org.codehaus.groovy.grails.commons.GrailsDomainClass;
+import org.codehaus.groovy.grails.commons.GrailsDomainClassProperty;
+import org.codehaus.groovy.runtime.InvokerHelper;
+import org.hibernate.Criteria;
+import org.hibernate.FlushMode;
+import org.hibernate.Session;
+import org.hibernate.criterion.Restrictions;
+
+import java.io.Serializable;
+import java.util.*;
+
+/**
+ * <p>Replaces the detached instances referenced by the to-one associations of domain instances being saved with the
+ * persistent instances they represent, so that an association can be set to an instance that only has its id set.
+ * This relieves the developer of having to retrieve associated instances before saving.</p>
+ *
+ * <p>The associations of any number of instances are added and then resolved together. The ids are grouped by type
+ * and instances that are already in the session are taken from it; the rest are loaded with one query per type rather
+ * than one query per association. Resolved instances are remembered, so that a resolver used for several saves in the
+ * same session does not load them again, until {@link #clear()} is called.</p>
+ *
+ * @since 1.0.4
+ */
+public class DetachedAssociationResolver {
+
+    // keeps the IN lists within the limits of databases such as Oracle
+    private static final int MAX_IDS_PER_QUERY = 500;
+
+    private GrailsApplication application;
+    private List pending = new ArrayList();
+    private Map idsByType = new HashMap();
+    private Map idPropertiesByType = new HashMap();
+    private Map resolvedByType = new HashMap();
+
+    public DetachedAssociationResolver(GrailsApplication application) {
+        this.application = application;
+    }
+
+    /**
+     * Adds the detached instances referenced by the to-one associations of the given target
+     *
+     * @param domainClass The domain class of the target
+     * @param target The instance being saved
+     * @param session The session the target is being saved with
+     * @return True if the target references detached instances that need to be resolved
+     */
+    public boolean add(GrailsDomainClass domainClass, Object target, Session session) {
+        boolean added = false;
+        GrailsDomainClassProperty[] props = domainClass.getPersistentProperties();
+        for (int i = 0; i < props.length; i++) {
+            GrailsDomainClassProperty prop = props[i];
+            if(!prop.isManyToOne() && !prop.isOneToOne()) continue;
+
+            Object propValue = InvokerHelper.getProperty(target, prop.getName());
+            if(propValue == null || session.contains(propValue)) continue;
+
+            GrailsDomainClass otherSide = (GrailsDomainClass) application.getArtefact(DomainClassArtefactHandler.TYPE,
+                prop.getType().getName());
+            if(otherSide == null) continue;
+
+            String idProperty = otherSide.getIdentifier().getName();
+            Serializable id;
+            try {
+                id = (Serializable) InvokerHelper.getProperty(propValue, idProperty);
+            } catch (MissingPropertyException e) {
+                // property is not accessable
+                continue;
+            }
+            if(id == null) continue;
+
+            Class type = prop.getType();
+            Set ids = (Set) idsByType.get(type);
+            if(ids == null) {
+                ids = new LinkedHashSet();
+                idsByType.put(type, ids);
+                idPropertiesByType.put(type, idProperty);
+            }
+            ids.add(id);
+            pending.add(new PendingAssociation(target, prop.getName(), type, id));
+            added = true;
+        }
+        return added;
+    }
+
+    /**
+     * Loads the instances referenced by the associations added since the last call and sets them on the targets
+     *
+     * @param session The session to load the instances with
+     */
+    public void resolve(Session session) {
+        if(pending.isEmpty()) return;
+
+        for (Iterator i = idsByType.entrySet().iterator(); i.hasNext();) {
+            Map.Entry entry = (Map.Entry) i.next();
+            Class type = (Class) entry.getKey();
+            load(session, type, (String) idPropertiesByType.get(type), (Set) entry.getValue());
+        }
+
+        for (Iterator i = pending.iterator(); i.hasNext();) {
+            PendingAssociation association = (PendingAssociation) i.next();
+            Map resolved = (Map) resolvedByType.get(association.type);
+            InvokerHelper.setProperty(association.target, association.propertyName, resolved.get(association.id));
+        }
+        pending.clear();
+        idsByType.clear();
+    }
+
+    private void load(Session session, Class type, String idProperty, Set ids) {
+        Map resolved = (Map) resolvedByType.get(type);
+        if(resolved == null) {
+            resolved = new HashMap();
+            resolvedByType.put(type, resolved);
+        }
+
+        List missing = new ArrayList();
+        for (Iterator i = ids.iterator(); i.hasNext();) {
+            Object id = i.next();
+            if(resolved.containsKey(id)) continue;
+
+            Object instance = HibernateCacheLookup.getFromSession(session, type, (Serializable) id);
+            if(instance != null) {
+                resolved.put(id, instance);
+            }
+            else {
+                missing.add(id);
+            }
+        }
+
+        if(missing.size() > 1) {
+            for (int from = 0; from < missing.size(); from += MAX_IDS_PER_QUERY) {
+                List chunk = missing.subList(from, Math.min(from + MAX_IDS_PER_QUERY, missing.size()));
+                Criteria criteria = session.createCriteria(type);
+                criteria.add(Restrictions.in(idProperty, chunk));
+                // pending changes to the session must not be flushed by the query
+                criteria.setFlushMode(FlushMode.MANUAL);
+                for (Iterator i = criteria.list().iterator(); i.hasNext();) {
+                    Object instance = i.next();
+                    resolved.put(session.getIdentifier(instance), instance);
+                }
+            }
+        }
+        // single ids, ids that don't exist and ids of a different type to the identifier type are retrieved with
+        // get, which finds the instances the query loaded in the session
+        for (Iterator i = missing.iterator(); i.hasNext();) {
+            Object id = i.next();
+            if(!resolved.containsKey(id)) {
+                resolved.put(id, session.get(type, (Serializable) id));
+            }
+        }
+    }
+
+    /**
+     * Forgets the resolved instances, for example because the session has been cleared
+     */
+    public void clear() {
+        resolvedByType.clear();
+    }
+
+    private static class PendingAssociation {
+        private final Object target;
+        private final String propertyName;
+        private final Class type;
+        private final Object id;
+
+        PendingAssociation(Object target, String propertyName, Class type, Object id) {
+            this.target = target;
+            this.propertyName = propertyName;
+            this.type = type;
+            this.id = id;
+        }
+    }
+}
@@ -75,7 +75,12 @@ public class FindAllByPersistentMethod extends
                     }
                 }
 
-				return c.list();
+				List results = c.list();
+				if(arguments.length > 0 && arguments[0] instanceof Map &&
+						GrailsHibernateUtil.isReadOnly((Map)arguments[0])) {
+					GrailsHibernateUtil.setObjectsToReadOnly(session, results);
+				}
+				return results;
 			}
 		});
 	}
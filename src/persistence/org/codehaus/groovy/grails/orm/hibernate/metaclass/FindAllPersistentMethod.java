@@ -43,6 +43,7 @@ import java.util.regex.Pattern;
  *    DomainClass.findAll( query, params?, max)
  *    DomainClass.findAll( query, params?, max, offset)
  *    DomainClass.findAll( query, params?, [max:10, offset:5])
+ *    DomainClass.findAll( query, params?, [max:10, readOnly:true])
  *
  * <p>
  * Examples in Groovy: <code>
@@ -147,7 +148,8 @@ public class FindAllPersistentMethod
 										+ queryNamedArgs.toString());
 							String stringKey = (String) entry.getKey();
 							// Won't try to bind these parameters since they are processed separately
-							if( GrailsHibernateUtil.ARGUMENT_MAX.equals(stringKey) || GrailsHibernateUtil.ARGUMENT_OFFSET.equals(stringKey) ) continue;
+							if( GrailsHibernateUtil.ARGUMENT_MAX.equals(stringKey) || GrailsHibernateUtil.ARGUMENT_OFFSET.equals(stringKey) ||
+									GrailsHibernateUtil.ARGUMENT_READ_ONLY.equals(stringKey) ) continue;
 							Object value = entry.getValue();
 							if (value instanceof GString) {
 								q.setParameter(stringKey, value.toString());
@@ -166,7 +168,11 @@ public class FindAllPersistentMethod
 					if (offset > 0) {
 						q.setFirstResult(offset);
 					}
-					return q.list();
+					List results = q.list();
+					if (retrieveReadOnly(arguments)) {
+						GrailsHibernateUtil.setObjectsToReadOnly(session, results);
+					}
+					return results;
 
 				}
 
@@ -203,6 +209,15 @@ public class FindAllPersistentMethod
 					return result;
 				}
 				
+				private boolean retrieveReadOnly(Object[] arguments) {
+					for (int i = 1; i < arguments.length && i < 3; i++) {
+						if( arguments[i] instanceof Map && GrailsHibernateUtil.isReadOnly((Map)arguments[i]) ) {
+							return true;
+						}
+					}
+					return false;
+				}
+
 				private int retrieveInt( Object param, String key ) {
 					if( isMapWithValue(param, key) ) {
 						return ((Number)((Map)param).get(key)).intValue();
@@ -234,7 +249,11 @@ public class FindAllPersistentMethod
                         GrailsHibernateUtil.populateArgumentsForCriteria(crit, (Map)arguments[1] );
                     }
 
-                    return crit.list();
+                    List results = crit.list();
+                    if(arguments.length > 1 && arguments[1] instanceof Map && GrailsHibernateUtil.isReadOnly((Map)arguments[1])) {
+                        GrailsHibernateUtil.setObjectsToReadOnly(session, results);
+                    }
+                    return results;
 				}
 
 			});
@@ -245,7 +264,11 @@ public class FindAllPersistentMethod
 				public Object doInHibernate(Session session) throws HibernateException, SQLException {
 					Criteria crit = session.createCriteria(clazz);
                         GrailsHibernateUtil.populateArgumentsForCriteria(crit, (Map)arguments[0] );
-                    return crit.list();
+                    List results = crit.list();
+                    if(GrailsHibernateUtil.isReadOnly((Map)arguments[0])) {
+                        GrailsHibernateUtil.setObjectsToReadOnly(session, results);
+                    }
+                    return results;
 				}
 
 			});
@@ -85,7 +85,12 @@ public class FindByPersistentMethod extends AbstractClausedStaticPersistentMetho
                     }
                 }
                 crit.setMaxResults(1);
-                return crit.uniqueResult();
+                Object result = crit.uniqueResult();
+                if(arguments.length > 0 && arguments[0] instanceof Map &&
+                        GrailsHibernateUtil.isReadOnly((Map)arguments[0])) {
+                    GrailsHibernateUtil.setObjectToReadOnly(session, result);
+                }
+                return result;
 			}
 		});
 	}
@@ -23,9 +23,9 @@ import org.hibernate.*;
 import org.hibernate.criterion.Restrictions;
 import org.springframework.orm.hibernate3.HibernateCallback;
 import org.springframework.beans.SimpleTypeConverter;
+import org.springframework.beans.TypeMismatchException;
 
-import groovy.lang.GroovyObject;
-
+import java.io.Serializable;
 import java.sql.SQLException;
 import java.util.*;
 import java.util.regex.Pattern;
@@ -33,10 +33,15 @@ import java.util.regex.Pattern;
 /**
  * The "getAll" static persistent method for Grails domain classes. This method
  * takes a list of ids and returns the list of instances with provided ids in
- * the same order.
+ * the same order, with null for the ids that don't exist.
  * 
  * eg. Account.getAll(2,4,1) or Account.getAll([2,4,1])
  * 
+ * Instances that are already in the session or in the second-level cache are
+ * taken from there and the remaining ids are queried in chunks of
+ * {@link #setChunkSize(int) chunkSize} ids, which keeps the IN lists within
+ * the limits of the database for large lists of ids.
+ * 
  * When called without params this method returns list of all instances of the
  * class.
  * 
@@ -47,8 +52,9 @@ public class GetAllPersistentMethod
 
 	private static final Pattern	METHOD_PATTERN		= Pattern.compile("^getAll$");
 	public static final String		METHOD_SIGNATURE	= "getAll";
+	public static final int			DEFAULT_CHUNK_SIZE	= 500;
 	private GrailsApplication		application;
-    private SimpleTypeConverter typeConverter = new SimpleTypeConverter();
+    private int chunkSize = DEFAULT_CHUNK_SIZE;
 
     public GetAllPersistentMethod(GrailsApplication application,
 			SessionFactory sessionFactory, ClassLoader classLoader) {
@@ -56,6 +62,16 @@ public class GetAllPersistentMethod
 		this.application = application;
 	}
 
+    /**
+     * Sets the maximum number of ids queried with a single query
+     *
+     * @param chunkSize The number of ids, defaults to {@link #DEFAULT_CHUNK_SIZE}
+     */
+    public void setChunkSize(int chunkSize) {
+        if(chunkSize < 1) throw new IllegalArgumentException("Argument [chunkSize] must be greater than zero");
+        this.chunkSize = chunkSize;
+    }
+
 	protected Object doInvokeInternal(final Class clazz, String methodName, Object[] arguments) {
 
 		// if there are no arguments list all
@@ -63,59 +79,111 @@ public class GetAllPersistentMethod
 			return super.getHibernateTemplate().loadAll(clazz);
 		}
 
-		if (arguments.length == 1 && List.class.isAssignableFrom(arguments[0].getClass())) {
+		if (arguments.length == 1 && arguments[0] instanceof List) {
 			arguments = ((List) arguments[0]).toArray();
 		}
 
-		List result = new ArrayList();
-
         final GrailsDomainClass domainClass = (GrailsDomainClass) this.application.getArtefact(
                 DomainClassArtefactHandler.TYPE, clazz.getName());
 
-		if (domainClass != null) {
-			Class identityType = domainClass.getIdentifier().getType();
-			final List args = new ArrayList();
-
-			// convert arguments to required identifier type
-			for (int i = 0; i < arguments.length; i++) {
-				if (!identityType.isAssignableFrom(arguments[i].getClass())) {
-                    if(arguments[i] instanceof Number && Long.class.equals(identityType)) {
-                        args.add(DefaultGroovyMethods.toLong((Number)arguments[i]));
-                    }
-                    else {
-                        args.add(typeConverter.convertIfNecessary(arguments[i], identityType));
-                    }
-				} else {
-					args.add(arguments[i]);
-				}
-			}
-			
-			result = super.getHibernateTemplate().executeFind(new HibernateCallback() {
-				public Object doInHibernate(Session session) throws HibernateException, SQLException {
-					Criteria c = session.createCriteria(clazz);
-					c.add(Restrictions.in(domainClass.getIdentifier().getName(), args));
-					return c.list();
-				}
-			});
-			
-			// At this stage we have unsorted list of result objects and we want to order it 
-			// corresponding to original ids order
-			
-			Map idMap = new HashMap();
-			for( Iterator it = result.iterator();it.hasNext();) {
-				GroovyObject obj = (GroovyObject) it.next();
-				idMap.put(obj.getProperty(domainClass.getIdentifier().getName()), obj);
-			}
-			
-			result.clear();
-			
-			for( Iterator it = args.iterator(); it.hasNext(); ){
-				Object identifier = it.next();
-				result.add( idMap.get(identifier) );
-			}
+		if (domainClass == null) {
+			return new ArrayList();
+		}
+
+		final Class identityType = domainClass.getIdentifier().getType();
+		final Object[] ids = new Object[arguments.length];
+
+		// convert arguments to required identifier type, ids that can't be converted are missing
+		for (int i = 0; i < arguments.length; i++) {
+			ids[i] = convertToIdentityType(arguments[i], identityType);
 		}
 
-		return result;
+		return super.getHibernateTemplate().executeFind(new HibernateCallback() {
+			public Object doInHibernate(Session session) throws HibernateException, SQLException {
+				return getAll(session, clazz, domainClass.getIdentifier().getName(), ids);
+			}
+		});
 	}
 
+    private Object convertToIdentityType(Object id, Class identityType) {
+        if(id == null || identityType.isInstance(id)) return id;
+
+        if(id instanceof Number && Long.class.equals(identityType)) {
+            return DefaultGroovyMethods.toLong((Number)id);
+        }
+        try {
+            // a converter per conversion, as its default editors hold the value being converted
+            Object converted = new SimpleTypeConverter().convertIfNecessary(id, identityType);
+            return identityType.isInstance(converted) ? converted : null;
+        } catch (TypeMismatchException e) {
+            return null;
+        }
+    }
+
+    private List getAll(Session session, Class clazz, String identifierName, Object[] ids) {
+        Object[] results = new Object[ids.length];
+
+        // the positions of each id in the results are linked in an index array rather than held in a list per id:
+        // positionsById maps an id to its first position and nextPositions[i] is the next position of the id at i
+        Map positionsById = new HashMap();
+        int[] nextPositions = new int[ids.length];
+        int[] lastPositions = new int[ids.length];
+        int[] firstPositions = new int[ids.length];
+        int distinct = 0;
+        for (int i = 0; i < ids.length; i++) {
+            nextPositions[i] = -1;
+            if(ids[i] == null) continue;
+
+            Integer first = (Integer) positionsById.get(ids[i]);
+            if(first == null) {
+                positionsById.put(ids[i], new Integer(i));
+                lastPositions[i] = i;
+                firstPositions[distinct++] = i;
+            }
+            else {
+                int f = first.intValue();
+                nextPositions[lastPositions[f]] = i;
+                lastPositions[f] = i;
+            }
+        }
+
+        List remaining = new ArrayList();
+        for (int i = 0; i < distinct; i++) {
+            int position = firstPositions[i];
+            Serializable id = (Serializable) ids[position];
+
+            Object instance = HibernateCacheLookup.getFromSession(session, clazz, id);
+            if(instance == null && HibernateCacheLookup.isInSecondLevelCache(session, clazz, id)) {
+                instance = session.get(clazz, id);
+            }
+            if(instance != null) {
+                setResult(results, nextPositions, position, instance);
+            }
+            else {
+                remaining.add(id);
+            }
+        }
+
+        for (int from = 0; from < remaining.size(); from += chunkSize) {
+            List chunk = remaining.subList(from, Math.min(from + chunkSize, remaining.size()));
+            Criteria c = session.createCriteria(clazz);
+            c.add(Restrictions.in(identifierName, chunk));
+            for (Iterator i = c.list().iterator(); i.hasNext();) {
+                Object instance = i.next();
+                Integer position = (Integer) positionsById.get(session.getIdentifier(instance));
+                if(position != null) {
+                    setResult(results, nextPositions, position.intValue(), instance);
+                }
+            }
+        }
+
+        return new ArrayList(Arrays.asList(results));
+    }
+
+    private void setResult(Object[] results, int[] nextPositions, int position, Object instance) {
+        for (int i = position; i != -1; i = nextPositions[i]) {
+            results[i] = instance;
+        }
+    }
+
 }
\ No newline at end of file
@@ -0,0 +1,85 @@
+/*
+ * Copyright 2004-2005 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.codehaus.groovy.grails.orm.hibernate.metaclass;
+
+import org.hibernate.Session;
+import org.hibernate.cache.CacheKey;
+import org.hibernate.engine.EntityKey;
+import org.hibernate.engine.SessionFactoryImplementor;
+import org.hibernate.engine.SessionImplementor;
+import org.hibernate.metadata.ClassMetadata;
+import org.hibernate.persister.entity.EntityPersister;
+
+import java.io.Serializable;
+
+/**
+ * Looks persistent instances up in the session and the second-level cache without hitting the database, so that
+ * methods loading instances by id only query for the instances that aren't already available.
+ *
+ * @since 1.0.4
+ */
+class HibernateCacheLookup {
+
+    private HibernateCacheLookup() {
+    }
+
+    /**
+     * Returns the instance with the given id if it is already in the session
+     *
+     * @param session The session
+     * @param type The persistent class
+     * @param id The id
+     * @return The instance or null if it isn't in the session
+     */
+    static Object getFromSession(Session session, Class type, Serializable id) {
+        EntityPersister persister = getPersister(session, type, id);
+        if(persister == null) return null;
+
+        Object instance = ((SessionImplementor) session).getPersistenceContext().getEntity(
+                new EntityKey(id, persister, session.getEntityMode()));
+        return type.isInstance(instance) ? instance : null;
+    }
+
+    /**
+     * Checks whether the second-level cache holds an entry for the instance with the given id, in which case
+     * Session.get assembles the instance from the cache rather than querying for it
+     *
+     * @param session The session
+     * @param type The persistent class
+     * @param id The id
+     * @return True if there is an entry in the cache
+     */
+    static boolean isInSecondLevelCache(Session session, Class type, Serializable id) {
+        EntityPersister persister = getPersister(session, type, id);
+        if(persister == null || !persister.hasCache()) return false;
+
+        SessionFactoryImplementor factory = ((SessionImplementor) session).getFactory();
+        CacheKey key = new CacheKey(id, persister.getIdentifierType(), persister.getRootEntityName(),
+                session.getEntityMode(), factory);
+        return persister.getCache().getCache().get(key) != null;
+    }
+
+    private static EntityPersister getPersister(Session session, Class type, Serializable id) {
+        if(!(session instanceof SessionImplementor)) return null;
+
+        SessionFactoryImplementor factory = ((SessionImplementor) session).getFactory();
+        ClassMetadata metadata = factory.getClassMetadata(type);
+        if(metadata == null) return null;
+
+        EntityPersister persister = factory.getEntityPersister(metadata.getEntityName());
+        return persister.getIdentifierType().getReturnedClass().isInstance(id) ? persister : null;
+    }
+}
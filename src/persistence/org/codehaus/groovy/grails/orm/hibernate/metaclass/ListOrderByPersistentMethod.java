@@ -12,6 +12,7 @@ import org.hibernate.criterion.Order;
 import org.springframework.orm.hibernate3.HibernateCallback;
 
 import java.sql.SQLException;
+import java.util.List;
 import java.util.Locale;
 import java.util.Map;
 import java.util.regex.Matcher;
@@ -69,7 +70,12 @@ public class ListOrderByPersistentMethod extends AbstractStaticPersistentMethod
 				else {
 					crit.addOrder( Order.asc( propertyName ) );
 				}
-				return crit.list();
+				List results = crit.list();
+				if(arguments != null && arguments.length > 0 && arguments[0] instanceof Map &&
+						GrailsHibernateUtil.isReadOnly((Map)arguments[0])) {
+					GrailsHibernateUtil.setObjectsToReadOnly(session, results);
+				}
+				return results;
 			}
 			
 		});
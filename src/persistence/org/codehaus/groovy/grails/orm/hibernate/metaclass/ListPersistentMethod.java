@@ -22,6 +22,8 @@ import org.hibernate.SessionFactory;
 import org.springframework.orm.hibernate3.HibernateCallback;
 
 import java.sql.SQLException;
+import java.util.Collections;
+import java.util.List;
 import java.util.Map;
 import java.util.regex.Pattern;
 
@@ -32,6 +34,8 @@ import java.util.regex.Pattern;
  * eg.
  * Account.list(); // list all
  * Account.list(max:10,offset:50,sort:"holder",order:"desc"); // list up to 10, offset by 50, sorted by holder and in descending order 
+ * Account.list(max:100,readOnly:true); // list up to 100 that are not dirty checked when the session is flushed
+ * Account.list(max:10,sort:"holder",after:"Smith",afterId:42); // list the 10 accounts that follow the account 42 of "Smith", without an offset
  * 
  * @author Graeme Rocher
  *
@@ -61,13 +65,25 @@ public class ListPersistentMethod extends AbstractStaticPersistentMethod {
 						Criteria c =  session
 							.createCriteria(clazz);
 						
-						if(arguments.length > 0) {
-							if(arguments[0] instanceof Map) {
-								Map argMap = (Map)arguments[0];
-								GrailsHibernateUtil.populateArgumentsForCriteria(c,argMap);
-							}
-						}	
-						return c.list();
+						Map argMap = arguments[0] instanceof Map ? (Map)arguments[0] : Collections.EMPTY_MAP;
+						boolean reversed = false;
+						if(GrailsHibernateUtil.isKeysetPagination(argMap)) {
+							reversed = GrailsHibernateUtil.populateKeysetArgumentsForCriteria(c,
+									session.getSessionFactory().getClassMetadata(clazz), argMap);
+						}
+						else {
+							GrailsHibernateUtil.populateArgumentsForCriteria(c,argMap);
+							GrailsHibernateUtil.populateIdentifierOrderForCriteria(c,
+									session.getSessionFactory().getClassMetadata(clazz), argMap);
+						}
+						List results = c.list();
+						if(reversed) {
+							Collections.reverse(results);
+						}
+						if(GrailsHibernateUtil.isReadOnly(argMap)) {
+							GrailsHibernateUtil.setObjectsToReadOnly(session, results);
+						}
+						return results;
 					}
 					
 				}
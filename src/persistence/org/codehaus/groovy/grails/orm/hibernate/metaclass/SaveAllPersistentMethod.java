@@ -0,0 +1,152 @@
+/*
+ * Copyright 2004-2005 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.codehaus.groovy.grails.orm.hibernate.metaclass;
+
+import groovy.lang.GroovySystem;
+import org.codehaus.groovy.grails.commons.DomainClassArtefactHandler;
+import org.codehaus.groovy.grails.commons.GrailsApplication;
+import org.codehaus.groovy.grails.commons.GrailsClassUtils;
+import org.codehaus.groovy.grails.commons.GrailsDomainClass;
+import org.codehaus.groovy.grails.orm.hibernate.validation.UniqueConstraint;
+import org.codehaus.groovy.grails.validation.CascadingValidator;
+import org.hibernate.Session;
+import org.hibernate.SessionFactory;
+import org.springframework.validation.BeanPropertyBindingResult;
+import org.springframework.validation.Errors;
+import org.springframework.validation.Validator;
+
+import java.util.*;
+import java.util.regex.Pattern;
+
+/**
+ * The "saveAll" static persistent method for Grails domain classes. Saves a collection of instances in batches,
+ * flushing and clearing the session after each batch. Each instance is validated as by save() and instances that
+ * fail validation are skipped rather than aborting the load; they are returned with their errors. The unique
+ * constraints are checked for a whole batch at once, so an instance that duplicates an earlier instance of the
+ * collection is rejected as well.
+ *
+ * eg. def failed = Book.saveAll(books) or Book.saveAll(books, [batchSize:100, validate:false])
+ *
+ * Besides batchSize and clear the validate, deepValidate and insert arguments of save() are supported.
+ *
+ * @since 1.0.4
+ */
+public class SaveAllPersistentMethod extends AbstractBatchPersistentMethod {
+
+    public static final String METHOD_SIGNATURE = "saveAll";
+    public static final Pattern METHOD_PATTERN = Pattern.compile('^'+METHOD_SIGNATURE+'$');
+
+    private static final String ARGUMENT_VALIDATE = "validate";
+    private static final String ARGUMENT_DEEP_VALIDATE = "deepValidate";
+    private static final String ARGUMENT_INSERT = "insert";
+
+    private GrailsApplication application;
+
+    public SaveAllPersistentMethod(SessionFactory sessionFactory, ClassLoader classLoader, GrailsApplication application) {
+        super(sessionFactory, classLoader, METHOD_PATTERN);
+        if(application == null)
+            throw new IllegalArgumentException("Constructor argument 'application' cannot be null");
+
+        this.application = application;
+    }
+
+    protected List acceptInstances(Session session, List candidates, Map argsMap, List rejected) {
+        if(!getBooleanArgument(ARGUMENT_VALIDATE, argsMap)) {
+            return super.acceptInstances(session, candidates, argsMap, rejected);
+        }
+        // the unique constraints of the whole batch are checked together, with a query per constrained property
+        Set checked = new HashSet();
+        for (Iterator i = candidates.iterator(); i.hasNext();) {
+            GrailsDomainClass domainClass = getDomainClass(i.next());
+            if(domainClass != null && checked.add(domainClass)) {
+                UniqueConstraint.checkBatch(domainClass, candidates);
+            }
+        }
+        try {
+            return super.acceptInstances(session, candidates, argsMap, rejected);
+        }
+        finally {
+            UniqueConstraint.clearBatch();
+        }
+    }
+
+    protected boolean acceptInstance(Session session, Object instance, Map argsMap) {
+        GrailsDomainClass domainClass = getDomainClass(instance);
+        if(domainClass != null && getBooleanArgument(ARGUMENT_VALIDATE, argsMap) && !validate(domainClass, instance, argsMap)) {
+            // the instance may already be in the session, in which case it must not be flushed
+            if(session.contains(instance)) {
+                session.evict(instance);
+            }
+            return false;
+        }
+        return true;
+    }
+
+    protected void writeInstances(Session session, List batch, Map argsMap) {
+        // the associations of the whole batch are retrieved together, with a query per associated type
+        DetachedAssociationResolver resolver = new DetachedAssociationResolver(application);
+        for (Iterator i = batch.iterator(); i.hasNext();) {
+            Object instance = i.next();
+            GrailsDomainClass domainClass = getDomainClass(instance);
+            if(domainClass != null) {
+                resolver.add(domainClass, instance, session);
+            }
+        }
+        resolver.resolve(session);
+
+        boolean insert = argsMap.containsKey(ARGUMENT_INSERT) && GrailsClassUtils.getBooleanFromMap(ARGUMENT_INSERT, argsMap);
+        for (Iterator i = batch.iterator(); i.hasNext();) {
+            Object instance = i.next();
+            if(insert) {
+                session.save(instance);
+            }
+            else {
+                session.saveOrUpdate(instance);
+            }
+        }
+    }
+
+    private GrailsDomainClass getDomainClass(Object instance) {
+        return (GrailsDomainClass) application.getArtefact(DomainClassArtefactHandler.TYPE, instance.getClass().getName());
+    }
+
+    private boolean validate(GrailsDomainClass domainClass, Object instance, Map argsMap) {
+        Validator validator = domainClass.getValidator();
+        Errors errors = new BeanPropertyBindingResult(instance, instance.getClass().getName());
+        GroovySystem.getMetaClassRegistry().getMetaClass(instance.getClass()).setProperty(instance, DomainClassMethods.ERRORS_PROPERTY, errors);
+        if(validator == null) return true;
+
+        boolean deepValidate = getBooleanArgument(ARGUMENT_DEEP_VALIDATE, argsMap);
+        if(deepValidate && (validator instanceof CascadingValidator)) {
+            ((CascadingValidator)validator).validate(instance, errors, deepValidate);
+        }
+        else {
+            validator.validate(instance, errors);
+        }
+        return !errors.hasErrors();
+    }
+
+    private boolean getBooleanArgument(String name, Map argsMap) {
+        return !argsMap.containsKey(name) || GrailsClassUtils.getBooleanFromMap(name, argsMap);
+    }
+
+    /**
+     * @return The instances that failed validation and were not saved
+     */
+    protected Object createResult(int written, List rejected) {
+        return rejected;
+    }
+}
@@ -16,23 +16,29 @@ package org.codehaus.groovy.grails.orm.hibernate.validation;
 
 import groovy.lang.GString;
 import org.codehaus.groovy.grails.commons.GrailsClassUtils;
+import org.codehaus.groovy.grails.commons.GrailsDomainClass;
+import org.codehaus.groovy.grails.validation.ConstrainedProperty;
+import org.codehaus.groovy.grails.validation.Constraint;
 import org.codehaus.groovy.runtime.InvokerHelper;
 import org.hibernate.Criteria;
 import org.hibernate.FlushMode;
 import org.hibernate.HibernateException;
 import org.hibernate.Session;
+import org.hibernate.criterion.ProjectionList;
+import org.hibernate.criterion.Projections;
 import org.hibernate.criterion.Restrictions;
 import org.springframework.orm.hibernate3.HibernateCallback;
 import org.springframework.orm.hibernate3.HibernateTemplate;
 import org.springframework.validation.Errors;
 
-import java.util.ArrayList;
-import java.util.Iterator;
-import java.util.List;
+import java.math.BigDecimal;
+import java.util.*;
 
 /**
  * A constraint that validates the uniqueness of a property (will query the 
- * database during validation process).
+ * database during validation process). The query only checks for the existence of another
+ * instance with the same values, and {@link #checkBatch(GrailsDomainClass, Collection)} checks
+ * a whole batch of instances with one query per constrained property.
  *
  * @author Graeme Rocher
  * @author Sergey Nebolsin
@@ -49,6 +55,11 @@ public class UniqueConstraint extends AbstractPersistentConstraint {
     public static final String UNIQUE_CONSTRAINT = "unique";
     
 
+    // keeps the IN lists of batch checks within the limits of databases such as Oracle
+    private static final int MAX_VALUES_PER_QUERY = 500;
+    // the results of the batch checks of the current thread, by constraint
+    private static final ThreadLocal BATCH_RESULTS = new ThreadLocal();
+
     private boolean unique;
     private List uniquenessGroup = new ArrayList();
 
@@ -113,50 +124,277 @@ public class UniqueConstraint extends AbstractPersistentConstraint {
     protected void processValidate(final Object target, final Object propertyValue, Errors errors) {
 
         if(unique) {
-        	final Object id = InvokerHelper.invokeMethod(target, "ident",null);
-            HibernateTemplate hibernateTemplate = getHibernateTemplate();
-            if(hibernateTemplate == null) throw new IllegalStateException("Unable use [unique] constraint, no Hibernate SessionFactory found!");
-            List results = hibernateTemplate.executeFind( new HibernateCallback() {
-                public Object doInHibernate(Session session) throws HibernateException {
-                    session.setFlushMode(FlushMode.MANUAL);
-
-                    try {
-                    	Criteria criteria = session.createCriteria( constraintOwningClass )
-                    		.add( Restrictions.eq( constraintPropertyName, propertyValue ) );
-                    	if( uniquenessGroup != null ) {
-                    		for( Iterator it = uniquenessGroup.iterator(); it.hasNext(); ) {
-                    			String propertyName = (String) it.next();
-                    			criteria.add(Restrictions.eq( propertyName, 
-                    					GrailsClassUtils.getPropertyOrStaticPropertyOrFieldValue(target, propertyName)));
-                    		}
-                    	}
-                        return criteria.list();
-                    } finally {
-                        session.setFlushMode(FlushMode.AUTO);
+            Boolean batchResult = getBatchResult(target);
+            boolean reject;
+            if(batchResult != null) {
+                reject = batchResult.booleanValue();
+            }
+            else {
+                final Object id = InvokerHelper.invokeMethod(target, "ident",null);
+                HibernateTemplate hibernateTemplate = getHibernateTemplate();
+                if(hibernateTemplate == null) throw new IllegalStateException("Unable use [unique] constraint, no Hibernate SessionFactory found!");
+                Object existingId = hibernateTemplate.execute( new HibernateCallback() {
+                    public Object doInHibernate(Session session) throws HibernateException {
+                        // only the existence of another instance matters, so the id of at most one is retrieved
+                        Criteria criteria = session.createCriteria( constraintOwningClass )
+                            .setProjection( Projections.id() )
+                            .add( Restrictions.eq( constraintPropertyName, propertyValue ) );
+                        for( Iterator it = uniquenessGroup.iterator(); it.hasNext(); ) {
+                            String propertyName = (String) it.next();
+                            criteria.add(Restrictions.eq( propertyName,
+                                    GrailsClassUtils.getPropertyOrStaticPropertyOrFieldValue(target, propertyName)));
+                        }
+                        if(id != null) {
+                            criteria.add(Restrictions.not(Restrictions.idEq(id)));
+                        }
+                        criteria.setMaxResults(1);
+                        // pending changes to the session must not be flushed by validation
+                        criteria.setFlushMode(FlushMode.MANUAL);
+                        return criteria.uniqueResult();
                     }
+                });
+                reject = existingId != null;
+            }
+
+            if(reject) {
+                Object[] args = new Object[] { constraintPropertyName, constraintOwningClass, propertyValue };
+                super.rejectValue(target, errors, UNIQUE_CONSTRAINT, args, getDefaultMessage(DEFAULT_NOT_UNIQUE_MESSAGE_CODE));
+            }
+        }
+    }
+
+    /**
+     * <p>Checks the unique constraints of the given domain class for a batch of instances that are about to be
+     * validated in the current thread, with one query per constrained property rather than one query per property of
+     * every instance. Validating one of the instances then uses the result of the batch check until
+     * {@link #clearBatch()} is called, which must be done in a finally block.</p>
+     *
+     * <p>Besides instances already in the database, an instance is not unique if an instance that comes earlier in the
+     * batch holds the same values, unless the later instance is the one the values are stored with. Constraints on
+     * associations, or grouped with associations, are left to the query made when validating each instance.</p>
+     *
+     * @param domainClass The domain class of the instances
+     * @param instances The instances
+     */
+    public static void checkBatch(GrailsDomainClass domainClass, Collection instances) {
+        Map results = (Map) BATCH_RESULTS.get();
+        if(results == null) {
+            results = new HashMap();
+            BATCH_RESULTS.set(results);
+        }
+
+        for (Iterator i = domainClass.getConstrainedProperties().values().iterator(); i.hasNext();) {
+            ConstrainedProperty constrainedProperty = (ConstrainedProperty) i.next();
+            Constraint constraint = constrainedProperty.getAppliedConstraint(UNIQUE_CONSTRAINT);
+            if(constraint instanceof UniqueConstraint) {
+                UniqueConstraint uniqueConstraint = (UniqueConstraint) constraint;
+                if(uniqueConstraint.isUnique() && uniqueConstraint.supportsBatch(domainClass)) {
+                    results.put(uniqueConstraint, uniqueConstraint.checkInstances(instances));
                 }
-            });
-
-            if(results.size() > 0) {
-                boolean reject = false;
-                if(id != null) {
-                    Object existing = results.get(0);
-                    Object existingId = InvokerHelper.invokeMethod(existing, "ident", null);
-                    if(!id.equals(existingId)) {
-                        reject = true;
+            }
+        }
+    }
+
+    /**
+     * Discards the results of {@link #checkBatch(GrailsDomainClass, Collection)} for the current thread
+     */
+    public static void clearBatch() {
+        BATCH_RESULTS.set(null);
+    }
+
+    private Boolean getBatchResult(Object target) {
+        Map results = (Map) BATCH_RESULTS.get();
+        if(results == null) return null;
+
+        Map notUnique = (Map) results.get(this);
+        return notUnique != null ? (Boolean) notUnique.get(target) : null;
+    }
+
+    private static Object getKeyValue(Object instance, String propertyName) {
+        return normalizeKeyValue(GrailsClassUtils.getPropertyOrStaticPropertyOrFieldValue(instance, propertyName));
+    }
+
+    /**
+     * Converts a value of an instance, or one returned by the query, to the form the two are compared in. Hibernate
+     * returns a java.sql.Timestamp for a java.util.Date property, which is not equal to the Date it was stored from.
+     */
+    private static Object normalizeKeyValue(Object value) {
+        if(value instanceof GString) return value.toString();
+        if(value instanceof Date) return new Long(((Date) value).getTime());
+        if(value instanceof Calendar) return new Long(((Calendar) value).getTimeInMillis());
+        return value;
+    }
+
+    private boolean supportsBatch(GrailsDomainClass domainClass) {
+        if(!isSimplePersistentProperty(domainClass, constraintPropertyName)) return false;
+        for( Iterator it = uniquenessGroup.iterator(); it.hasNext(); ) {
+            if(!isSimplePersistentProperty(domainClass, (String) it.next())) return false;
+        }
+        return true;
+    }
+
+    private static boolean isSimplePersistentProperty(GrailsDomainClass domainClass, String propertyName) {
+        return domainClass.hasPersistentProperty(propertyName) &&
+                !domainClass.getPropertyByName(propertyName).isAssociation();
+    }
+
+    /**
+     * Checks the uniqueness of the values of the instances, returning a map of each instance to whether it is
+     * not unique
+     */
+    private Map checkInstances(Collection instances) {
+        HibernateTemplate hibernateTemplate = getHibernateTemplate();
+        if(hibernateTemplate == null) throw new IllegalStateException("Unable use [unique] constraint, no Hibernate SessionFactory found!");
+
+        Map notUnique = new IdentityHashMap();
+        // the instances holding each combination of values, in the order of the batch
+        final Map instancesByKey = new LinkedHashMap();
+        final List values = new ArrayList();
+        for (Iterator i = instances.iterator(); i.hasNext();) {
+            Object instance = i.next();
+            if(instance == null || !constraintOwningClass.isInstance(instance)) continue;
+
+            Object value = GrailsClassUtils.getPropertyOrStaticPropertyOrFieldValue(instance, constraintPropertyName);
+            notUnique.put(instance, Boolean.FALSE);
+            // a null value never matches an existing instance
+            if(value == null) continue;
+
+            List key = new ArrayList(uniquenessGroup.size() + 1);
+            key.add(normalizeKeyValue(value));
+            for( Iterator it = uniquenessGroup.iterator(); it.hasNext(); ) {
+                key.add(getKeyValue(instance, (String) it.next()));
+            }
+            // nor does a null value of the group, as the query made for a single instance compares it with = null
+            if(key.contains(null)) continue;
+            List sameKey = (List) instancesByKey.get(key);
+            if(sameKey == null) {
+                sameKey = new ArrayList();
+                instancesByKey.put(key, sameKey);
+                values.add(value);
+            }
+            sameKey.add(instance);
+        }
+        if(values.isEmpty()) return notUnique;
+
+        // the ids of the instances already holding each combination of values
+        final Map existingIdsByKey = new HashMap();
+        // the combinations of values that rows matched by the database could not be told apart from
+        final Set undecidedKeys = new HashSet();
+        final boolean[] allUndecided = new boolean[1];
+        hibernateTemplate.execute( new HibernateCallback() {
+            public Object doInHibernate(Session session) throws HibernateException {
+                for (int from = 0; from < values.size(); from += MAX_VALUES_PER_QUERY) {
+                    ProjectionList projections = Projections.projectionList()
+                        .add( Projections.id() )
+                        .add( Projections.property( constraintPropertyName ) );
+                    for( Iterator it = uniquenessGroup.iterator(); it.hasNext(); ) {
+                        projections.add( Projections.property( (String) it.next() ) );
+                    }
+                    Criteria criteria = session.createCriteria( constraintOwningClass )
+                        .setProjection( projections )
+                        .add( Restrictions.in( constraintPropertyName,
+                                values.subList(from, Math.min(from + MAX_VALUES_PER_QUERY, values.size())) ) );
+                    // pending changes to the session must not be flushed by validation
+                    criteria.setFlushMode(FlushMode.MANUAL);
+
+                    for (Iterator i = criteria.list().iterator(); i.hasNext();) {
+                        Object[] row = (Object[]) i.next();
+                        List key = new ArrayList(row.length - 1);
+                        for (int j = 1; j < row.length; j++) {
+                            key.add(normalizeKeyValue(row[j]));
+                        }
+                        if(key.contains(null)) continue;
+                        if(!instancesByKey.containsKey(key)) {
+                            // the database may compare values differently, for example ignoring case, padding or
+                            // the scale of decimals, so the instances the row may match are checked by their own query
+                            markUndecided(key, instancesByKey.keySet(), undecidedKeys, allUndecided);
+                            continue;
+                        }
+
+                        List ids = (List) existingIdsByKey.get(key);
+                        if(ids == null) {
+                            ids = new ArrayList();
+                            existingIdsByKey.put(key, ids);
+                        }
+                        ids.add(row[0]);
                     }
                 }
-                else {
-                    reject = true;
+                return null;
+            }
+        });
+
+        for (Iterator i = instancesByKey.entrySet().iterator(); i.hasNext();) {
+            Map.Entry entry = (Map.Entry) i.next();
+            List sameKey = (List) entry.getValue();
+            if(allUndecided[0] || undecidedKeys.contains(entry.getKey())) {
+                for (Iterator j = sameKey.iterator(); j.hasNext();) {
+                    notUnique.remove(j.next());
                 }
-                if(reject) {
-                    Object[] args = new Object[] { constraintPropertyName, constraintOwningClass, propertyValue };
-                    super.rejectValue(target, errors, UNIQUE_CONSTRAINT, args, getDefaultMessage(DEFAULT_NOT_UNIQUE_MESSAGE_CODE));
+                continue;
+            }
+            List existingIds = (List) existingIdsByKey.get(entry.getKey());
+            if(existingIds == null) existingIds = Collections.EMPTY_LIST;
+
+            // the values belong to the instance they are stored with, otherwise to the first instance of the batch
+            Object owner = sameKey.get(0);
+            for (Iterator j = sameKey.iterator(); j.hasNext();) {
+                Object instance = j.next();
+                Object id = InvokerHelper.invokeMethod(instance, "ident", null);
+                if(id != null && existingIds.contains(id)) {
+                    owner = instance;
+                    break;
                 }
             }
+            for (Iterator j = sameKey.iterator(); j.hasNext();) {
+                Object instance = j.next();
+                Object id = InvokerHelper.invokeMethod(instance, "ident", null);
+                boolean existsElsewhere = false;
+                for (Iterator k = existingIds.iterator(); k.hasNext() && !existsElsewhere;) {
+                    existsElsewhere = !k.next().equals(id);
+                }
+                notUnique.put(instance, Boolean.valueOf(instance != owner || existsElsewhere));
+            }
         }
+        return notUnique;
     }
-    
+
+    /**
+     * Marks the combinations of values of the batch that a row which matched none of them may belong to, comparing
+     * the values as loosely as a database may: all of them if the value of the constrained property of the row matches
+     * none of the batch that way
+     */
+    private static void markUndecided(List rowKey, Set keys, Set undecidedKeys, boolean[] allUndecided) {
+        boolean valueMatched = false;
+        for (Iterator i = keys.iterator(); i.hasNext();) {
+            List key = (List) i.next();
+            if(!looselyEquals(key.get(0), rowKey.get(0))) continue;
+
+            valueMatched = true;
+            boolean groupMatched = true;
+            for (int j = 1; j < key.size() && groupMatched; j++) {
+                groupMatched = looselyEquals(key.get(j), rowKey.get(j));
+            }
+            if(groupMatched) undecidedKeys.add(key);
+        }
+        if(!valueMatched) allUndecided[0] = true;
+    }
+
+    private static boolean looselyEquals(Object value, Object other) {
+        if(value == null || other == null) return value == other;
+        if(value instanceof String && other instanceof String) {
+            return ((String) value).trim().equalsIgnoreCase(((String) other).trim());
+        }
+        if(value instanceof Number && other instanceof Number) {
+            try {
+                return new BigDecimal(value.toString()).compareTo(new BigDecimal(other.toString())) == 0;
+            } catch (NumberFormatException e) {
+                // NaN or infinity
+                return value.equals(other);
+            }
+        }
+        return value.equals(other);
+    }
+
     public boolean supports(Class type) {
    		return true;
     }
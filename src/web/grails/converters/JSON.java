@@ -15,9 +15,9 @@
 package grails.converters;
 
 import grails.util.GrailsWebUtil;
+import groovy.lang.Closure;
 import groovy.lang.GString;
 import groovy.lang.GroovyObject;
-import org.apache.commons.io.IOUtils;
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
 import org.codehaus.groovy.grails.commons.ConfigurationHolder;
@@ -27,29 +27,29 @@ import org.codehaus.groovy.grails.commons.GrailsDomainClassProperty;
 import org.codehaus.groovy.grails.web.converters.AbstractConverter;
 import org.codehaus.groovy.grails.web.converters.Converter;
 import org.codehaus.groovy.grails.web.converters.ConverterUtil;
+import org.codehaus.groovy.grails.web.converters.MarshallerRegistry;
 import org.codehaus.groovy.grails.web.converters.exceptions.ConverterException;
 import org.codehaus.groovy.grails.web.json.*;
+import org.hibernate.ScrollableResults;
+import org.hibernate.Session;
 import org.springframework.beans.BeanUtils;
-import org.springframework.beans.BeanWrapper;
-import org.springframework.beans.BeanWrapperImpl;
 
 import javax.servlet.http.HttpServletRequest;
 import javax.servlet.http.HttpServletResponse;
-import java.beans.BeanInfo;
-import java.beans.Introspector;
-import java.beans.PropertyDescriptor;
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
 import java.io.Writer;
 import java.lang.reflect.Array;
-import java.lang.reflect.Field;
 import java.lang.reflect.Method;
-import java.lang.reflect.Modifier;
 import java.net.URL;
 import java.util.*;
 
 /**
- * A converter that converts domain classes, Maps, Lists, Arrays, POJOs and POGOs to JSON
+ * A converter that converts domain classes, Maps, Lists, Arrays, POJOs and POGOs to JSON. A target that is a
+ * Hibernate ScrollableResults, an Iterator or a producer Closure is streamed as an array, rendering each element
+ * straight to the output without holding the elements in memory.
  *
  * @author Siegfried Puchbauer
  */
@@ -61,11 +61,21 @@ public class JSON extends AbstractConverter implements Converter {
 		private String encoding;
 		
     private JSONWriter writer;
+    private Writer out;
 
     private boolean renderDomainClassRelations = false;
+    private int flushInterval = DEFAULT_FLUSH_INTERVAL;
+    private boolean evict = false;
+    private Session session;
+    private int streamedElements;
     private static final String CACHED_JSON = "org.codehaus.groovy.grails.CACHED_JSON_REQUEST_CONTENT";
     private static final String DEFAULT_ENCODING = "utf-8";
 
+    /**
+     * The number of streamed elements after which the output is flushed by default
+     */
+    public static final int DEFAULT_FLUSH_INTERVAL = 100;
+
     /**
      * Returns true if the JSON Converter is configured to convert referenced Domain Class instances as they are
      * or just their id's (false)
@@ -85,6 +95,40 @@ public class JSON extends AbstractConverter implements Converter {
         return this;
     }
 
+    /**
+     * Sets the number of elements of a streamed target (ScrollableResults, an Iterator or a producer Closure) after
+     * which the output is flushed, so that the client receives the array as it is rendered
+     *
+     * @param flushInterval The number of elements, or 0 to only flush at the end
+     * @return the JSON instance for chaining
+     */
+    public JSON setFlushInterval(int flushInterval) {
+        this.flushInterval = flushInterval;
+        return this;
+    }
+
+    /**
+     * Sets whether each element of a streamed target is evicted from the Hibernate session once it has been rendered,
+     * so that the session doesn't grow with the number of elements. The session is the one given to
+     * {@link #setSession(Session)}, or else the one bound to the current request.
+     *
+     * @param evict true to evict the elements
+     * @return the JSON instance for chaining
+     */
+    public JSON setEvict(boolean evict) {
+        this.evict = evict;
+        return this;
+    }
+
+    /**
+     * @param session The session to evict streamed elements from
+     * @return the JSON instance for chaining
+     */
+    public JSON setSession(Session session) {
+        this.session = session;
+        return this;
+    }
+
     /**
      * Default Constructor for a JSON Converter
      */
@@ -117,9 +161,19 @@ public class JSON extends AbstractConverter implements Converter {
      *
      */
     public void render(Writer out) throws ConverterException {
+        this.out = out;
         this.writer = new JSONWriter(out);
         try {
-            value(this.target);
+            // only the target itself is streamed, nested values are rendered as they are
+            if (target instanceof ScrollableResults) {
+                scrollableResults((ScrollableResults) target);
+            } else if (target instanceof Iterator) {
+                iterator((Iterator) target);
+            } else if (target instanceof Closure) {
+                producer((Closure) target);
+            } else {
+                value(this.target);
+            }
         } finally {
             try {
                 out.flush();
@@ -153,8 +207,7 @@ public class JSON extends AbstractConverter implements Converter {
      * @return The primary identifier of the specified domain object
      */
     protected Object extractIdValue(Object domainObject, GrailsDomainClassProperty idProperty) {
-        BeanWrapper beanWrapper = new BeanWrapperImpl(domainObject);
-        return beanWrapper.getPropertyValue(idProperty.getName());
+        return MarshallerRegistry.getPropertyAccessor(domainObject.getClass(), idProperty.getName()).getValue(domainObject);
     }
 
     /**
@@ -166,25 +219,9 @@ public class JSON extends AbstractConverter implements Converter {
     protected void bean(Object o) throws ConverterException {
         try {
             writer.object();
-            BeanInfo info = Introspector.getBeanInfo(o.getClass());
-            PropertyDescriptor[] properties = info.getPropertyDescriptors();
+            MarshallerRegistry.PropertyAccessor[] properties = MarshallerRegistry.getBeanProperties(o.getClass());
             for (int i = 0; i < properties.length; i++) {
-                PropertyDescriptor property = properties[i];
-                String name = property.getName();
-                Method readMethod = property.getReadMethod();
-                Class propType = property.getPropertyType();
-                if (readMethod != null && !(o instanceof GroovyObject && name.equals("metaClass"))) {
-                    Object value = readMethod.invoke(o, (Object[]) null);
-                    property(name, value);
-                }
-            }
-            Field[] fields = o.getClass().getDeclaredFields();
-            for (int i = 0; i < fields.length; i++) {
-                Field field = fields[i];
-                int modifiers = field.getModifiers();
-                if (Modifier.isPublic(modifiers) && !(Modifier.isStatic(modifiers) || Modifier.isTransient(modifiers))) {
-                    property(field.getName(), field.get(o));
-                }
+                property(properties[i].getName(), properties[i].getValue(o));
             }
             writer.endObject();
         } catch (ConverterException ce) {
@@ -202,22 +239,24 @@ public class JSON extends AbstractConverter implements Converter {
      */
     protected void domain(Object o) throws ConverterException {
         try {
-            BeanWrapper beanWrapper = createBeanWrapper(o);
             GrailsDomainClass domainClass = ConverterUtil.getDomainClass(o.getClass().getName());
             if(domainClass != null) {
+                // the accessors of the domain class are resolved once and reused for all its instances
+                MarshallerRegistry.DomainClassProperties domainProperties = MarshallerRegistry.getDomainClassProperties(domainClass);
 
                 writer.object();
-                GrailsDomainClassProperty id = domainClass.getIdentifier();
-                property(id.getName(), beanWrapper.getPropertyValue(id.getName()));
+                MarshallerRegistry.PropertyAccessor id = domainProperties.getIdentifier();
+                property(id.getName(), id.getValue(o));
                 property("class", domainClass.getName());
-                GrailsDomainClassProperty[] properties = domainClass.getPersistentProperties();
+                GrailsDomainClassProperty[] properties = domainProperties.getProperties();
+                MarshallerRegistry.PropertyAccessor[] accessors = domainProperties.getAccessors();
                 for (int i = 0; i < properties.length; i++) {
                     GrailsDomainClassProperty prop = properties[i];
                     if (!prop.isAssociation() || isRenderDomainClassRelations()) {
-                        property(prop.getName(), beanWrapper.getPropertyValue(prop.getName()));
+                        property(prop.getName(), accessors[i].getValue(o));
                     } else {
                         writer.key(prop.getName());
-                        Object refValue = beanWrapper.getPropertyValue(prop.getName());
+                        Object refValue = accessors[i].getValue(o);
                         if (refValue == null) {
                             Class propClass = prop.getType();
                             if (Collection.class.isAssignableFrom(propClass)) {
@@ -342,6 +381,105 @@ public class JSON extends AbstractConverter implements Converter {
         }
     }
 
+    /**
+     * Renders the rows of ScrollableResults as a JSON array as they are scrolled through. A row with a single column
+     * is rendered as its value, other rows as arrays.
+     *
+     * @param results The results, positioned before the first row
+     * @throws ConverterException
+     */
+    protected void scrollableResults(ScrollableResults results) throws ConverterException {
+        try {
+            writer.array();
+            while (results.next()) {
+                Object[] row = results.get();
+                streamedElement(row.length == 1 ? row[0] : row);
+            }
+            writer.endArray();
+        } catch (JSONException e) {
+            throw new ConverterException(e);
+        }
+    }
+
+    /**
+     * Renders the elements returned by an Iterator as a JSON array as they are returned
+     *
+     * @param iterator The Iterator
+     * @throws ConverterException
+     */
+    protected void iterator(Iterator iterator) throws ConverterException {
+        try {
+            writer.array();
+            while (iterator.hasNext()) {
+                streamedElement(iterator.next());
+            }
+            writer.endArray();
+        } catch (JSONException e) {
+            throw new ConverterException(e);
+        }
+    }
+
+    /**
+     * Renders the elements produced by a Closure as a JSON array. The Closure is called with a Closure that renders
+     * the element it is called with.
+     *
+     * eg. new JSON({ emit -> Book.withScroll { results -> while(results.next()) emit(results.get(0)) } })
+     *
+     * @param producer The Closure producing the elements
+     * @throws ConverterException
+     */
+    protected void producer(Closure producer) throws ConverterException {
+        try {
+            writer.array();
+            producer.call(new ElementWriter(this));
+            writer.endArray();
+        } catch (JSONException e) {
+            throw new ConverterException(e);
+        }
+    }
+
+    private void streamedElement(Object element) throws ConverterException {
+        value(element);
+        if (evict) {
+            ConverterUtil.evict(getSession(), element);
+        }
+        if (flushInterval > 0 && ++streamedElements % flushInterval == 0 && out != null) {
+            try {
+                out.flush();
+            } catch (IOException e) {
+                throw new ConverterException(e);
+            }
+        }
+    }
+
+    private Session getSession() {
+        if (session == null) {
+            session = ConverterUtil.getCurrentSession();
+        }
+        return session;
+    }
+
+    /**
+     * The Closure a producer Closure is called with, which renders each element it is called with
+     */
+    public static class ElementWriter extends Closure {
+        private final JSON converter;
+
+        ElementWriter(JSON converter) {
+            super(converter);
+            this.converter = converter;
+        }
+
+        public Object doCall(Object element) {
+            converter.streamedElement(element);
+            return null;
+        }
+
+        public Object call(Object[] args) {
+            return doCall(args.length == 1 ? args[0] : args);
+        }
+    }
+
     private void enumeration(Object en) throws JSONException {
         writer.object();
         Class enumClass = en.getClass();
@@ -404,7 +542,12 @@ public class JSON extends AbstractConverter implements Converter {
      */
     public static Object parse(InputStream is, String encoding) throws ConverterException {
         try {
-            return parse(IOUtils.toString(is, encoding));
+            // tokenized as it is read rather than read into a String first
+            return new JSONStreamTokener(new InputStreamReader(is, encoding)).nextValue();
+        } catch (JSONException e) {
+            throw new ConverterException("Error parsing JSON", e);
+        } catch (JSONStreamTokener.JSONStreamException e) {
+            throw new ConverterException("Error parsing JSON", e.getCause());
         } catch (IOException e) {
             throw new ConverterException("Error parsing JSON", e);
         }
@@ -432,6 +575,64 @@ public class JSON extends AbstractConverter implements Converter {
         }
     }
 
+    /**
+     * Parses the JSON array in the body of the given request element by element, calling the closure with each element
+     * as it is read, so that the memory used doesn't grow with the number of elements
+     *
+     * eg. JSON.parseEach(request) { element -> new Book(element).save() }
+     *
+     * @param request the JSON Request
+     * @param closure the closure to call with each element, a JSONObject, JSONArray or simple value
+     * @return the number of elements
+     * @throws ConverterException when the JSON content is not a valid array
+     */
+    public static int parseEach(HttpServletRequest request, Closure closure) throws ConverterException {
+        Object json = request.getAttribute(CACHED_JSON);
+        if(json != null) {
+            // the body has already been parsed by parse(request)
+            if(!(json instanceof JSONArray))
+                throw new ConverterException("Error parsing JSON: A JSONArray text must start with '['");
+            JSONArray array = (JSONArray) json;
+            for (int i = 0; i < array.length(); i++) {
+                closure.call(array.opt(i));
+            }
+            return array.length();
+        }
+        String encoding = request.getCharacterEncoding();
+        if (encoding == null)
+            encoding = Converter.DEFAULT_REQUEST_ENCODING;
+        try {
+            return parseEach(new InputStreamReader(request.getInputStream(), encoding), closure);
+        } catch (IOException e) {
+            throw new ConverterException("Error parsing JSON", e);
+        }
+    }
+
+    /**
+     * Parses the JSON array read from the given Reader element by element, calling the closure with each element as it
+     * is read
+     *
+     * @param reader A Reader which delivers a JSON array
+     * @param closure the closure to call with each element, a JSONObject, JSONArray or simple value
+     * @return the number of elements
+     * @throws ConverterException when the JSON content is not a valid array
+     */
+    public static int parseEach(Reader reader, Closure closure) throws ConverterException {
+        JSONStreamTokener tokener = new JSONStreamTokener(reader);
+        int count = 0;
+        try {
+            while (tokener.nextArrayElement()) {
+                closure.call(tokener.nextArrayValue());
+                count++;
+            }
+        } catch (JSONException e) {
+            throw new ConverterException("Error parsing JSON", e);
+        } catch (JSONStreamTokener.JSONStreamException e) {
+            throw new ConverterException("Error parsing JSON", e.getCause());
+        }
+        return count;
+    }
+
     /**
      * Sets the Object which is later converted to JSON
      *
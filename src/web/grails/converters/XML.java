@@ -16,6 +16,8 @@ package grails.converters;
 
 
 import com.thoughtworks.xstream.XStream;
+import com.thoughtworks.xstream.io.HierarchicalStreamWriter;
+import com.thoughtworks.xstream.io.xml.PrettyPrintWriter;
 import groovy.util.XmlSlurper;
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
@@ -25,6 +27,9 @@ import org.codehaus.groovy.grails.web.converters.Converter;
 import org.codehaus.groovy.grails.web.converters.ConverterUtil;
 import org.codehaus.groovy.grails.web.converters.exceptions.ConverterException;
 import org.codehaus.groovy.grails.web.converters.xtream.DomainClassConverter;
+import org.codehaus.groovy.grails.web.converters.xtream.DomainClassXMLRenderer;
+import org.hibernate.ScrollableResults;
+import org.hibernate.Session;
 
 import javax.servlet.http.HttpServletRequest;
 import javax.servlet.http.HttpServletResponse;
@@ -37,7 +42,9 @@ import java.util.*;
 import grails.util.GrailsWebUtil;
 
 /**
- * A converter that converts domain classes to XML
+ * A converter that converts domain classes to XML. Domain class instances and Collections of them are written
+ * straight to the output without XStream's reference tracking, unless {@link #setTrackReferences(boolean)} is set;
+ * Hibernate ScrollableResults and Iterators are streamed as lists, rendering each element as it is returned.
  *
  * @author Siegfried Puchbauer
  */
@@ -47,9 +54,18 @@ public class XML extends AbstractConverter implements Converter {
 
     private Object target;
     private String encoding;
+    private boolean trackReferences = false;
+    private int flushInterval = DEFAULT_FLUSH_INTERVAL;
+    private boolean evict = false;
+    private Session session;
     private static final String CACHED_XML = "org.codehaus.groovy.grails.CACHED_XML_REQUEST_CONTENT";
     private static final String DEFAULT_ENCODING = "utf-8";
 
+    /**
+     * The number of streamed elements after which the output is flushed by default
+     */
+    public static final int DEFAULT_FLUSH_INTERVAL = 100;
+
     /**
      * Configures the XStream instance
      *
@@ -62,6 +78,52 @@ public class XML extends AbstractConverter implements Converter {
         xs.registerConverter(dcConverter,1);
     }
 
+    /**
+     * Sets whether objects referenced more than once are rendered as references to their first occurrence, as
+     * XStream does, rather than in full at each occurrence. Tracking references keeps every rendered object in memory
+     * until the rendering ends, and doesn't stream ScrollableResults and Iterators.
+     *
+     * @param trackReferences true to track references
+     * @return the XML instance for chaining
+     */
+    public XML setTrackReferences(boolean trackReferences) {
+        this.trackReferences = trackReferences;
+        return this;
+    }
+
+    /**
+     * Sets the number of elements of a streamed target (ScrollableResults or an Iterator) after which the output is
+     * flushed, so that the client receives the list as it is rendered
+     *
+     * @param flushInterval The number of elements, or 0 to only flush at the end
+     * @return the XML instance for chaining
+     */
+    public XML setFlushInterval(int flushInterval) {
+        this.flushInterval = flushInterval;
+        return this;
+    }
+
+    /**
+     * Sets whether each element of a streamed target is evicted from the Hibernate session once it has been rendered.
+     * The session is the one given to {@link #setSession(Session)}, or else the one bound to the current request.
+     *
+     * @param evict true to evict the elements
+     * @return the XML instance for chaining
+     */
+    public XML setEvict(boolean evict) {
+        this.evict = evict;
+        return this;
+    }
+
+    /**
+     * @param session The session to evict streamed elements from
+     * @return the XML instance for chaining
+     */
+    public XML setSession(Session session) {
+        this.session = session;
+        return this;
+    }
+
     /**
      * Default Constructor
      */
@@ -93,7 +155,71 @@ public class XML extends AbstractConverter implements Converter {
      *
      */
     public void render(Writer out) throws ConverterException {
-        ConverterUtil.getXStream(getClass()).toXML(target, out);
+        DomainClassXMLRenderer renderer = trackReferences ? null : ConverterUtil.getDomainClassXMLRenderer(getClass());
+        boolean streamed = target instanceof ScrollableResults || target instanceof Iterator;
+        if (renderer == null || !(streamed || renderer.canRender(target))) {
+            ConverterUtil.getXStream(getClass()).toXML(target, out);
+            return;
+        }
+
+        HierarchicalStreamWriter writer = new PrettyPrintWriter(out);
+        if (target instanceof ScrollableResults) {
+            scrollableResults(renderer, (ScrollableResults) target, writer);
+        } else if (target instanceof Iterator) {
+            iterator(renderer, (Iterator) target, writer);
+        } else if (target instanceof Collection) {
+            renderer.renderCollection((Collection) target, writer);
+        } else {
+            renderer.render(target, writer);
+        }
+        // the writer flushes the output when the root element ends
+    }
+
+    /**
+     * Renders the rows of ScrollableResults as a list as they are scrolled through. A row with a single column is
+     * rendered as its value, other rows as arrays.
+     *
+     * @param renderer The renderer of the elements
+     * @param results The results, positioned before the first row
+     * @param writer The writer
+     */
+    protected void scrollableResults(DomainClassXMLRenderer renderer, ScrollableResults results, HierarchicalStreamWriter writer) {
+        writer.startNode(renderer.getListElementName());
+        int count = 0;
+        while (results.next()) {
+            Object[] row = results.get();
+            streamedElement(renderer, row.length == 1 ? row[0] : row, writer, ++count);
+        }
+        writer.endNode();
+    }
+
+    /**
+     * Renders the elements returned by an Iterator as a list as they are returned
+     *
+     * @param renderer The renderer of the elements
+     * @param iterator The Iterator
+     * @param writer The writer
+     */
+    protected void iterator(DomainClassXMLRenderer renderer, Iterator iterator, HierarchicalStreamWriter writer) {
+        writer.startNode(renderer.getListElementName());
+        int count = 0;
+        while (iterator.hasNext()) {
+            streamedElement(renderer, iterator.next(), writer, ++count);
+        }
+        writer.endNode();
+    }
+
+    private void streamedElement(DomainClassXMLRenderer renderer, Object element, HierarchicalStreamWriter writer, int count) {
+        renderer.render(element, writer);
+        if (evict) {
+            if (session == null) {
+                session = ConverterUtil.getCurrentSession();
+            }
+            ConverterUtil.evict(session, element);
+        }
+        if (flushInterval > 0 && count % flushInterval == 0) {
+            writer.flush();
+        }
     }
 
     /**
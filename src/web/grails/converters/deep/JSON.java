@@ -31,6 +31,22 @@ public class JSON extends grails.converters.JSON implements Converter {
 
     private Stack stack = new Stack();
 
+    /**
+     * Default Constructor for a deep JSON Converter
+     */
+    public JSON() {
+        super();
+    }
+
+    /**
+     * Creates a new deep JSON Converter for the given Object
+     *
+     * @param target the Object to convert
+     */
+    public JSON(Object target) {
+        super(target);
+    }
+
     protected void bean(Object o) throws ConverterException {
         if (stack.contains(o)) {
             //value(new HashMap());//throw new ConverterException("Circular Relationship detected!");
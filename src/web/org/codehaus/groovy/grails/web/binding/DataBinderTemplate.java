@@ -0,0 +1,185 @@
+/* Copyright 2004-2005 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.codehaus.groovy.grails.web.binding;
+
+import groovy.lang.GroovyObject;
+import org.codehaus.groovy.grails.commons.ApplicationHolder;
+import org.codehaus.groovy.grails.commons.DomainClassArtefactHandler;
+import org.codehaus.groovy.grails.commons.GrailsApplication;
+import org.codehaus.groovy.grails.validation.ConstrainedProperty;
+import org.codehaus.groovy.runtime.metaclass.ConcurrentReaderHashMap;
+import org.springframework.beans.BeanUtils;
+import org.springframework.beans.PropertyEditorRegistry;
+import org.springframework.beans.propertyeditors.CustomDateEditor;
+import org.springframework.beans.propertyeditors.CustomNumberEditor;
+
+import java.beans.PropertyDescriptor;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.text.DateFormat;
+import java.text.NumberFormat;
+import java.util.*;
+
+/**
+ * <p>Holds what GrailsDataBinder needs to know about the class of a target object, so that creating a binder for each
+ * of many instances of a class, such as the rows of a form, doesn't look it up each time: the fields that are not
+ * allowed to be bound, the types of the properties and the properties that are constrained to be nullable.</p>
+ *
+ * <p>The date and number formats of a locale are held as prototypes as well, from which the editors of each binder
+ * are created with copies of the formats, as formats are not thread safe.</p>
+ *
+ * <p>A template is created for the GrailsApplication it was first requested with, and is replaced if another
+ * application is loaded, for example when the classes are reloaded.</p>
+ *
+ * @since 1.0.4
+ */
+public class DataBinderTemplate {
+
+    private static final Map templates = new ConcurrentReaderHashMap();
+    private static final Map localeFormats = new ConcurrentReaderHashMap();
+
+    private final GrailsApplication application;
+    private final String[] disallowedFields;
+    private final Map propertyTypes = new HashMap();
+    private NullableProperties nullableProperties = new NullableProperties(null, Collections.EMPTY_SET);
+
+    /**
+     * Returns the template of a class, creating it on first use
+     *
+     * @param clazz The class of the target object
+     * @return The template
+     */
+    public static DataBinderTemplate getTemplate(Class clazz) {
+        GrailsApplication application = ApplicationHolder.getApplication();
+        DataBinderTemplate template = (DataBinderTemplate) templates.get(clazz);
+        if (template == null || template.application != application) {
+            template = new DataBinderTemplate(clazz, application);
+            templates.put(clazz, template);
+        }
+        return template;
+    }
+
+    /**
+     * Registers the editors of dates and numbers formatted for a locale with a binder
+     *
+     * @param registry The binder
+     * @param locale The locale
+     */
+    public static void registerLocaleEditors(PropertyEditorRegistry registry, Locale locale) {
+        LocaleFormats formats = (LocaleFormats) localeFormats.get(locale);
+        if (formats == null) {
+            formats = new LocaleFormats(locale);
+            localeFormats.put(locale, formats);
+        }
+        formats.registerEditors(registry);
+    }
+
+    private DataBinderTemplate(Class clazz, GrailsApplication application) {
+        this.application = application;
+
+        boolean groovyObject = GroovyObject.class.isAssignableFrom(clazz);
+        if (application != null && application.isArtefactOfType(DomainClassArtefactHandler.TYPE, clazz)) {
+            disallowedFields = groovyObject ? GrailsDataBinder.GROOVY_DOMAINCLASS_DISALLOWED : GrailsDataBinder.DOMAINCLASS_DISALLOWED;
+        } else if (groovyObject) {
+            disallowedFields = GrailsDataBinder.GROOVY_DISALLOWED;
+        } else {
+            disallowedFields = new String[0];
+        }
+
+        PropertyDescriptor[] descriptors = BeanUtils.getPropertyDescriptors(clazz);
+        for (int i = 0; i < descriptors.length; i++) {
+            if (descriptors[i].getPropertyType() != null) {
+                propertyTypes.put(descriptors[i].getName(), descriptors[i].getPropertyType());
+            }
+        }
+    }
+
+    public String[] getDisallowedFields() {
+        return disallowedFields;
+    }
+
+    /**
+     * Returns the type of a property of the class, as declared by its getter or setter
+     *
+     * @param propertyName The name of the property, which is not a nested or indexed property path
+     * @return The type or null if the class has no such property
+     */
+    public Class getPropertyType(String propertyName) {
+        return (Class) propertyTypes.get(propertyName);
+    }
+
+    /**
+     * Returns the names of the properties that are constrained to be nullable. The names are only collected again
+     * when a different map of constraints is given; GrailsDomainClass returns the same map until its constraints are
+     * refreshed.
+     *
+     * @param constrainedProperties The ConstrainedProperty instances of the class keyed by property name
+     * @return The names of the nullable properties
+     */
+    public Set getNullableProperties(Map constrainedProperties) {
+        NullableProperties nullable = this.nullableProperties;
+        if (nullable.constrainedProperties != constrainedProperties) {
+            Set names = new HashSet();
+            for (Iterator i = constrainedProperties.entrySet().iterator(); i.hasNext();) {
+                Map.Entry entry = (Map.Entry) i.next();
+                if (((ConstrainedProperty) entry.getValue()).isNullable()) {
+                    names.add(entry.getKey());
+                }
+            }
+            nullable = new NullableProperties(constrainedProperties, names);
+            this.nullableProperties = nullable;
+        }
+        return nullable.names;
+    }
+
+    private static class NullableProperties {
+        private final Map constrainedProperties;
+        private final Set names;
+
+        NullableProperties(Map constrainedProperties, Set names) {
+            this.constrainedProperties = constrainedProperties;
+            this.names = names;
+        }
+    }
+
+    /**
+     * The formats of a locale, which are copied for each binder
+     */
+    private static class LocaleFormats {
+        private final DateFormat dateFormat;
+        private final NumberFormat floatFormat;
+        private final NumberFormat integerFormat;
+
+        LocaleFormats(Locale locale) {
+            this.dateFormat = DateFormat.getDateInstance(DateFormat.SHORT, locale);
+            this.floatFormat = NumberFormat.getInstance(locale);
+            this.integerFormat = NumberFormat.getIntegerInstance(locale);
+        }
+
+        void registerEditors(PropertyEditorRegistry registry) {
+            NumberFormat floatFormat = (NumberFormat) this.floatFormat.clone();
+            NumberFormat integerFormat = (NumberFormat) this.integerFormat.clone();
+
+            registry.registerCustomEditor( Date.class, new CustomDateEditor((DateFormat) dateFormat.clone(), true) );
+            registry.registerCustomEditor( BigDecimal.class, new CustomNumberEditor(BigDecimal.class, floatFormat, true));
+            registry.registerCustomEditor( BigInteger.class, new CustomNumberEditor(BigInteger.class, floatFormat, true));
+            registry.registerCustomEditor( Double.class, new CustomNumberEditor(Double.class, floatFormat, true));
+            registry.registerCustomEditor( Float.class, new CustomNumberEditor(Float.class, floatFormat, true));
+            registry.registerCustomEditor( Long.class, new CustomNumberEditor(Long.class, integerFormat, true));
+            registry.registerCustomEditor( Integer.class, new CustomNumberEditor(Integer.class, integerFormat, true));
+            registry.registerCustomEditor( Short.class, new CustomNumberEditor(Short.class, integerFormat, true));
+        }
+    }
+}
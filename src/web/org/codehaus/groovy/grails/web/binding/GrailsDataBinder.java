@@ -18,17 +18,11 @@ import groovy.lang.*;
 import org.apache.commons.lang.StringUtils;
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
-import org.codehaus.groovy.grails.commons.ApplicationHolder;
-import org.codehaus.groovy.grails.commons.DomainClassArtefactHandler;
-import org.codehaus.groovy.grails.commons.GrailsApplication;
 import org.codehaus.groovy.grails.commons.metaclass.CreateDynamicMethod;
-import org.codehaus.groovy.grails.validation.ConstrainedProperty;
 import org.codehaus.groovy.grails.web.servlet.mvc.GrailsParameterMap;
 import org.codehaus.groovy.runtime.InvokerHelper;
 import org.springframework.beans.*;
 import org.springframework.beans.PropertyValue;
-import org.springframework.beans.propertyeditors.CustomDateEditor;
-import org.springframework.beans.propertyeditors.CustomNumberEditor;
 import org.springframework.beans.propertyeditors.LocaleEditor;
 import org.springframework.validation.BeanPropertyBindingResult;
 import org.springframework.web.bind.ServletRequestDataBinder;
@@ -40,11 +34,7 @@ import org.springframework.web.servlet.support.RequestContextUtils;
 
 import javax.servlet.ServletRequest;
 import javax.servlet.http.HttpServletRequest;
-import java.math.BigDecimal;
-import java.math.BigInteger;
 import java.net.URI;
-import java.text.DateFormat;
-import java.text.NumberFormat;
 import java.util.*;
 
 /**
@@ -68,6 +58,7 @@ public class GrailsDataBinder extends ServletRequestDataBinder {
     private static final Log LOG = LogFactory.getLog(GrailsDataBinder.class);
 
     protected ConfigurablePropertyAccessor bean;
+    private final DataBinderTemplate template;
 
     public static final String[] GROOVY_DISALLOWED = new String[] { "metaClass", "properties" };
     public static final String[] DOMAINCLASS_DISALLOWED = new String[] { "id", "version" };
@@ -88,19 +79,9 @@ public class GrailsDataBinder extends ServletRequestDataBinder {
         super(target, objectName);
 
         bean = ((BeanPropertyBindingResult)super.getBindingResult()).getPropertyAccessor();
-        
-        String[] disallowed = new String[0];
-        GrailsApplication grailsApplication = ApplicationHolder.getApplication();
-        if (grailsApplication!=null && grailsApplication.isArtefactOfType(DomainClassArtefactHandler.TYPE, target.getClass())) {
-            if (target instanceof GroovyObject) {
-                disallowed = GROOVY_DOMAINCLASS_DISALLOWED;
-            } else {
-                disallowed = DOMAINCLASS_DISALLOWED;
-            }
-        } else if (target instanceof GroovyObject) {
-            disallowed = GROOVY_DISALLOWED;
-        }
-        setDisallowedFields(disallowed);
+        template = DataBinderTemplate.getTemplate(target.getClass());
+
+        setDisallowedFields(template.getDisallowedFields());
         setAllowedFields(ALL_OTHER_FIELDS_ALLOWED_BY_DEFAULT);
     }
 
@@ -116,18 +97,8 @@ public class GrailsDataBinder extends ServletRequestDataBinder {
         GrailsDataBinder binder = createBinder(target,objectName);
         Locale locale = RequestContextUtils.getLocale(request);
 
-        // Formatters for the different number types.
-        NumberFormat floatFormat = NumberFormat.getInstance(locale);
-        NumberFormat integerFormat = NumberFormat.getIntegerInstance(locale);
-
-        binder.registerCustomEditor( Date.class, new CustomDateEditor(DateFormat.getDateInstance( DateFormat.SHORT, locale),true) );
-		binder.registerCustomEditor( BigDecimal.class, new CustomNumberEditor(BigDecimal.class, floatFormat, true));
-        binder.registerCustomEditor( BigInteger.class, new CustomNumberEditor(BigInteger.class, floatFormat, true));
-        binder.registerCustomEditor( Double.class, new CustomNumberEditor(Double.class, floatFormat, true));
-        binder.registerCustomEditor( Float.class, new CustomNumberEditor(Float.class, floatFormat, true));
-        binder.registerCustomEditor( Long.class, new CustomNumberEditor(Long.class, integerFormat, true));
-        binder.registerCustomEditor( Integer.class, new CustomNumberEditor(Integer.class, integerFormat, true));
-        binder.registerCustomEditor( Short.class, new CustomNumberEditor(Short.class, integerFormat, true));
+        // Editors of dates and of the different number types, with the formats of the locale
+        DataBinderTemplate.registerLocaleEditors(binder, locale);
         return binder;
     }
 
@@ -215,19 +186,21 @@ public class GrailsDataBinder extends ServletRequestDataBinder {
         MetaClass mc = GroovySystem.getMetaClassRegistry().getMetaClass(target.getClass());
         if(mc.hasProperty(target, CONSTRAINTS_PROPERTY) != null) {
             Map constrainedProperties = (Map)mc.getProperty(target, CONSTRAINTS_PROPERTY);
+            Set nullableProperties = template.getNullableProperties(constrainedProperties);
+            if(nullableProperties.isEmpty()) return;
+
             PropertyValue[] valueArray = mpvs.getPropertyValues();
             for (int i = 0; i < valueArray.length; i++) {
                 PropertyValue propertyValue = valueArray[i];
-                ConstrainedProperty cp = (ConstrainedProperty)constrainedProperties.get(propertyValue.getName());
-                if(shouldNullifyBlankString(propertyValue, cp)) {
+                if(shouldNullifyBlankString(propertyValue, nullableProperties)) {
                    propertyValue.setConvertedValue(null); 
                 }
             }
         }
     }
 
-    private boolean shouldNullifyBlankString(PropertyValue propertyValue, ConstrainedProperty cp) {
-        return cp!= null && cp.isNullable() && BLANK.equals(propertyValue.getValue());
+    private boolean shouldNullifyBlankString(PropertyValue propertyValue, Set nullableProperties) {
+        return BLANK.equals(propertyValue.getValue()) && nullableProperties.contains(propertyValue.getName());
     }
 
     private void filterNestedParameterMaps(MutablePropertyValues mpvs) {
@@ -281,6 +254,9 @@ public class GrailsDataBinder extends ServletRequestDataBinder {
 
             }
             else {
+                // only properties of a Groovy type can be auto-created
+                Class type = template.getPropertyType(propertyName);
+                if(type != null && !GroovyObject.class.isAssignableFrom(type)) continue;
 
                 autoCreatePropertyIfPossible(bean,propertyName);
             }
@@ -290,7 +266,9 @@ public class GrailsDataBinder extends ServletRequestDataBinder {
     private Object autoCreatePropertyIfPossible(ConfigurablePropertyAccessor bean,String propertyName) {
         Class type = bean.getPropertyType(propertyName);
         Object val = bean.isReadableProperty(propertyName) ? bean.getPropertyValue(propertyName) : null; 
-        LOG.debug("Checking if auto-create is possible for property ["+propertyName+"] and type ["+type+"]");
+        if(LOG.isDebugEnabled()) {
+            LOG.debug("Checking if auto-create is possible for property ["+propertyName+"] and type ["+type+"]");
+        }
         if(type != null && val == null) {
             if(GroovyObject.class.isAssignableFrom(type)) {
                 if(bean.getPropertyValue(propertyName) == null) {
@@ -380,7 +358,10 @@ public class GrailsDataBinder extends ServletRequestDataBinder {
 
             try {
                 String propertyName = propertyValue.getName();
-                Class type = bean.getPropertyType(propertyName);
+                Class type = template.getPropertyType(propertyName);
+                if(type == null) {
+                    type = bean.getPropertyType(propertyName);
+                }
                 // if its a date check that it hasn't got structured parameters in the request
                 // this is used as an alternative to specifying the date format
                 if(type != null && (Date.class.isAssignableFrom(type)  || Calendar.class.isAssignableFrom(type))) {
@@ -30,7 +30,17 @@ import org.codehaus.groovy.grails.commons.DomainClassArtefactHandler;
 import org.codehaus.groovy.grails.commons.GrailsApplication;
 import org.codehaus.groovy.grails.commons.GrailsDomainClass;
 import org.codehaus.groovy.grails.web.converters.exceptions.ConverterException;
+import org.codehaus.groovy.grails.web.converters.xtream.DomainClassXMLRenderer;
+import org.codehaus.groovy.grails.web.servlet.mvc.GrailsWebRequest;
 import org.codehaus.groovy.runtime.DefaultGroovyMethods;
+import org.codehaus.groovy.runtime.metaclass.ConcurrentReaderHashMap;
+import org.hibernate.Session;
+import org.hibernate.SessionFactory;
+import org.springframework.context.ApplicationContext;
+import org.springframework.orm.hibernate3.SessionFactoryUtils;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
 
 import java.io.File;
 import java.util.*;
@@ -52,8 +62,9 @@ public class ConverterUtil {
         }
     }
 
-    private static Map XSTREAM_MAP = new HashMap();
-    private static Map ALIAS_MAP = new HashMap();
+    private static Map XSTREAM_MAP = new ConcurrentReaderHashMap();
+    private static Map RENDERER_MAP = new ConcurrentReaderHashMap();
+    private static Map ALIAS_MAP = new ConcurrentReaderHashMap();
 
     public static XStream
     getXStream(Class clazz) {
@@ -84,9 +95,25 @@ public class ConverterUtil {
         return xs;
     }
 
+    /**
+     * Returns the renderer that streams domain class instances to XML with the XStream instance of a converter
+     *
+     * @param clazz The class of the converter
+     * @return The renderer
+     */
+    public static DomainClassXMLRenderer getDomainClassXMLRenderer(Class clazz) {
+        DomainClassXMLRenderer renderer = (DomainClassXMLRenderer) RENDERER_MAP.get(clazz);
+        if (renderer == null) {
+            renderer = new DomainClassXMLRenderer(getXStream(clazz));
+            RENDERER_MAP.put(clazz, renderer);
+        }
+        return renderer;
+    }
+
     public static void addAlias(String alias, Class clazz) {
         ALIAS_MAP.put(clazz, alias);
         XSTREAM_MAP.clear();
+        RENDERER_MAP.clear();
     }
 
     public static String getAlias(Class cls) {
@@ -139,6 +166,8 @@ public class ConverterUtil {
 
     public static void setGrailsApplication(GrailsApplication grailsApp) {
         getInstance().grailsApplication = grailsApp;
+        // the renderers hold the properties of the domain classes of the previous application
+        RENDERER_MAP.clear();
     }
 
     private GrailsApplication grailsApplication;
@@ -147,6 +176,41 @@ public class ConverterUtil {
 
     }
 
+    /**
+     * Returns the Hibernate session bound to the current request, for example to evict instances streamed by a converter
+     *
+     * @return The session or null if there is no request or no session is bound to it
+     */
+    public static Session getCurrentSession() {
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        if (!(attributes instanceof GrailsWebRequest)) return null;
+
+        ApplicationContext context = ((GrailsWebRequest) attributes).getApplicationContext();
+        if (context == null || !context.containsBean("sessionFactory")) return null;
+
+        SessionFactory sessionFactory = (SessionFactory) context.getBean("sessionFactory");
+        if (!TransactionSynchronizationManager.hasResource(sessionFactory)) return null;
+        return SessionFactoryUtils.getSession(sessionFactory, false);
+    }
+
+    /**
+     * Evicts an instance streamed by a converter from a Hibernate session, or each of the instances of a row of
+     * ScrollableResults
+     *
+     * @param session The session, or null if no session is bound to the current request
+     * @param element The instance or row
+     */
+    public static void evict(Session session, Object element) {
+        if (element instanceof Object[]) {
+            Object[] row = (Object[]) element;
+            for (int i = 0; i < row.length; i++) {
+                evict(session, row[i]);
+            }
+        } else if (element != null && session != null && session.contains(element)) {
+            session.evict(element);
+        }
+    }
+
     public static Object invokeOriginalAsTypeMethod(Object delegate, Class clazz) {
         if (delegate instanceof Collection)
             return DefaultGroovyMethods.asType((Collection) delegate, clazz);
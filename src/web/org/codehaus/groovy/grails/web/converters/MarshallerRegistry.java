@@ -0,0 +1,221 @@
+/*
+ * Copyright 2004-2005 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.codehaus.groovy.grails.web.converters;
+
+import groovy.lang.GroovyObject;
+import org.codehaus.groovy.grails.commons.GrailsDomainClass;
+import org.codehaus.groovy.grails.commons.GrailsDomainClassProperty;
+import org.codehaus.groovy.grails.web.converters.exceptions.ConverterException;
+import org.codehaus.groovy.runtime.metaclass.ConcurrentReaderHashMap;
+import org.springframework.beans.BeanUtils;
+import org.springframework.beans.BeanWrapperImpl;
+
+import java.beans.IntrospectionException;
+import java.beans.Introspector;
+import java.beans.PropertyDescriptor;
+import java.lang.reflect.Field;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * <p>Holds the properties the converters render for each class, so that converting many instances of a class
+ * introspects the class once rather than once per instance. The properties of a class are resolved on first use into an
+ * ordered array of accessors that read the values with the getter, or the public field, of each property.</p>
+ *
+ * <p>The registry is safe to use from concurrent requests. The properties of domain classes are held by
+ * GrailsDomainClass, so a reloaded domain class gets new accessors; {@link #clear()} discards the accessors of the
+ * classes that were replaced.</p>
+ *
+ * @since 1.0.4
+ */
+public class MarshallerRegistry {
+
+    private static final Map beanProperties = new ConcurrentReaderHashMap();
+    private static final Map domainClassProperties = new ConcurrentReaderHashMap();
+    private static final Map accessorsByClass = new ConcurrentReaderHashMap();
+
+    private MarshallerRegistry() {
+    }
+
+    /**
+     * Returns the properties of a bean in the order they are rendered: the readable bean properties, except the
+     * metaClass of Groovy objects, followed by the public instance fields declared by the class
+     *
+     * @param clazz The class of the bean
+     * @return The accessors of the properties
+     */
+    public static PropertyAccessor[] getBeanProperties(Class clazz) {
+        PropertyAccessor[] properties = (PropertyAccessor[]) beanProperties.get(clazz);
+        if(properties == null) {
+            properties = createBeanProperties(clazz);
+            beanProperties.put(clazz, properties);
+        }
+        return properties;
+    }
+
+    /**
+     * Returns the identifier and the persistent properties of a domain class, in the order they are rendered
+     *
+     * @param domainClass The domain class
+     * @return The properties of the domain class
+     */
+    public static DomainClassProperties getDomainClassProperties(GrailsDomainClass domainClass) {
+        DomainClassProperties properties = (DomainClassProperties) domainClassProperties.get(domainClass);
+        if(properties == null) {
+            properties = new DomainClassProperties(domainClass);
+            domainClassProperties.put(domainClass, properties);
+        }
+        return properties;
+    }
+
+    /**
+     * Returns the accessor of a property of a class, such as the identifier of an associated domain class instance
+     *
+     * @param clazz The class
+     * @param propertyName The name of the property
+     * @return The accessor
+     */
+    public static PropertyAccessor getPropertyAccessor(Class clazz, String propertyName) {
+        Map accessors = (Map) accessorsByClass.get(clazz);
+        if(accessors == null) {
+            accessors = new ConcurrentReaderHashMap();
+            accessorsByClass.put(clazz, accessors);
+        }
+        PropertyAccessor accessor = (PropertyAccessor) accessors.get(propertyName);
+        if(accessor == null) {
+            accessor = new PropertyAccessor(propertyName, getReadMethod(clazz, propertyName), null);
+            accessors.put(propertyName, accessor);
+        }
+        return accessor;
+    }
+
+    /**
+     * Discards the accessors of all classes, for example because the domain classes have been reloaded
+     */
+    public static void clear() {
+        beanProperties.clear();
+        domainClassProperties.clear();
+        accessorsByClass.clear();
+    }
+
+    private static PropertyAccessor[] createBeanProperties(Class clazz) {
+        List properties = new ArrayList();
+        PropertyDescriptor[] descriptors;
+        try {
+            descriptors = Introspector.getBeanInfo(clazz).getPropertyDescriptors();
+        } catch (IntrospectionException e) {
+            throw new ConverterException("Error introspecting Bean with class " + clazz.getName(), e);
+        }
+        boolean groovyObject = GroovyObject.class.isAssignableFrom(clazz);
+        for (int i = 0; i < descriptors.length; i++) {
+            PropertyDescriptor descriptor = descriptors[i];
+            Method readMethod = descriptor.getReadMethod();
+            if (readMethod != null && !(groovyObject && descriptor.getName().equals("metaClass"))) {
+                properties.add(new PropertyAccessor(descriptor.getName(), readMethod, null));
+            }
+        }
+        Field[] fields = clazz.getDeclaredFields();
+        for (int i = 0; i < fields.length; i++) {
+            Field field = fields[i];
+            int modifiers = field.getModifiers();
+            if (Modifier.isPublic(modifiers) && !(Modifier.isStatic(modifiers) || Modifier.isTransient(modifiers))) {
+                properties.add(new PropertyAccessor(field.getName(), null, field));
+            }
+        }
+        return (PropertyAccessor[]) properties.toArray(new PropertyAccessor[properties.size()]);
+    }
+
+    private static Method getReadMethod(Class clazz, String propertyName) {
+        PropertyDescriptor descriptor = BeanUtils.getPropertyDescriptor(clazz, propertyName);
+        return descriptor != null ? descriptor.getReadMethod() : null;
+    }
+
+    /**
+     * Reads the value of one property of an object
+     */
+    public static class PropertyAccessor {
+        private final String name;
+        private final Method readMethod;
+        private final Field field;
+
+        PropertyAccessor(String name, Method readMethod, Field field) {
+            this.name = name;
+            this.readMethod = readMethod;
+            this.field = field;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        /**
+         * @param o The object
+         * @return The value of the property of the given object
+         */
+        public Object getValue(Object o) {
+            try {
+                if(readMethod != null) {
+                    return readMethod.invoke(o, (Object[]) null);
+                }
+                if(field != null) {
+                    return field.get(o);
+                }
+            } catch (IllegalAccessException e) {
+                throw new ConverterException("Error reading property [" + name + "] of class " + o.getClass().getName(), e);
+            } catch (InvocationTargetException e) {
+                throw new ConverterException("Error reading property [" + name + "] of class " + o.getClass().getName(), e.getTargetException());
+            }
+            // properties without a getter, which the introspection of the class didn't find
+            return new BeanWrapperImpl(o).getPropertyValue(name);
+        }
+    }
+
+    /**
+     * The identifier and the persistent properties of a domain class, with the accessors of the properties at the
+     * same positions as the properties
+     */
+    public static class DomainClassProperties {
+        private final PropertyAccessor identifier;
+        private final GrailsDomainClassProperty[] properties;
+        private final PropertyAccessor[] accessors;
+
+        DomainClassProperties(GrailsDomainClass domainClass) {
+            Class clazz = domainClass.getClazz();
+            this.identifier = getPropertyAccessor(clazz, domainClass.getIdentifier().getName());
+            this.properties = domainClass.getPersistentProperties();
+            this.accessors = new PropertyAccessor[properties.length];
+            for (int i = 0; i < properties.length; i++) {
+                accessors[i] = getPropertyAccessor(clazz, properties[i].getName());
+            }
+        }
+
+        public PropertyAccessor getIdentifier() {
+            return identifier;
+        }
+
+        public GrailsDomainClassProperty[] getProperties() {
+            return properties;
+        }
+
+        public PropertyAccessor[] getAccessors() {
+            return accessors;
+        }
+    }
+}
@@ -22,9 +22,8 @@ import com.thoughtworks.xstream.io.HierarchicalStreamWriter;
 import org.codehaus.groovy.grails.commons.GrailsDomainClass;
 import org.codehaus.groovy.grails.commons.GrailsDomainClassProperty;
 import org.codehaus.groovy.grails.web.converters.ConverterUtil;
+import org.codehaus.groovy.grails.web.converters.MarshallerRegistry;
 import org.hibernate.collection.AbstractPersistentCollection;
-import org.springframework.beans.BeanWrapper;
-import org.springframework.beans.BeanWrapperImpl;
 
 import java.util.*;
 
@@ -55,22 +54,20 @@ public class DomainClassConverter implements Converter {
 
         Class clazz = value.getClass();
         GrailsDomainClass domainClass = ConverterUtil.getDomainClass(clazz.getName());
-        BeanWrapper beanWrapper = new BeanWrapperImpl(value);
+        MarshallerRegistry.DomainClassProperties domainClassProperties = MarshallerRegistry.getDomainClassProperties(domainClass);
 
-
-        GrailsDomainClassProperty id = domainClass.getIdentifier();
-
-        Object idValue = extractIdValue(value, id);
+        Object idValue = domainClassProperties.getIdentifier().getValue(value);
         if (idValue != null) writer.addAttribute("id", String.valueOf(idValue));
 
-        GrailsDomainClassProperty[] properties = domainClass.getPersistentProperties();
+        GrailsDomainClassProperty[] properties = domainClassProperties.getProperties();
+        MarshallerRegistry.PropertyAccessor[] accessors = domainClassProperties.getAccessors();
 
         for (int i = 0; i < properties.length; i++) {
             GrailsDomainClassProperty property = properties[i];
             writer.startNode(property.getName());
             if (!property.isAssociation()) {
                 // Write non-relation property
-                Object val = beanWrapper.getPropertyValue(property.getName());
+                Object val = accessors[i].getValue(value);
                 if (val == null) {
                     writer.startNode("null");
                     writer.endNode();
@@ -78,7 +75,7 @@ public class DomainClassConverter implements Converter {
                     context.convertAnother(val);
                 }
             } else {
-                Object referenceObject = beanWrapper.getPropertyValue(property.getName());
+                Object referenceObject = accessors[i].getValue(value);
                 if (isRenderDomainClassRelations()) {
                     if (referenceObject == null) {
                         writer.startNode("null");
@@ -183,8 +180,7 @@ public class DomainClassConverter implements Converter {
     }
 
     private Object extractIdValue(Object domainObject, GrailsDomainClassProperty idProperty) {
-        BeanWrapper beanWrapper = new BeanWrapperImpl(domainObject);
-        return beanWrapper.getPropertyValue(idProperty.getName());
+        return MarshallerRegistry.getPropertyAccessor(domainObject.getClass(), idProperty.getName()).getValue(domainObject);
     }
 
 }
@@ -0,0 +1,248 @@
+/*
+ * Copyright 2004-2005 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.codehaus.groovy.grails.web.converters.xtream;
+
+import com.thoughtworks.xstream.XStream;
+import com.thoughtworks.xstream.converters.Converter;
+import com.thoughtworks.xstream.converters.ConverterLookup;
+import com.thoughtworks.xstream.converters.SingleValueConverterWrapper;
+import com.thoughtworks.xstream.converters.collections.CollectionConverter;
+import com.thoughtworks.xstream.core.TreeMarshaller;
+import com.thoughtworks.xstream.io.HierarchicalStreamWriter;
+import com.thoughtworks.xstream.mapper.Mapper;
+import org.codehaus.groovy.grails.commons.GrailsDomainClass;
+import org.codehaus.groovy.grails.commons.GrailsDomainClassProperty;
+import org.codehaus.groovy.grails.web.converters.ConverterUtil;
+import org.codehaus.groovy.grails.web.converters.MarshallerRegistry;
+import org.codehaus.groovy.runtime.metaclass.ConcurrentReaderHashMap;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.Map;
+
+/**
+ * <p>Writes domain class instances to XML in the format of {@link DomainClassConverter}, with their associations
+ * rendered as ids, without going through the reference tracking marshaller of XStream. The element name, the identifier
+ * and the accessor and kind of each persistent property of a class are resolved once into a plan, which is then used
+ * for every instance of the class.</p>
+ *
+ * <p>Other objects are written by the XStream instance the renderer is created with, so that the aliases and converters
+ * it is configured with apply. Classes for which that XStream instance has a converter other than a
+ * {@link DomainClassConverter} which renders associations as ids, such as the one of grails.converters.deep.XML, have
+ * no plan and are written by XStream as well.</p>
+ *
+ * @since 1.0.4
+ */
+public class DomainClassXMLRenderer {
+
+    private static final Object NO_PLAN = new Object();
+
+    private final XStream xstream;
+    private final Mapper mapper;
+    private final ConverterLookup converterLookup;
+    private final Map plans = new ConcurrentReaderHashMap();
+
+    public DomainClassXMLRenderer(XStream xstream) {
+        this.xstream = xstream;
+        this.mapper = xstream.getMapper();
+        this.converterLookup = xstream.getConverterLookup();
+    }
+
+    /**
+     * Returns whether an object is written by this renderer rather than by XStream: a domain class instance rendered
+     * with the ids of its associations, or a Collection of such instances
+     *
+     * @param o The object
+     * @return true if the object can be rendered
+     */
+    public boolean canRender(Object o) {
+        if (o == null) return false;
+        if (o instanceof Collection) {
+            if (!(converterLookup.lookupConverterForType(o.getClass()) instanceof CollectionConverter)) return false;
+            for (Iterator it = ((Collection) o).iterator(); it.hasNext();) {
+                Object element = it.next();
+                if (element != null && getPlan(element.getClass()) == null) return false;
+            }
+            return true;
+        }
+        return getPlan(o.getClass()) != null;
+    }
+
+    /**
+     * Returns the name of the root element of a streamed list, as XStream names a List
+     *
+     * @return The element name
+     */
+    public String getListElementName() {
+        return mapper.serializedClass(ArrayList.class);
+    }
+
+    /**
+     * Writes a Collection as its elements are returned by its Iterator
+     *
+     * @param collection The Collection
+     * @param writer The writer
+     */
+    public void renderCollection(Collection collection, HierarchicalStreamWriter writer) {
+        writer.startNode(mapper.serializedClass(collection.getClass()));
+        for (Iterator it = collection.iterator(); it.hasNext();) {
+            render(it.next(), writer);
+        }
+        writer.endNode();
+    }
+
+    /**
+     * Writes an object as an element: a domain class instance with its plan, anything else with XStream
+     *
+     * @param o The object, which may be null
+     * @param writer The writer
+     */
+    public void render(Object o, HierarchicalStreamWriter writer) {
+        if (o == null) {
+            writer.startNode(mapper.serializedClass(null));
+            writer.endNode();
+            return;
+        }
+        DomainClassPlan plan = getPlan(o.getClass());
+        if (plan != null) {
+            plan.render(o, writer);
+        } else {
+            xstream.marshal(o, writer);
+        }
+    }
+
+    private DomainClassPlan getPlan(Class clazz) {
+        Object plan = plans.get(clazz);
+        if (plan == null) {
+            plan = createPlan(clazz);
+            plans.put(clazz, plan);
+        }
+        return plan == NO_PLAN ? null : (DomainClassPlan) plan;
+    }
+
+    private Object createPlan(Class clazz) {
+        Converter converter = converterLookup.lookupConverterForType(clazz);
+        if (!(converter instanceof DomainClassConverter) || ((DomainClassConverter) converter).isRenderDomainClassRelations()) {
+            return NO_PLAN;
+        }
+        GrailsDomainClass domainClass = ConverterUtil.getDomainClass(clazz.getName());
+        if (domainClass == null) {
+            return NO_PLAN;
+        }
+        return new DomainClassPlan(mapper.serializedClass(clazz), domainClass);
+    }
+
+    private void writeValue(Object value, HierarchicalStreamWriter writer) {
+        Converter converter = converterLookup.lookupConverterForType(value.getClass());
+        if (converter instanceof SingleValueConverterWrapper) {
+            writer.setValue(((SingleValueConverterWrapper) converter).toString(value));
+        } else {
+            new TreeMarshaller(writer, converterLookup, mapper).convertAnother(value);
+        }
+    }
+
+    private static void writeNull(HierarchicalStreamWriter writer) {
+        writer.startNode("null");
+        writer.endNode();
+    }
+
+    private static void writeId(Object o, String idName, HierarchicalStreamWriter writer) {
+        Object id = MarshallerRegistry.getPropertyAccessor(o.getClass(), idName).getValue(o);
+        writer.addAttribute("id", String.valueOf(id));
+    }
+
+    private static final int SIMPLE = 0;
+    private static final int TO_ONE = 1;
+    private static final int TO_MANY = 2;
+
+    /**
+     * The element name and the properties of a domain class, in the order they are written
+     */
+    private class DomainClassPlan {
+        private final String elementName;
+        private final MarshallerRegistry.PropertyAccessor identifier;
+        private final MarshallerRegistry.PropertyAccessor[] accessors;
+        private final int[] kinds;
+        // the id property and element name of the domain class referenced by each association
+        private final String[] referencedIdNames;
+        private final String[] referencedElementNames;
+
+        DomainClassPlan(String elementName, GrailsDomainClass domainClass) {
+            MarshallerRegistry.DomainClassProperties properties = MarshallerRegistry.getDomainClassProperties(domainClass);
+            GrailsDomainClassProperty[] persistentProperties = properties.getProperties();
+
+            this.elementName = elementName;
+            this.identifier = properties.getIdentifier();
+            this.accessors = properties.getAccessors();
+            this.kinds = new int[persistentProperties.length];
+            this.referencedIdNames = new String[persistentProperties.length];
+            this.referencedElementNames = new String[persistentProperties.length];
+            for (int i = 0; i < persistentProperties.length; i++) {
+                GrailsDomainClassProperty property = persistentProperties[i];
+                if (!property.isAssociation()) {
+                    kinds[i] = SIMPLE;
+                    continue;
+                }
+                kinds[i] = property.isOneToOne() || property.isManyToOne() || property.isEmbedded() ? TO_ONE : TO_MANY;
+                GrailsDomainClass referenced = property.getReferencedDomainClass();
+                referencedIdNames[i] = referenced != null ? referenced.getIdentifier().getName() : GrailsDomainClassProperty.IDENTITY;
+                referencedElementNames[i] = referenced != null ? referenced.getPropertyName() : property.getName();
+            }
+        }
+
+        void render(Object o, HierarchicalStreamWriter writer) {
+            writer.startNode(elementName);
+
+            Object id = identifier.getValue(o);
+            if (id != null) writer.addAttribute("id", String.valueOf(id));
+
+            for (int i = 0; i < accessors.length; i++) {
+                MarshallerRegistry.PropertyAccessor accessor = accessors[i];
+                writer.startNode(accessor.getName());
+                Object value = accessor.getValue(o);
+                if (value == null) {
+                    writeNull(writer);
+                } else if (kinds[i] == SIMPLE) {
+                    writeValue(value, writer);
+                } else if (kinds[i] == TO_ONE) {
+                    writeId(value, referencedIdNames[i], writer);
+                } else if (value instanceof Collection) {
+                    for (Iterator it = ((Collection) value).iterator(); it.hasNext();) {
+                        writer.startNode(referencedElementNames[i]);
+                        writeId(it.next(), referencedIdNames[i], writer);
+                        writer.endNode();
+                    }
+                } else if (value instanceof Map) {
+                    for (Iterator it = ((Map) value).entrySet().iterator(); it.hasNext();) {
+                        Map.Entry entry = (Map.Entry) it.next();
+                        writer.startNode("entry");
+                        writer.startNode("string"); // key of map entry has to be a string
+                        writer.setValue(String.valueOf(entry.getKey()));
+                        writer.endNode();
+                        writer.startNode(referencedElementNames[i]);
+                        writeId(entry.getValue(), referencedIdNames[i], writer);
+                        writer.endNode();
+                        writer.endNode();
+                    }
+                }
+                writer.endNode();
+            }
+
+            writer.endNode();
+        }
+    }
+}
@@ -0,0 +1,216 @@
+/*
+ * Copyright 2004-2005 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.codehaus.groovy.grails.web.json;
+
+import java.io.IOException;
+import java.io.Reader;
+
+/**
+ * <p>A JSONTokener that reads its source incrementally from a Reader through a fixed size buffer, rather than from a
+ * String holding the whole text, so that the memory used to parse a large JSON text does not grow with its size.
+ * JSONObject and JSONArray are built from it as from any JSONTokener.</p>
+ *
+ * <p>{@link #nextArrayElement()} reads the elements of a top-level array one at a time, so that an array with any
+ * number of elements can be processed while only one element is held in memory.</p>
+ *
+ * <p>As the text is not held, at most two characters can be moved {@link #back()}, which is all the parsing of JSON
+ * needs, and {@link #skipTo(char)} leaves the tokener at the end of the text if the character is not found.</p>
+ *
+ * @since 1.0.4
+ */
+public class JSONStreamTokener extends JSONTokener {
+
+    private static final int DEFAULT_BUFFER_SIZE = 8192;
+    // the number of characters kept when the buffer is refilled, so that they can be moved back
+    private static final int PUSHBACK = 2;
+
+    private final Reader reader;
+    private final char[] buffer;
+    private int position;
+    private int limit;
+    private long index;
+    private boolean eof;
+
+    // the state of reading a top-level array element by element
+    private boolean inArray;
+    private boolean arrayEnded;
+
+    public JSONStreamTokener(Reader reader) {
+        this(reader, DEFAULT_BUFFER_SIZE);
+    }
+
+    public JSONStreamTokener(Reader reader, int bufferSize) {
+        super("");
+        if(reader == null)
+            throw new IllegalArgumentException("Argument [reader] cannot be null");
+
+        this.reader = reader;
+        this.buffer = new char[Math.max(bufferSize, PUSHBACK + 1)];
+    }
+
+    public void back() {
+        if (this.position > 0) {
+            this.position -= 1;
+            this.index -= 1;
+        }
+    }
+
+    public boolean more() {
+        return this.position < this.limit || fill();
+    }
+
+    public char next() {
+        if (more()) {
+            this.index += 1;
+            return this.buffer[this.position++];
+        }
+        return 0;
+    }
+
+    public String next(int n) throws JSONException {
+        StringBuffer sb = new StringBuffer(n);
+        for (int i = 0; i < n; i++) {
+            if (!more()) {
+                throw syntaxError("Substring bounds error");
+            }
+            sb.append(next());
+        }
+        return sb.toString();
+    }
+
+    public char skipTo(char to) {
+        char c;
+        do {
+            c = next();
+            if (c == 0) {
+                return c;
+            }
+        } while (c != to);
+        back();
+        return c;
+    }
+
+    public void skipPast(String to) {
+        if (to.length() == 0) return;
+
+        // the last characters read, compared with the string once as many have been read
+        StringBuffer window = new StringBuffer(to.length());
+        while (more()) {
+            window.append(next());
+            if (window.length() > to.length()) {
+                window.deleteCharAt(0);
+            }
+            if (window.length() == to.length() && window.toString().equals(to)) {
+                return;
+            }
+        }
+    }
+
+    /**
+     * Reads the next element of the array the text consists of. The first call reads the opening bracket of the array.
+     *
+     * @return True if there was another element, which is then returned by {@link #nextArrayValue()}, or false if the end
+     *         of the array has been reached
+     * @throws JSONException If the text is not an array or is not valid JSON
+     */
+    public boolean nextArrayElement() throws JSONException {
+        if (this.arrayEnded) return false;
+
+        if (!this.inArray) {
+            if (nextClean() != '[') {
+                throw syntaxError("A JSONArray text must start with '['");
+            }
+            this.inArray = true;
+            if (nextClean() == ']') {
+                this.arrayEnded = true;
+                return false;
+            }
+            back();
+            return true;
+        }
+
+        // as in JSONArray, the element just read is followed by a separator or the end of the array
+        switch (nextClean()) {
+            case ';':
+            case ',':
+                if (nextClean() == ']') {
+                    this.arrayEnded = true;
+                    return false;
+                }
+                back();
+                return true;
+            case ']':
+                this.arrayEnded = true;
+                return false;
+            default:
+                throw syntaxError("Expected a ',' or ']'");
+        }
+    }
+
+    /**
+     * Returns the value of the element found by {@link #nextArrayElement()}, which is null for an element that is
+     * left out, as in [1,,2]
+     *
+     * @return The value of the element
+     * @throws JSONException If the element is not valid JSON
+     */
+    public Object nextArrayValue() throws JSONException {
+        if (nextClean() == ',') {
+            back();
+            return null;
+        }
+        back();
+        return nextValue();
+    }
+
+    public String toString() {
+        return " at character " + this.index;
+    }
+
+    private boolean fill() {
+        if (this.eof) return false;
+
+        int keep = Math.min(this.position, PUSHBACK);
+        System.arraycopy(this.buffer, this.position - keep, this.buffer, 0, keep);
+        this.position = keep;
+        this.limit = keep;
+        try {
+            int read;
+            do {
+                read = this.reader.read(this.buffer, keep, this.buffer.length - keep);
+            } while (read == 0);
+
+            if (read < 0) {
+                this.eof = true;
+                return false;
+            }
+            this.limit = keep + read;
+            return true;
+        } catch (IOException e) {
+            throw new JSONStreamException("Error reading JSON" + toString(), e);
+        }
+    }
+
+    /**
+     * Signals that the Reader the text is read from failed. The methods of JSONTokener that read characters don't
+     * declare exceptions, so the failure is unchecked.
+     */
+    public static class JSONStreamException extends RuntimeException {
+        public JSONStreamException(String message, Throwable cause) {
+            super(message, cause);
+        }
+    }
+}
@@ -27,6 +27,10 @@ import java.util.*;
  * <p>The default implementation of the UrlMappingsHolder interface that takes a list of mappings and
  * then sorts them according to their precdence rules as defined in the implementation of Comparable
  *
+ * <p>The sorted mappings are indexed by their static leading tokens in a UrlMappingTrie so that a URI is only
+ * matched against the mappings that could possibly match it
+ *
+ * @see org.codehaus.groovy.grails.web.mapping.UrlMappingTrie
  * @see org.codehaus.groovy.grails.web.mapping.UrlMapping
  * @see Comparable
  *
@@ -41,6 +45,7 @@ public class DefaultUrlMappingsHolder implements UrlMappingsHolder {
 
     private List urlMappings = new ArrayList();
     private UrlMapping[] mappings;
+    private UrlMappingTrie mappingTrie;
     private Map mappingsLookup = new HashMap();
     private Set DEFAULT_CONTROLLER_PARAMS = new HashSet() {{
            add(UrlMapping.CONTROLLER);
@@ -61,6 +66,7 @@ public class DefaultUrlMappingsHolder implements UrlMappingsHolder {
         Collections.reverse(this.urlMappings);
         
         this.mappings = (UrlMapping[])this.urlMappings.toArray(new UrlMapping[this.urlMappings.size()]);
+        this.mappingTrie = new UrlMappingTrie(this.mappings);
 
         for (int i = 0; i < mappings.length; i++) {
             UrlMapping mapping = mappings[i];
@@ -159,9 +165,10 @@ public class DefaultUrlMappingsHolder implements UrlMappingsHolder {
      */
     public UrlMappingInfo match(String uri) {
         UrlMappingInfo info = null;
-        for (int i = 0; i < mappings.length; i++) {
+        int[] candidates = mappingTrie.getCandidates(uri);
+        for (int i = 0; i < candidates.length; i++) {
 
-            UrlMapping mapping = mappings[i];
+            UrlMapping mapping = mappings[candidates[i]];
             if(LOG.isDebugEnabled())
                 LOG.debug("Attempting to match URI ["+uri+"] with pattern ["+mapping.getUrlData().getUrlPattern()+"]");
 
@@ -177,8 +184,9 @@ public class DefaultUrlMappingsHolder implements UrlMappingsHolder {
 
     public UrlMappingInfo[] matchAll(String uri) {
         List matchingUrls = new ArrayList();
-        for (int i = 0; i < mappings.length; i++) {
-            UrlMapping mapping = mappings[i];
+        int[] candidates = mappingTrie.getCandidates(uri);
+        for (int i = 0; i < candidates.length; i++) {
+            UrlMapping mapping = mappings[candidates[i]];
             if(LOG.isDebugEnabled())
                 LOG.debug("Attempting to match URI ["+uri+"] with pattern ["+mapping.getUrlData().getUrlPattern()+"]");
 
@@ -0,0 +1,184 @@
+/* Copyright 2004-2005 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.codehaus.groovy.grails.web.mapping;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * <p>A segment trie over the static (non-wildcard) leading tokens of a set of UrlMapping instances. Given a URI
+ * the trie returns the indices of the only mappings that could possibly match it, so that the regex of every other
+ * mapping never has to run.</p>
+ *
+ * <p>A mapping such as <code>/blog/(*)/(*)</code> is stored under the node for "blog", whilst a mapping that starts with
+ * a wildcard such as <code>/(*)/(*)?</code> is stored at the root and is a candidate for every URI. The returned indices
+ * are in ascending order so the precedence of the array passed to the constructor is preserved.</p>
+ *
+ * @see org.codehaus.groovy.grails.web.mapping.DefaultUrlMappingsHolder
+ *
+ * @since 1.0.4
+ */
+public class UrlMappingTrie {
+
+    private static final char SLASH = '/';
+    private static final String REGEX_CHARS = "\\^$.|?*+()[]{}";
+    private static final int[] NO_CANDIDATES = new int[0];
+
+    private final Node root = new Node();
+
+    /**
+     * Builds the trie for the given mappings, which are assumed to already be sorted by precedence
+     *
+     * @param mappings The UrlMapping instances
+     */
+    public UrlMappingTrie(UrlMapping[] mappings) {
+        for (int i = 0; i < mappings.length; i++) {
+            UrlMapping mapping = mappings[i];
+            // response code mappings never match a URI
+            if(mapping instanceof ResponseCodeUrlMapping) continue;
+
+            String[] prefix = getStaticPrefix(mapping.getUrlData());
+            Node node = root;
+            for (int j = 0; j < prefix.length; j++) {
+                node = node.getOrCreateChild(prefix[j]);
+            }
+            node.add(i);
+        }
+        root.compact();
+    }
+
+    /**
+     * Returns the indices of the mappings that could match the given URI, in ascending order
+     *
+     * @param uri The URI
+     * @return An array of indices into the array of mappings this trie was built from
+     */
+    public int[] getCandidates(String uri) {
+        int[][] found = null;
+        int foundCount = 0;
+        int total = 0;
+
+        Node node = root;
+        int start = 0;
+        int length = uri != null ? uri.length() : 0;
+        boolean rooted = length > 0 && uri.charAt(0) == SLASH;
+        while(node != null) {
+            if(node.indices.length > 0) {
+                if(found == null) found = new int[4][];
+                else if(foundCount == found.length) {
+                    int[][] tmp = new int[found.length * 2][];
+                    System.arraycopy(found, 0, tmp, 0, foundCount);
+                    found = tmp;
+                }
+                found[foundCount++] = node.indices;
+                total += node.indices.length;
+            }
+            if(!rooted || node.children == null || start >= length) break;
+
+            int end = uri.indexOf(SLASH, start + 1);
+            if(end == -1) end = length;
+            String segment = uri.substring(start + 1, end);
+            node = (Node)node.children.get(segment);
+            start = end;
+        }
+
+        if(foundCount == 0) return NO_CANDIDATES;
+        if(foundCount == 1) return found[0];
+
+        int[] candidates = new int[total];
+        int pos = 0;
+        for (int i = 0; i < foundCount; i++) {
+            System.arraycopy(found[i], 0, candidates, pos, found[i].length);
+            pos += found[i].length;
+        }
+        Arrays.sort(candidates);
+        return candidates;
+    }
+
+    /**
+     * Calculates the leading tokens that every logical URL of the mapping shares and that are matched literally by
+     * the mapping's regex. Optional tokens and tokens containing wildcards or regex characters end the prefix.
+     */
+    private String[] getStaticPrefix(UrlMappingData data) {
+        String[] tokens = data.getTokens();
+        String[] logicalUrls = data.getLogicalUrls();
+
+        int prefixLength = tokens.length;
+        for (int i = 0; i < logicalUrls.length; i++) {
+            String url = logicalUrls[i];
+            int count = 0;
+            if(url.length() > 0) {
+                String[] urlTokens = url.substring(1).split(String.valueOf(SLASH));
+                while(count < urlTokens.length && count < tokens.length && isStatic(urlTokens[count])
+                        && urlTokens[count].equals(tokens[count])) {
+                    count++;
+                }
+            }
+            if(count < prefixLength) prefixLength = count;
+        }
+
+        String[] prefix = new String[prefixLength];
+        System.arraycopy(tokens, 0, prefix, 0, prefixLength);
+        return prefix;
+    }
+
+    private boolean isStatic(String token) {
+        if(token.length() == 0) return false;
+        for (int i = 0; i < token.length(); i++) {
+            if(REGEX_CHARS.indexOf(token.charAt(i)) > -1) return false;
+        }
+        return true;
+    }
+
+    private static class Node {
+        private Map children;
+        private int[] indices = NO_CANDIDATES;
+        private List indexList;
+
+        Node getOrCreateChild(String token) {
+            if(children == null) children = new HashMap();
+            Node child = (Node)children.get(token);
+            if(child == null) {
+                child = new Node();
+                children.put(token, child);
+            }
+            return child;
+        }
+
+        void add(int index) {
+            if(indexList == null) indexList = new ArrayList();
+            indexList.add(new Integer(index));
+        }
+
+        void compact() {
+            if(indexList != null) {
+                indices = new int[indexList.size()];
+                for (int i = 0; i < indices.length; i++) {
+                    indices[i] = ((Integer)indexList.get(i)).intValue();
+                }
+                indexList = null;
+            }
+            if(children != null) {
+                for (Iterator i = children.values().iterator(); i.hasNext();) {
+                    ((Node)i.next()).compact();
+                }
+            }
+        }
+    }
+}
@@ -26,6 +26,8 @@ import org.codehaus.groovy.grails.web.servlet.GrailsApplicationAttributes;
 import org.codehaus.groovy.grails.web.servlet.WrappedResponseHolder;
 import org.codehaus.groovy.grails.web.servlet.mvc.GrailsWebRequest;
 import org.codehaus.groovy.grails.web.util.WebUtils;
+import org.springframework.web.context.WebApplicationContext;
+import org.springframework.web.context.support.WebApplicationContextUtils;
 import org.springframework.web.filter.OncePerRequestFilter;
 import org.springframework.web.servlet.View;
 import org.springframework.web.servlet.ViewResolver;
@@ -42,6 +44,12 @@ import java.util.Collections;
  * <p>A Servlet filter that uses the Grails UrlMappings to match and forward requests to a relevant controller
  * and action
  *
+ * <p>If a UrlMappingsResolutionCache is configured the URL mappings matched by a URI and the controller it dispatched
+ * to are cached so that hot URIs are not matched and resolved again on every request. The cache is looked up once,
+ * when the filter is initialized
+ *
+ * @see org.codehaus.groovy.grails.web.mapping.filter.UrlMappingsResolutionCache
+ *
  * @author Graeme Rocher
  * @since 0.5
  *
@@ -56,11 +64,17 @@ public class UrlMappingsFilter extends OncePerRequestFilter {
     private static final Log LOG = LogFactory.getLog(UrlMappingsFilter.class);
     private static final String GSP_SUFFIX = ".gsp";
     private static final String JSP_SUFFIX = ".jsp";
+    private UrlMappingsResolutionCache resolutionCache;
 
 
     protected void initFilterBean() throws ServletException {
         super.initFilterBean();
         urlHelper.setUrlDecode(false);
+
+        WebApplicationContext ctx = WebApplicationContextUtils.getWebApplicationContext(getServletContext());
+        if(ctx != null && ctx.containsBean(UrlMappingsResolutionCache.BEAN_ID)) {
+            resolutionCache = (UrlMappingsResolutionCache)ctx.getBean(UrlMappingsResolutionCache.BEAN_ID);
+        }
     }
 
     protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain) throws ServletException, IOException {
@@ -82,15 +96,20 @@ public class UrlMappingsFilter extends OncePerRequestFilter {
 
 
         String uri = urlHelper.getPathWithinApplication(request);
+        String format = null;
         if(WebUtils.areFileExtensionsEnabled()) {
-            String format = WebUtils.getFormatFromURI(uri);
+            format = WebUtils.getFormatFromURI(uri);
             if(format!=null) {
                 request.setAttribute(GrailsApplicationAttributes.CONTENT_FORMAT, format);
                 uri = uri.substring(0, (uri.length()-format.length()-1));
             }
         }
 
-        UrlMappingInfo[] urlInfos = holder.matchAll(uri);
+        UrlMappingsResolutionCache cache = resolutionCache != null && resolutionCache.isEnabled() ? resolutionCache : null;
+        UrlMappingsResolutionCache.Entry cached = cache != null ? cache.get(uri, format, request.getMethod()) : null;
+        UrlMappingInfo[] urlInfos = cached != null ? cached.getUrlInfos() : holder.matchAll(uri);
+        String dispatchedControllerUri = null;
+        GrailsClass dispatchedController = null;
         WrappedResponseHolder.setWrappedResponse(response);
         boolean dispatched = false;
         try {
@@ -103,10 +122,16 @@ public class UrlMappingsFilter extends OncePerRequestFilter {
 
                         if (viewName == null) {
                             final String controllerName = info.getControllerName();
-                            GrailsClass controller = application.getArtefactForFeature(ControllerArtefactHandler.TYPE, org.codehaus.groovy.grails.web.util.WebUtils.SLASH + controllerName + org.codehaus.groovy.grails.web.util.WebUtils.SLASH + action);
+                            String controllerUri = org.codehaus.groovy.grails.web.util.WebUtils.SLASH + controllerName + org.codehaus.groovy.grails.web.util.WebUtils.SLASH + action;
+                            GrailsClass controller = cached != null ? cached.getController(controllerUri) : null;
+                            if(controller == null) {
+                                controller = application.getArtefactForFeature(ControllerArtefactHandler.TYPE, controllerUri);
+                            }
                             if(controller == null)  {
                                 continue;
                             }
+                            dispatchedControllerUri = controllerUri;
+                            dispatchedController = controller;
                         }
 
                         dispatched = true;
@@ -141,6 +166,10 @@ public class UrlMappingsFilter extends OncePerRequestFilter {
             WrappedResponseHolder.setWrappedResponse(null);
         }
 
+        if(cache != null && cached == null) {
+            cache.put(uri, format, request.getMethod(), new UrlMappingsResolutionCache.Entry(urlInfos, dispatchedControllerUri, dispatchedController));
+        }
+
         if(!dispatched) {
             if(LOG.isDebugEnabled()) {
                 LOG.debug("No match found, processing remaining filter chain.");
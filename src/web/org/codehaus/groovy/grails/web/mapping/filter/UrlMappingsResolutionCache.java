@@ -0,0 +1,185 @@
+/* Copyright 2004-2005 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.codehaus.groovy.grails.web.mapping.filter;
+
+import org.codehaus.groovy.grails.commons.GrailsClass;
+import org.codehaus.groovy.grails.web.mapping.UrlMappingInfo;
+import org.codehaus.groovy.runtime.metaclass.ConcurrentReaderHashMap;
+import org.springframework.core.style.ToStringCreator;
+
+import java.util.Map;
+
+/**
+ * <p>A size bounded cache of the URL mapping resolutions performed by the UrlMappingsFilter. Each entry is keyed by
+ * the URI, the format extension and the HTTP method of a request and holds the UrlMappingInfo instances the URI matched
+ * together with the controller that the request was last dispatched to.</p>
+ *
+ * <p>The cache is read on every mapped request, so it is backed by a ConcurrentReaderHashMap, which is read without
+ * locking, rather than by a map ordered by access. The bound is therefore approximate: the cache is cleared when an
+ * entry is added while it holds the maximum number of entries, after which the URIs in use fill it again. The hit and
+ * miss counts are not synchronized either and may miss updates made concurrently.</p>
+ *
+ * <p>The cache is disabled unless a maximum size greater than zero is configured with the
+ * <code>grails.urlmapping.cache.maxsize</code> setting. It is cleared whenever the URL mappings or a controller are
+ * reloaded.</p>
+ *
+ * @see org.codehaus.groovy.grails.web.mapping.filter.UrlMappingsFilter
+ *
+ * @since 1.0.4
+ */
+public class UrlMappingsResolutionCache {
+
+    public static final String BEAN_ID = "grailsUrlMappingsResolutionCache";
+
+    private volatile int maxSize;
+    private final Map entries = new ConcurrentReaderHashMap();
+    private volatile long hits;
+    private volatile long misses;
+
+    public UrlMappingsResolutionCache() {
+        this(0);
+    }
+
+    public UrlMappingsResolutionCache(int maxSize) {
+        setMaxSize(maxSize);
+    }
+
+    /**
+     * Sets the maximum number of entries held by the cache, a value of zero or less disables the cache
+     *
+     * @param maxSize The maximum size
+     */
+    public void setMaxSize(int maxSize) {
+        this.maxSize = maxSize;
+        entries.clear();
+    }
+
+    public int getMaxSize() {
+        return maxSize;
+    }
+
+    public boolean isEnabled() {
+        return maxSize > 0;
+    }
+
+    /**
+     * Retrieves the cached resolution for the given URI, format and HTTP method
+     *
+     * @return The Entry or null if there is none
+     */
+    public Entry get(String uri, String format, String httpMethod) {
+        Entry entry = (Entry)entries.get(new Key(uri, format, httpMethod));
+        if(entry != null) hits++;
+        else misses++;
+        return entry;
+    }
+
+    public void put(String uri, String format, String httpMethod, Entry entry) {
+        int limit = maxSize;
+        if(limit <= 0) return;
+
+        Key key = new Key(uri, format, httpMethod);
+        if(entries.size() >= limit && !entries.containsKey(key)) {
+            entries.clear();
+        }
+        entries.put(key, entry);
+    }
+
+    /**
+     * Removes all entries from the cache, called when the URL mappings or controllers change
+     */
+    public void clear() {
+        entries.clear();
+    }
+
+    public int getSize() {
+        return entries.size();
+    }
+
+    public long getHits() {
+        return hits;
+    }
+
+    public long getMisses() {
+        return misses;
+    }
+
+    public void resetStatistics() {
+        hits = 0;
+        misses = 0;
+    }
+
+    public String toString() {
+        return new ToStringCreator(this).append("maxSize", maxSize).append("size", getSize())
+                .append("hits", getHits()).append("misses", getMisses()).toString();
+    }
+
+    /**
+     * An immutable resolution of a URI. The controller is only reused if the URI of the controller and action
+     * evaluated for the current request is the same as the one it was resolved for.
+     */
+    public static class Entry {
+        private final UrlMappingInfo[] urlInfos;
+        private final String controllerUri;
+        private final GrailsClass controller;
+
+        public Entry(UrlMappingInfo[] urlInfos, String controllerUri, GrailsClass controller) {
+            this.urlInfos = urlInfos;
+            this.controllerUri = controllerUri;
+            this.controller = controller;
+        }
+
+        public UrlMappingInfo[] getUrlInfos() {
+            return urlInfos;
+        }
+
+        public GrailsClass getController(String uri) {
+            return controllerUri != null && controllerUri.equals(uri) ? controller : null;
+        }
+    }
+
+    private static class Key {
+        private final String uri;
+        private final String format;
+        private final String httpMethod;
+
+        Key(String uri, String format, String httpMethod) {
+            this.uri = uri;
+            this.format = format;
+            this.httpMethod = httpMethod;
+        }
+
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (o == null || getClass() != o.getClass()) return false;
+
+            Key that = (Key) o;
+
+            if (uri != null ? !uri.equals(that.uri) : that.uri != null) return false;
+            if (format != null ? !format.equals(that.format) : that.format != null) return false;
+            if (httpMethod != null ? !httpMethod.equals(that.httpMethod) : that.httpMethod != null) return false;
+
+            return true;
+        }
+
+        public int hashCode() {
+            int result;
+            result = (uri != null ? uri.hashCode() : 0);
+            result = 31 * result + (format != null ? format.hashCode() : 0);
+            result = 31 * result + (httpMethod != null ? httpMethod.hashCode() : 0);
+            return result;
+        }
+    }
+}
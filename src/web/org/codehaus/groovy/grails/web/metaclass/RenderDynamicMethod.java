@@ -37,7 +37,6 @@ import org.codehaus.groovy.grails.web.servlet.mvc.GrailsWebRequest;
 import org.codehaus.groovy.grails.web.servlet.mvc.exceptions.ControllerExecutionException;
 import org.codehaus.groovy.runtime.DefaultGroovyMethods;
 import org.springframework.context.ApplicationContext;
-import org.springframework.core.io.Resource;
 import org.springframework.web.context.request.RequestContextHolder;
 import org.springframework.web.servlet.ModelAndView;
 
@@ -190,12 +189,9 @@ public class RenderDynamicMethod extends AbstractDynamicMethodInvocation {
         // retrieve gsp engine
         GroovyPagesTemplateEngine engine = attrs.getPagesTemplateEngine();
         try {
-            Resource r = engine.getResourceForUri(contextPath + templateUri);
-            if (!r.exists()) {
-                r = engine.getResourceForUri(contextPath + "/grails-app/views/"  + templateUri);
-            }
-
-            Template t = engine.createTemplate(r); //templateUri);
+            Template t = engine.createTemplateForUri(new String[] {
+                    contextPath + templateUri,
+                    contextPath + "/grails-app/views/"  + templateUri });
 
             if (t == null) {
                 throw new ControllerExecutionException("Unable to load template for uri [" + templateUri + "]. Template not found.");
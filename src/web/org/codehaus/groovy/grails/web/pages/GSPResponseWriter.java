@@ -17,10 +17,18 @@ package org.codehaus.groovy.grails.web.pages;
 
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
+import org.codehaus.groovy.grails.web.util.WebUtils;
 import org.codehaus.groovy.runtime.InvokerHelper;
 
 import javax.servlet.ServletResponse;
 import java.io.*;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.charset.CharacterCodingException;
+import java.nio.charset.Charset;
+import java.nio.charset.CharsetEncoder;
+import java.nio.charset.CoderResult;
+import java.nio.charset.CodingErrorAction;
 
 /**
  * NOTE: Based on work done by on the GSP standalone project (https://gsp.dev.java.net/)
@@ -37,8 +45,12 @@ import java.io.*;
 public class GSPResponseWriter extends PrintWriter {
 	private static final Log LOG = LogFactory.getLog(GSPResponseWriter.class);
 	private ServletResponse response;
-	private CharArrayWriter out0 = new CharArrayWriter();
+	private BufferWriter out0;
 	private Writer out1;
+	private OutputStream byteOut;
+	private boolean streamBytes;
+	private CharsetEncoder encoder;
+	private ByteBuffer byteBuffer;
 	private int max;
 	private boolean trouble = false;
 	private int totalLength;
@@ -49,12 +61,14 @@ public class GSPResponseWriter extends PrintWriter {
 	 * @param response
 	 * @param out
 	 * @param max
+	 * @param streamBytes Whether to encode the buffer straight to the response OutputStream
 	 */
-	private GSPResponseWriter(ServletResponse response, CharArrayWriter out, int max) {
+	private GSPResponseWriter(ServletResponse response, BufferWriter out, int max, boolean streamBytes) {
 		super(out);
 		this.response = response;
 		this.out0 = out;
 		this.max = max;
+		this.streamBytes = streamBytes;
 	} // GSPResponseWriter
 
 	/**
@@ -63,7 +77,7 @@ public class GSPResponseWriter extends PrintWriter {
 	 * @param out
 	 * @param max
 	 */
-	private GSPResponseWriter(Writer writer, CharArrayWriter out, int max) {
+	private GSPResponseWriter(Writer writer, BufferWriter out, int max) {
 		super(out);
 		this.out0 = out;
         this.out1 = writer;
@@ -88,24 +102,31 @@ public class GSPResponseWriter extends PrintWriter {
 	 * @see #checkError()
 	 */
 	public void close() {
-		if (!response.isCommitted()) {
-			try {
-				response.setContentLength( totalLength += getContentLength(out0.toString()) );
-			} catch (UnsupportedEncodingException e) {
-				LOG.error("Encoding error setting content length: " + e.getMessage(),e  );				
+		if(streamBytes && !trouble) {
+			super.flush();
+			flushBytes(true);
+		}
+		else {
+			if (response != null && !response.isCommitted()) {
+				response.setContentLength( totalLength + getContentLength() );
 			}
+			flush();
 		}
-		flush();
 		super.close();
 	} // close()
 
 	/**
-	 * Flush the stream.
+	 * Flush the stream. The writer is only ever used by the thread handling the request so the
+	 * flush is not synchronized.
 	 * @see #checkError()
 	 */
-	public synchronized void flush() {
+	public void flush() {
 		if (trouble) return;
 		super.flush();
+		if(streamBytes) {
+			flushBytes(false);
+			return;
+		}
 		if (out1 == null) {
 			try {
 				out1 = response.getWriter();
@@ -115,13 +136,10 @@ public class GSPResponseWriter extends PrintWriter {
 				return;
 			}
 		}
-		try {			
-			String contents = out0.toString();
-			out1.write(contents.toCharArray());
-			try {
-				totalLength += getContentLength(contents);
-			} catch (UnsupportedEncodingException e) {
-				LOG.error("Encoding error getting content length: " + e.getMessage(),e  );				
+		try {
+			out0.writeTo(out1);
+			if(response != null) {
+				totalLength += getContentLength();
 			}
 			out0.reset();
 		} catch (IOException e) {
@@ -131,24 +149,230 @@ public class GSPResponseWriter extends PrintWriter {
 	} // flush()
 
 	/**
-	 * Retrieves the content length for the contents using the response character encoding
-	 * 
-	 * @param contents The contents
+	 * Encodes the buffered characters once, straight into a reusable byte buffer, and writes the bytes to
+	 * the response OutputStream. If the response Writer has already been obtained the writer falls back to
+	 * writing characters to it.
+	 *
+	 * @param last Whether this is the last flush, in which case the content length is set if possible
+	 */
+	private void flushBytes(boolean last) {
+		if (byteOut == null && !openOutputStream()) {
+			if(!trouble) {
+				if(last) {
+					if (!response.isCommitted()) {
+						response.setContentLength( totalLength + getContentLength() );
+					}
+				}
+				flush();
+			}
+			return;
+		}
+		try {
+			int length = encode(last);
+			if(last && !response.isCommitted()) {
+				response.setContentLength( totalLength + length );
+			}
+			writeByteBuffer();
+		} catch (IOException e) {
+			LOG.debug("I/O excepton flushing output in GSP response writer: " + e.getMessage(),e  );
+			trouble = true;
+		}
+	}
+
+	/**
+	 * Obtains the response OutputStream. If the response Writer has already been obtained byte streaming is
+	 * switched off.
+	 *
+	 * @return True if the OutputStream was obtained
+	 */
+	private boolean openOutputStream() {
+		try {
+			byteOut = response.getOutputStream();
+			encoder = createEncoder(response.getCharacterEncoding());
+			return true;
+		} catch (IllegalStateException e) {
+			LOG.debug("Response writer already obtained, writing characters instead of bytes: " + e.getMessage());
+			streamBytes = false;
+		} catch (IOException e) {
+			LOG.debug("I/O excepton flushing output in GSP response writer: " + e.getMessage(),e  );
+			trouble = true;
+		}
+		return false;
+	}
+
+	private void writeByteBuffer() throws IOException {
+		int length = byteBuffer.position();
+		byteOut.write(byteBuffer.array(), 0, length);
+		totalLength += length;
+		byteBuffer.clear();
+	}
+
+	/**
+	 * Returns the Charset the writer encodes characters with when it is streaming bytes to the response
+	 * OutputStream, so that text already encoded with that Charset can be written with
+	 * {@link #writeEncoded(String, byte[])}
+	 *
+	 * @return The Charset or null if the writer writes characters to a Writer
+	 */
+	public Charset getStreamCharset() {
+		if (!streamBytes || trouble) return null;
+		if (byteOut == null && !openOutputStream()) return null;
+		return encoder.charset();
+	}
+
+	/**
+	 * Writes text that has already been encoded with the Charset returned by {@link #getStreamCharset()},
+	 * appending the bytes after the buffered characters without encoding the text again. If the writer is
+	 * not streaming bytes the text is written as characters instead.
+	 *
+	 * @param text The text
+	 * @param bytes The text encoded with the stream Charset
+	 */
+	public void writeEncoded(String text, byte[] bytes) {
+		if (getStreamCharset() == null) {
+			write(text);
+			return;
+		}
+		super.flush();
+		int size = out0.size();
+		if (size > 0 && isHighSurrogate(out0.getBuffer()[size - 1])) {
+			// the pending surrogate pair can't be split by the encoded text
+			write(text);
+			return;
+		}
+		try {
+			if (size > 0) {
+				encode(false);
+			}
+			if (byteBuffer != null && byteBuffer.position() > 0 && byteBuffer.position() + bytes.length > max) {
+				writeByteBuffer();
+			}
+			if (bytes.length >= max) {
+				byteOut.write(bytes);
+				totalLength += bytes.length;
+			}
+			else {
+				ensureByteBufferCapacity(bytes.length);
+				byteBuffer.put(bytes);
+			}
+		} catch (IOException e) {
+			LOG.debug("I/O excepton flushing output in GSP response writer: " + e.getMessage(),e  );
+			trouble = true;
+		}
+	}
+
+	private static boolean isHighSurrogate(char c) {
+		return c >= '\uD800' && c <= '\uDBFF';
+	}
+
+	/**
+	 * Grows the byte buffer, keeping the bytes it holds, so that the given number of bytes can be added to it
+	 */
+	private void ensureByteBufferCapacity(int additional) {
+		int required = (byteBuffer != null ? byteBuffer.position() : 0) + additional;
+		if(byteBuffer == null || byteBuffer.capacity() < required) {
+			ByteBuffer buffer = ByteBuffer.allocate(Math.max(required, (int)(max * encoder.averageBytesPerChar())));
+			if(byteBuffer != null) {
+				byteBuffer.flip();
+				buffer.put(byteBuffer);
+			}
+			byteBuffer = buffer;
+		}
+	}
+
+	/**
+	 * Encodes the character buffer into the byte buffer, after any bytes it already holds, growing the byte
+	 * buffer if necessary. Unless this is the end of the input a trailing high surrogate is kept in the
+	 * character buffer so that it is encoded together with the low surrogate that follows it.
+	 *
+	 * @return The number of bytes held by the byte buffer
+	 */
+	private int encode(boolean endOfInput) throws CharacterCodingException {
+		int size = out0.size();
+		ensureByteBufferCapacity((int)Math.ceil(size * encoder.maxBytesPerChar()) + 16);
+
+		CharBuffer in = CharBuffer.wrap(out0.getBuffer(), 0, size);
+		CoderResult result = encoder.encode(in, byteBuffer, endOfInput);
+		if(result.isError()) result.throwException();
+		if(endOfInput) {
+			result = encoder.flush(byteBuffer);
+			if(result.isError()) result.throwException();
+		}
+
+		int remaining = in.remaining();
+		out0.reset();
+		if(remaining > 0) {
+			out0.write(in.array(), in.position(), remaining);
+		}
+		return byteBuffer.position();
+	}
+
+	private static CharsetEncoder createEncoder(String encoding) {
+		Charset charset;
+		try {
+			charset = Charset.forName(encoding != null ? encoding : "ISO-8859-1");
+		} catch (IllegalArgumentException e) {
+			LOG.warn("Unsupported response encoding ["+encoding+"], using ISO-8859-1");
+			charset = Charset.forName("ISO-8859-1");
+		}
+		return charset.newEncoder()
+				.onMalformedInput(CodingErrorAction.REPLACE)
+				.onUnmappableCharacter(CodingErrorAction.REPLACE);
+	}
+
+	/**
+	 * Retrieves the content length of the buffered characters using the response character encoding, reusing
+	 * the byte buffer rather than creating a new byte array
+	 *
 	 * @return The content length
-	 * @throws UnsupportedEncodingException
 	 */
-	private int getContentLength(String contents) throws UnsupportedEncodingException {
-		return contents.getBytes(response.getCharacterEncoding()).length;
+	private int getContentLength() {
+		if(encoder == null) {
+			encoder = createEncoder(response.getCharacterEncoding());
+		}
+		if(byteBuffer == null) {
+			byteBuffer = ByteBuffer.allocate(Math.max(64, (int)(max * encoder.averageBytesPerChar())));
+		}
+		encoder.reset();
+		CharBuffer in = CharBuffer.wrap(out0.getBuffer(), 0, out0.size());
+		int length = 0;
+		while(true) {
+			CoderResult result = encoder.encode(in, byteBuffer, true);
+			length += byteBuffer.position();
+			byteBuffer.clear();
+			if(result.isUnderflow()) break;
+		}
+		while(true) {
+			CoderResult result = encoder.flush(byteBuffer);
+			length += byteBuffer.position();
+			byteBuffer.clear();
+			if(result.isUnderflow()) break;
+		}
+		encoder.reset();
+		return length;
 	}
 
 	/**
-	 * Static factory method to create the writer.
+	 * Static factory method to create the writer. Whether the writer encodes straight to the response
+	 * OutputStream is controlled by the <code>grails.views.gsp.streamBytes</code> setting.
 	 * @param response
 	 * @param max
 	 * @return  A GSPResponseWriter instance
 	 */
 	public static GSPResponseWriter getInstance(ServletResponse response, int max) {
-		return new GSPResponseWriter(response, new CharArrayWriter(max), max);
+		return getInstance(response, max, WebUtils.isGspByteStreamingEnabled());
+	} // getInstance()
+
+	/**
+	 * Static factory method to create the writer.
+	 * @param response
+	 * @param max
+	 * @param streamBytes If true characters are encoded once into a reusable byte buffer and written to the
+	 * response OutputStream, otherwise they are written to the response Writer
+	 * @return  A GSPResponseWriter instance
+	 */
+	public static GSPResponseWriter getInstance(ServletResponse response, int max, boolean streamBytes) {
+		return new GSPResponseWriter(response, new BufferWriter(max), max, streamBytes);
 	} // getInstance()
 
 	/**
@@ -158,7 +382,7 @@ public class GSPResponseWriter extends PrintWriter {
 	 * @return  A GSPResponseWriter instance
 	 */
 	public static GSPResponseWriter getInstance(Writer target, int max) {
-		return new GSPResponseWriter(target, new CharArrayWriter(max), max);
+		return new GSPResponseWriter(target, new BufferWriter(max), max);
 	} // getInstance()
 
     /**
@@ -259,4 +483,18 @@ public class GSPResponseWriter extends PrintWriter {
         return this;
     }
 
+    /**
+     * A CharArrayWriter that exposes its buffer so that it can be encoded without copying
+     */
+    private static class BufferWriter extends CharArrayWriter {
+        BufferWriter(int initialSize) {
+            super(initialSize);
+        }
+
+        char[] getBuffer() {
+            return buf;
+        }
+    }
+
 } // GSPResponseWriter
+
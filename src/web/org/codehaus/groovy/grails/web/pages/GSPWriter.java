@@ -48,6 +48,13 @@ public class GSPWriter extends PrintWriter {
         println();
     }
 
+    public void printlnHtmlPart(int index, String s) {
+        super.print("printHtmlPart(" + index + ", ");
+        super.print(s);
+        super.print(")");
+        println();
+    }
+
     public void printlnToBuffer(String s, int index) {
         if(s == null) s = "''";
         super.print("buf"+index+" << ");
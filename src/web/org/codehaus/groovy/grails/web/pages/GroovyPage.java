@@ -35,6 +35,7 @@ import javax.servlet.ServletContext;
 import java.io.IOException;
 import java.io.StringWriter;
 import java.io.Writer;
+import java.nio.charset.Charset;
 import java.util.*;
 
 /**
@@ -85,6 +86,10 @@ public abstract class GroovyPage extends Script {
     private GrailsApplication application;
     private static final String BLANK_STRING = "";
     private ApplicationContext applicationContext;
+    private GroovyPageTagInvokerCache tagInvokerCache;
+    private GroovyPageHtmlParts htmlParts;
+    // shorter parts are cheaper to copy into the character buffer than to flush it and append bytes
+    private static final int MIN_ENCODED_HTML_PART_LENGTH = 64;
 
 
     /**
@@ -208,30 +213,13 @@ public abstract class GroovyPage extends Script {
 	            initPageState();
 
 
-            if( getTagLibForNamespace(tagNamespace) != null ) {
-                GroovyObject tagLib = getTagLib(tagName,tagNamespace);
-                if(tagLib != null) {
-                    Object tagLibProp;
-                    BeanWrapper bean = getTagLibraryBean(tagLib, webRequest);
-                    if(bean.isReadableProperty(tagName)) {
-                        tagLibProp = tagLib.getProperty(tagName);
-                    } else {
-                        throw new GrailsTagException("Tag ["+tagName+"] does not exist in tag library ["+tagLib.getClass().getName()+"]");
-                    }
-                    if(tagLibProp instanceof Closure) {
-                        Closure tag = setupTagClosure(tagLibProp);
-
-                        if(tag.getParameterTypes().length == 1) {
-                            tag.call( new Object[]{ attrs });
-                            if(body != null) {
-                                body.call();
-                            }
-                        }
-                        if(tag.getParameterTypes().length == 2) {
-                            tag.call( new Object[] { attrs, body });
-                        }
+            GroovyPageTagInvokerCache.TagInvoker invoker = getTagInvokerCache().getTagInvoker(tagNamespace, tagName, application, applicationContext);
+            if( invoker != GroovyPageTagInvokerCache.NOT_A_TAG_LIBRARY ) {
+                if(invoker != null) {
+                    if(invoker.isTag()) {
+                        invoker.invoke(attrs, body);
                     }else {
-                       throw new GrailsTagException("Tag ["+tagName+"] does not exist in tag library ["+tagLib.getClass().getName()+"]");
+                       throw new GrailsTagException("Tag ["+tagName+"] does not exist in tag library ["+invoker.getTagLib().getClass().getName()+"]");
                     }
                 }
                 else {
@@ -264,6 +252,56 @@ public abstract class GroovyPage extends Script {
 		}		
     }
 
+    /**
+     * Sets the cache of resolved tags shared by all instances of this page class
+     *
+     * @param tagInvokerCache The GroovyPageTagInvokerCache held by the page's GroovyPageMetaInfo
+     */
+    void setTagInvokerCache(GroovyPageTagInvokerCache tagInvokerCache) {
+        this.tagInvokerCache = tagInvokerCache;
+    }
+
+    private GroovyPageTagInvokerCache getTagInvokerCache() {
+        if(this.tagInvokerCache == null) {
+            this.tagInvokerCache = new GroovyPageTagInvokerCache();
+        }
+        return this.tagInvokerCache;
+    }
+
+    /**
+     * Sets the encoded static HTML parts shared by all instances of this page class
+     *
+     * @param htmlParts The GroovyPageHtmlParts held by the page's GroovyPageMetaInfo
+     */
+    void setHtmlParts(GroovyPageHtmlParts htmlParts) {
+        this.htmlParts = htmlParts;
+    }
+
+    /**
+     * Writes a static HTML part of the page to the current out. When out is a GSPResponseWriter streaming
+     * bytes the part is written in its encoded form, which is encoded once per page class rather than on
+     * every request.
+     *
+     * @param index The index of the part within the page
+     * @param text The text of the part
+     * @throws IOException Thrown if the part cannot be written
+     */
+    protected final void printHtmlPart(int index, String text) throws IOException {
+        Writer out = (Writer)getBinding().getVariable(OUT);
+        if(text.length() >= MIN_ENCODED_HTML_PART_LENGTH && out instanceof GSPResponseWriter) {
+            GSPResponseWriter responseWriter = (GSPResponseWriter)out;
+            Charset charset = responseWriter.getStreamCharset();
+            if(charset != null) {
+                if(this.htmlParts == null) {
+                    this.htmlParts = new GroovyPageHtmlParts();
+                }
+                responseWriter.writeEncoded(text, this.htmlParts.getBytes(index, text, charset));
+                return;
+            }
+        }
+        out.write(text);
+    }
+
     private void initPageState() {
         if(this.application == null) {
             ServletContext context = (ServletContext)getBinding().getVariable(SERVLET_CONTEXT);
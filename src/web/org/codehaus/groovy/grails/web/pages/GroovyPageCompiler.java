@@ -0,0 +1,177 @@
+/* Copyright 2004-2005 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.codehaus.groovy.grails.web.pages;
+
+import groovy.lang.GroovyClassLoader;
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.codehaus.groovy.control.CompilationFailedException;
+import org.codehaus.groovy.control.CompilationUnit;
+import org.codehaus.groovy.control.CompilerConfiguration;
+import org.codehaus.groovy.grails.commons.ConfigurationHolder;
+import org.springframework.util.FileCopyUtils;
+
+import java.io.*;
+import java.util.Properties;
+
+/**
+ * <p>Compiles the GSP views of an application ahead of time. Each page is parsed and compiled into a class in the
+ * target directory and an entry is added to an index, stored at {@link #PRECOMPILED_INDEX} relative to the target
+ * directory, that maps the URI of the page within the servlet context to the name of its class and its content
+ * type.</p>
+ *
+ * <p>When reloading is disabled the GroovyPagesTemplateEngine loads the classes listed in the index at startup, so
+ * that pages are not parsed and compiled on their first request. Pages that cannot be compiled ahead of time, such
+ * as those that use a codec, are left out of the index and compiled at runtime.</p>
+ *
+ * @see org.codehaus.groovy.grails.web.pages.GroovyPagesTemplateEngine
+ *
+ * @since 1.0.4
+ */
+public class GroovyPageCompiler {
+
+    private static final Log LOG = LogFactory.getLog(GroovyPageCompiler.class);
+
+    public static final String PRECOMPILED_INDEX = "gsp/views.properties";
+    public static final String CONTENT_TYPE_SUFFIX = ".contentType";
+
+    private static final String CONFIG_PROPERTY_DEFAULT_CODEC = "grails.views.default.codec";
+    private static final String DEFAULT_CODEC_DIRECTIVE = "defaultCodec";
+
+    private File targetDir;
+    private ClassLoader classLoader;
+    private Properties index = new Properties();
+
+    /**
+     * @param targetDir The directory to write the compiled classes and the index to
+     * @param classLoader The ClassLoader used to resolve the classes referenced by pages
+     */
+    public GroovyPageCompiler(File targetDir, ClassLoader classLoader) {
+        if(targetDir == null) throw new IllegalArgumentException("Argument [targetDir] cannot be null");
+        this.targetDir = targetDir;
+        this.classLoader = classLoader != null ? classLoader : Thread.currentThread().getContextClassLoader();
+    }
+
+    /**
+     * Compiles the GSP files within the given directory and its sub directories
+     *
+     * @param viewsDir The directory containing the views
+     * @param viewsUri The URI of the directory within the servlet context, for example /WEB-INF/grails-app/views
+     * @return The number of pages compiled
+     * @throws IOException Thrown if a page cannot be read
+     */
+    public int compileViews(File viewsDir, String viewsUri) throws IOException {
+        Object codec = ConfigurationHolder.getFlatConfig().get(CONFIG_PROPERTY_DEFAULT_CODEC);
+        if(codec != null && !"none".equalsIgnoreCase(codec.toString().trim())) {
+            LOG.warn("Views will be compiled at runtime because a default codec is configured with [" +
+                    CONFIG_PROPERTY_DEFAULT_CODEC + "]");
+            return 0;
+        }
+        if(!viewsDir.isDirectory()) return 0;
+
+        return compileViewsInDir(viewsDir, viewsUri.endsWith("/") ? viewsUri.substring(0, viewsUri.length() - 1) : viewsUri);
+    }
+
+    private int compileViewsInDir(File dir, String uri) throws IOException {
+        int count = 0;
+        File[] files = dir.listFiles();
+        for (int i = 0; i < files.length; i++) {
+            File file = files[i];
+            String fileUri = uri + '/' + file.getName();
+            if(file.isDirectory()) {
+                count += compileViewsInDir(file, fileUri);
+            }
+            else if(file.getName().endsWith(GroovyPage.EXTENSION) && compilePage(file, fileUri)) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Compiles a single page and adds it to the index
+     *
+     * @param file The GSP file
+     * @param uri The URI of the page within the servlet context
+     * @return True if the page was compiled
+     * @throws IOException Thrown if the page cannot be read
+     */
+    public boolean compilePage(File file, String uri) throws IOException {
+        byte[] source = FileCopyUtils.copyToByteArray(file);
+        // the codec of a page is resolved against the GrailsApplication, which does not exist at build time
+        if(new String(source).indexOf(DEFAULT_CODEC_DIRECTIVE) > -1) {
+            LOG.info("Page [" + uri + "] uses a codec and will be compiled at runtime");
+            return false;
+        }
+
+        String className = getClassNameForUri(uri);
+        Parse parse = new Parse(className, file.getPath(), new ByteArrayInputStream(source));
+        InputStream groovySource = parse.parse();
+
+        CompilerConfiguration config = new CompilerConfiguration();
+        config.setTargetDirectory(targetDir);
+        config.setSourceEncoding(Parse.GROOVY_SOURCE_CHAR_ENCODING);
+        CompilationUnit unit = new CompilationUnit(config, null, new GroovyClassLoader(classLoader, config));
+        unit.addSource(className, groovySource);
+        try {
+            unit.compile();
+        }
+        catch (CompilationFailedException e) {
+            LOG.warn("Page [" + uri + "] could not be compiled and will be compiled at runtime: " + e.getMessage());
+            return false;
+        }
+
+        index.setProperty(uri, className);
+        index.setProperty(uri + CONTENT_TYPE_SUFFIX, parse.getContentType());
+        return true;
+    }
+
+    /**
+     * Writes the index of the compiled pages to the target directory
+     *
+     * @throws IOException Thrown if the index cannot be written
+     */
+    public void writeIndex() throws IOException {
+        File indexFile = new File(targetDir, PRECOMPILED_INDEX);
+        indexFile.getParentFile().mkdirs();
+        OutputStream out = new FileOutputStream(indexFile);
+        try {
+            index.store(out, "Precompiled Groovy Server Pages");
+        }
+        finally {
+            out.close();
+        }
+    }
+
+    public Properties getIndex() {
+        return index;
+    }
+
+    /**
+     * Calculates the name of the class of a precompiled page from its URI in the same way that Parse names the class
+     * of a page compiled at runtime
+     *
+     * @param uri The URI of the page within the servlet context
+     * @return The class name
+     */
+    public static String getClassNameForUri(String uri) {
+        String name = uri.startsWith("/") ? uri.substring(1) : uri;
+        name = name.replaceAll("[^\\w\\d]", "_");
+        if(name.length() > 0 && Character.isDigit(name.charAt(0))) {
+            name = '_' + name.substring(1);
+        }
+        return name;
+    }
+}
@@ -0,0 +1,88 @@
+/* Copyright 2004-2005 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.codehaus.groovy.grails.web.pages;
+
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.charset.Charset;
+
+/**
+ * <p>Holds the static HTML parts of a page class encoded into bytes, so that they are encoded once rather than on
+ * every request. A part is encoded the first time it is written to a response that streams bytes and the encoded
+ * parts are shared by all instances of the page class through its GroovyPageMetaInfo.</p>
+ *
+ * <p>The parts are kept for a single Charset, the one most recently asked for, which is the response encoding of
+ * almost every application. The byte arrays are never modified once they have been published.</p>
+ *
+ * @see org.codehaus.groovy.grails.web.pages.GroovyPage#printHtmlPart(int, String)
+ *
+ * @since 1.0.4
+ */
+class GroovyPageHtmlParts {
+
+    private volatile EncodedParts encodedParts = new EncodedParts(null, new byte[0][]);
+
+    /**
+     * Returns a static HTML part of the page encoded with the given Charset
+     *
+     * @param index The index of the part within the page
+     * @param text The text of the part
+     * @param charset The Charset to encode with
+     * @return The encoded part
+     */
+    byte[] getBytes(int index, String text, Charset charset) {
+        EncodedParts parts = this.encodedParts;
+        if(parts.isFor(charset) && index < parts.bytes.length && parts.bytes[index] != null) {
+            return parts.bytes[index];
+        }
+        return encode(index, text, charset);
+    }
+
+    private synchronized byte[] encode(int index, String text, Charset charset) {
+        EncodedParts parts = this.encodedParts;
+        byte[][] bytes;
+        if(parts.isFor(charset)) {
+            if(index < parts.bytes.length && parts.bytes[index] != null) return parts.bytes[index];
+            bytes = new byte[Math.max(index + 1, parts.bytes.length)][];
+            System.arraycopy(parts.bytes, 0, bytes, 0, parts.bytes.length);
+        }
+        else {
+            bytes = new byte[index + 1][];
+        }
+
+        ByteBuffer buffer = charset.encode(CharBuffer.wrap(text));
+        byte[] encoded = new byte[buffer.remaining()];
+        buffer.get(encoded);
+        bytes[index] = encoded;
+
+        // the copy is published as a whole so that readers never see a partially filled array
+        this.encodedParts = new EncodedParts(charset, bytes);
+        return encoded;
+    }
+
+    private static class EncodedParts {
+        private final Charset charset;
+        private final byte[][] bytes;
+
+        EncodedParts(Charset charset, byte[][] bytes) {
+            this.charset = charset;
+            this.bytes = bytes;
+        }
+
+        boolean isFor(Charset charset) {
+            return this.charset == charset || (this.charset != null && this.charset.equals(charset));
+        }
+    }
+}
@@ -33,6 +33,8 @@ class GroovyPageMetaInfo {
     private InputStream groovySource;
     private String contentType;
     private int[] lineNumbers;
+    private GroovyPageTagInvokerCache tagInvokerCache = new GroovyPageTagInvokerCache();
+    private GroovyPageHtmlParts htmlParts = new GroovyPageHtmlParts();
 
 
     public Class getPageClass() {
@@ -74,5 +76,12 @@ class GroovyPageMetaInfo {
     public void setLineNumbers(int[] lineNumbers) {
         this.lineNumbers = lineNumbers;
     }
-}
 
+    public GroovyPageTagInvokerCache getTagInvokerCache() {
+        return tagInvokerCache;
+    }
+
+    public GroovyPageHtmlParts getHtmlParts() {
+        return htmlParts;
+    }
+}
@@ -0,0 +1,150 @@
+/* Copyright 2004-2005 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.codehaus.groovy.grails.web.pages;
+
+import groovy.lang.Closure;
+import groovy.lang.GroovyObject;
+import org.codehaus.groovy.grails.commons.GrailsApplication;
+import org.codehaus.groovy.grails.commons.GrailsClass;
+import org.codehaus.groovy.grails.commons.TagLibArtefactHandler;
+import org.codehaus.groovy.runtime.metaclass.ConcurrentReaderHashMap;
+import org.springframework.beans.BeanWrapper;
+import org.springframework.context.ApplicationContext;
+
+import java.util.Map;
+
+/**
+ * <p>Caches the resolution of a namespace and tag name to the tag library closure that implements it, so that once a
+ * compiled page has invoked a tag the artefact lookups, bean lookup and property checks performed by
+ * GroovyPage.invokeTag are not repeated.</p>
+ *
+ * <p>An instance is held by the GroovyPageMetaInfo of each compiled page. All instances are invalidated by calling
+ * {@link #invalidateAll()} when a tag library is reloaded, and an instance is also reset if it is used with a different
+ * ApplicationContext than the one it was populated from.</p>
+ *
+ * @see org.codehaus.groovy.grails.web.pages.GroovyPage#invokeTag(String, String, java.util.Map, groovy.lang.Closure)
+ *
+ * @since 1.0.4
+ */
+public class GroovyPageTagInvokerCache {
+
+    /**
+     * Returned for a namespace that does not belong to any tag library, in which case the tag is output as plain markup
+     */
+    public static final TagInvoker NOT_A_TAG_LIBRARY = new TagInvoker(null, null);
+
+    private static volatile int generation;
+
+    private volatile Map namespaces = new ConcurrentReaderHashMap();
+    private ApplicationContext applicationContext;
+    private int cacheGeneration = generation;
+
+    /**
+     * Invalidates the resolved tags of every page, called when a tag library is added or reloaded
+     */
+    public static synchronized void invalidateAll() {
+        generation++;
+    }
+
+    /**
+     * Resolves the given tag to a TagInvoker
+     *
+     * @param namespace The namespace of the tag
+     * @param tagName The name of the tag
+     * @param application The GrailsApplication
+     * @param applicationContext The ApplicationContext holding the tag library beans
+     *
+     * @return The TagInvoker, NOT_A_TAG_LIBRARY if there is no tag library for the namespace or null if the namespace
+     * exists but there is no tag library that provides the tag
+     */
+    public TagInvoker getTagInvoker(String namespace, String tagName, GrailsApplication application, ApplicationContext applicationContext) {
+        if(this.cacheGeneration != generation || this.applicationContext != applicationContext) {
+            reset(applicationContext);
+        }
+
+        Object resolved = namespaces.get(namespace);
+        if(resolved == NOT_A_TAG_LIBRARY) return NOT_A_TAG_LIBRARY;
+
+        Map tags = (Map)resolved;
+        if(tags != null) {
+            TagInvoker invoker = (TagInvoker)tags.get(tagName);
+            if(invoker != null) return invoker;
+        }
+        else if(application.getArtefactForFeature(TagLibArtefactHandler.TYPE, namespace) == null) {
+            namespaces.put(namespace, NOT_A_TAG_LIBRARY);
+            return NOT_A_TAG_LIBRARY;
+        }
+        else {
+            tags = new ConcurrentReaderHashMap();
+            namespaces.put(namespace, tags);
+        }
+
+        GrailsClass tagLibClass = application.getArtefactForFeature(TagLibArtefactHandler.TYPE, namespace + ':' + tagName);
+        if(tagLibClass == null) return null;
+
+        GroovyObject tagLib = (GroovyObject)applicationContext.getBean(tagLibClass.getFullName());
+        BeanWrapper bean = tagLibClass.getReference();
+        Object tag = bean.isReadableProperty(tagName) ? tagLib.getProperty(tagName) : null;
+        TagInvoker invoker = new TagInvoker(tagLib, tag instanceof Closure ? (Closure)tag : null);
+        tags.put(tagName, invoker);
+        return invoker;
+    }
+
+    private synchronized void reset(ApplicationContext applicationContext) {
+        if(this.cacheGeneration != generation || this.applicationContext != applicationContext) {
+            this.namespaces = new ConcurrentReaderHashMap();
+            this.applicationContext = applicationContext;
+            this.cacheGeneration = generation;
+        }
+    }
+
+    /**
+     * A tag library closure bound to the tag library bean it was retrieved from
+     */
+    public static class TagInvoker {
+        private final GroovyObject tagLib;
+        private final Closure tag;
+        private final int parameterCount;
+
+        TagInvoker(GroovyObject tagLib, Closure tag) {
+            this.tagLib = tagLib;
+            this.tag = tag;
+            this.parameterCount = tag != null ? tag.getParameterTypes().length : 0;
+        }
+
+        public GroovyObject getTagLib() {
+            return tagLib;
+        }
+
+        /**
+         * @return False if the tag library bean does not declare the tag as a closure property
+         */
+        public boolean isTag() {
+            return tag != null;
+        }
+
+        public void invoke(Map attrs, Closure body) {
+            if(parameterCount == 1) {
+                tag.call( new Object[]{ attrs });
+                if(body != null) {
+                    body.call();
+                }
+            }
+            else if(parameterCount == 2) {
+                tag.call( new Object[] { attrs, body });
+            }
+        }
+    }
+}
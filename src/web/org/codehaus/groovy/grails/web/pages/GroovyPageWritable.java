@@ -128,6 +128,10 @@ class GroovyPageWritable implements Writable {
             formulateBinding(request, response, binding, out);
 
             Script page = InvokerHelper.createScript(metaInfo.getPageClass(), binding);
+            if(page instanceof GroovyPage) {
+                ((GroovyPage)page).setTagInvokerCache(metaInfo.getTagInvokerCache());
+                ((GroovyPage)page).setHtmlParts(metaInfo.getHtmlParts());
+            }
             page.run();
             if(oldBinding!=null) {
                 request.setAttribute(GrailsApplicationAttributes.PAGE_SCOPE, oldBinding);        
@@ -28,6 +28,7 @@ import org.codehaus.groovy.grails.web.servlet.GrailsApplicationAttributes;
 import org.codehaus.groovy.grails.web.servlet.mvc.GrailsWebRequest;
 import org.codehaus.groovy.runtime.metaclass.ConcurrentReaderHashMap;
 import org.springframework.beans.BeansException;
+import org.springframework.beans.factory.InitializingBean;
 import org.springframework.context.ApplicationContext;
 import org.springframework.context.ApplicationContextAware;
 import org.springframework.core.io.*;
@@ -43,7 +44,9 @@ import java.io.IOException;
 import java.io.InputStream;
 import java.net.URL;
 import java.net.URLConnection;
+import java.util.Iterator;
 import java.util.Map;
+import java.util.Properties;
 
 /**
  * A GroovyPagesTemplateEngine based on (but not extending) the existing TemplateEngine implementations
@@ -62,7 +65,7 @@ import java.util.Map;
  * 
  * Created: 12-Jan-2006
  */
-public class GroovyPagesTemplateEngine  extends ResourceAwareTemplateEngine implements ApplicationContextAware, ServletContextAware {
+public class GroovyPagesTemplateEngine  extends ResourceAwareTemplateEngine implements ApplicationContextAware, ServletContextAware, InitializingBean {
 
 
     private static final Log LOG = LogFactory.getLog(GroovyPagesTemplateEngine.class);
@@ -76,6 +79,15 @@ public class GroovyPagesTemplateEngine  extends ResourceAwareTemplateEngine impl
     private boolean reloadEnabled;
     private ServletContext servletContext;
     private ServletContextResourceLoader servletContextLoader;
+    private Map resourceCache = new ConcurrentReaderHashMap();
+    private Map templateCache = new ConcurrentReaderHashMap();
+    private long modificationCheckInterval = DEFAULT_MODIFICATION_CHECK_INTERVAL;
+
+    /**
+     * The default number of milliseconds during which a page resolved for a URI is reused before it is checked for
+     * modifications when reloading is enabled
+     */
+    public static final long DEFAULT_MODIFICATION_CHECK_INTERVAL = 1000;
 
     public GroovyPagesTemplateEngine() {
     }
@@ -102,9 +114,68 @@ public class GroovyPagesTemplateEngine  extends ResourceAwareTemplateEngine impl
      * @param resourceLoader The ResourceLoader instance
      */
     public void setResourceLoader(ResourceLoader resourceLoader) {
+        clearUriCaches();
         this.resourceLoader = resourceLoader;
     }
 
+    /**
+     * Loads the pages precompiled by the GroovyPageCompiler if reloading is disabled
+     *
+     * @throws IOException Thrown if the index of precompiled pages cannot be read
+     */
+    public void afterPropertiesSet() throws IOException {
+        if(!isReloadEnabled()) {
+            loadPrecompiledPages();
+        }
+    }
+
+    /**
+     * Registers the pages listed in the index written by the GroovyPageCompiler in the page cache, so that they are
+     * not compiled when first requested. Pages without a precompiled class are compiled at runtime as usual.
+     *
+     * @return The number of precompiled pages loaded
+     * @throws IOException Thrown if the index of precompiled pages cannot be read
+     */
+    public int loadPrecompiledPages() throws IOException {
+        InputStream in = classLoader.getResourceAsStream(GroovyPageCompiler.PRECOMPILED_INDEX);
+        if(in == null) return 0;
+
+        Properties index = new Properties();
+        try {
+            index.load(in);
+        }
+        finally {
+            in.close();
+        }
+
+        int count = 0;
+        for (Iterator i = index.keySet().iterator(); i.hasNext();) {
+            String uri = (String) i.next();
+            if(uri.endsWith(GroovyPageCompiler.CONTENT_TYPE_SUFFIX)) continue;
+
+            Resource resource = getResourceWithinContext(uri);
+            if(resource == null || !resource.exists()) continue;
+
+            Class pageClass;
+            try {
+                pageClass = classLoader.loadClass(index.getProperty(uri));
+            } catch (ClassNotFoundException e) {
+                LOG.warn("Precompiled class for page [" + uri + "] not found, it will be compiled when requested");
+                continue;
+            }
+
+            GroovyPageMetaInfo metaInfo = new GroovyPageMetaInfo();
+            metaInfo.setPageClass(pageClass);
+            metaInfo.setContentType(index.getProperty(uri + GroovyPageCompiler.CONTENT_TYPE_SUFFIX));
+            pageCache.put(establishPageName(resource, null), metaInfo);
+            count++;
+        }
+        if(LOG.isDebugEnabled()) {
+            LOG.debug("Loaded [" + count + "] precompiled Groovy pages");
+        }
+        return count;
+    }
+
     /**
      * Retrieves a line number matrix for the specified page that can be used
      * to retrieve the actual line number within the GSP page if the line number within the
@@ -146,31 +217,30 @@ public class GroovyPagesTemplateEngine  extends ResourceAwareTemplateEngine impl
      * @return The Template instance
      */
     public Template createTemplate(Resource resource) {
+        return new GroovyPageTemplate(getPageMetaInfo(resource));
+    }
+
+    /**
+     * Retrieves the GroovyPageMetaInfo for the given Resource, compiling the page if it has not been compiled yet or
+     * if reloading is enabled and the page has been modified since it was compiled
+     *
+     * @param resource The Resource of the page
+     * @return The GroovyPageMetaInfo instance
+     */
+    private GroovyPageMetaInfo getPageMetaInfo(Resource resource) {
         if(resource == null) {
             GrailsWebRequest webRequest = getWebRequest();
             throw new GroovyPagesException("No Groovy page found for URI: " + getCurrentRequestUri(webRequest.getCurrentRequest()));
         }
         String name = establishPageName(resource, null);
-        if(pageCache.containsKey(name)) {
-            GroovyPageMetaInfo meta = (GroovyPageMetaInfo)pageCache.get(name);
-
-            if(isGroovyPageReloadable(resource, meta)) {
-                try {
-                    return createTemplateWithResource(resource);
-                } catch (IOException e) {
-                    throw new GroovyPagesException("I/O error reading stream for resource ["+resource+"]: " + e.getMessage(),e);
-                }
-            }
-            else {
-                return new GroovyPageTemplate(meta);
-            }
+        GroovyPageMetaInfo meta = (GroovyPageMetaInfo)pageCache.get(name);
+        if(meta != null && !isGroovyPageReloadable(resource, meta)) {
+            return meta;
         }
-        else {
-            try {
-                return createTemplateWithResource(resource);
-            } catch (IOException e) {
-                throw new GroovyPagesException("I/O error reading stream for resource ["+resource+"]: " + e.getMessage(),e);
-            }
+        try {
+            return buildPageMetaInfo(resource);
+        } catch (IOException e) {
+            throw new GroovyPagesException("I/O error reading stream for resource ["+resource+"]: " + e.getMessage(),e);
         }
     }
 
@@ -182,7 +252,33 @@ public class GroovyPagesTemplateEngine  extends ResourceAwareTemplateEngine impl
      * @throws CompilationFailedException
      */
     public Template createTemplate(String uri)  {
-        return createTemplate(getResourceForUri(uri));
+        return createTemplateForUri(new String[]{uri});
+    }
+
+    /**
+     * <p>Creates a Template for the first of the given URIs that resolves to an existing page, or for the last URI if none
+     * of them do.</p>
+     *
+     * <p>The resolved page is cached against the URIs. If reloading is disabled subsequent calls return the cached page
+     * without accessing the resources again, otherwise the URIs are resolved and the page checked for modifications
+     * at most once every modificationCheckInterval milliseconds.</p>
+     *
+     * @param uris The URIs to try in order
+     * @return The Template instance
+     */
+    public Template createTemplateForUri(String[] uris) {
+        String key = uris.length == 1 ? uris[0] : StringUtils.join(uris, ',');
+        UriCacheEntry entry = (UriCacheEntry)templateCache.get(key);
+        if(entry == null || entry.isStale()) {
+            Resource resource = null;
+            for (int i = 0; i < uris.length; i++) {
+                resource = getResourceForUri(uris[i]);
+                if(resource != null && resource.exists()) break;
+            }
+            entry = new UriCacheEntry(getPageMetaInfo(resource));
+            templateCache.put(key, entry);
+        }
+        return new GroovyPageTemplate((GroovyPageMetaInfo)entry.value);
     }
 
     /**
@@ -268,16 +364,16 @@ public class GroovyPagesTemplateEngine  extends ResourceAwareTemplateEngine impl
     }
 
     /**
-     * Creates a Template for the given Spring Resource instance
+     * Compiles the page held by the given Spring Resource instance
      *
      * @param resource The Spring resource instance
-     * @return A Groovy Template
+     * @return The GroovyPageMetaInfo instance
      * @throws java.io.IOException Thrown when an error occurs reading the template
      */
-    private Template createTemplateWithResource(Resource resource) throws IOException {
+    private GroovyPageMetaInfo buildPageMetaInfo(Resource resource) throws IOException {
         InputStream in = resource.getInputStream();
         try {
-            return createTemplate(in, resource, null);
+            return buildPageMetaInfo(in, resource, null);
         }
         finally {
             in.close();
@@ -323,16 +419,47 @@ public class GroovyPagesTemplateEngine  extends ResourceAwareTemplateEngine impl
      * @param b True if it is enabled
      */
     public void setReloadEnabled(boolean b) {
-        this.reloadEnabled = true;
+        this.reloadEnabled = b;
+    }
+
+    /**
+     * Sets the number of milliseconds during which the page resolved for a URI is reused before the URI is resolved
+     * again and the page checked for modifications. Only applies when reloading is enabled.
+     *
+     * @param modificationCheckInterval The interval in milliseconds
+     */
+    public void setModificationCheckInterval(long modificationCheckInterval) {
+        this.modificationCheckInterval = modificationCheckInterval;
+    }
+
+    public long getModificationCheckInterval() {
+        return modificationCheckInterval;
     }
 
     /**
-     * Attempts to retrieve a reference to a GSP as a Spring Resource instance for the given URI.
+     * Attempts to retrieve a reference to a GSP as a Spring Resource instance for the given URI. Resources that exist
+     * are cached against the URI in the same way as the pages created by createTemplateForUri.
      *
      * @param uri The URI to check
      * @return A Resource instance
      */
     public Resource getResourceForUri(String uri) {
+        UriCacheEntry entry = (UriCacheEntry)resourceCache.get(uri);
+        if(entry != null && !entry.isStale()) {
+            return (Resource)entry.value;
+        }
+        Resource r = resolveResourceForUri(uri);
+        // only resources that exist are cached, so that requests for arbitrary URIs cannot fill the cache
+        if(r != null && r.exists()) {
+            resourceCache.put(uri, new UriCacheEntry(r));
+        }
+        else if(entry != null) {
+            resourceCache.remove(uri);
+        }
+        return r;
+    }
+
+    private Resource resolveResourceForUri(String uri) {
         Resource r;
         r = getResourceWithinContext(uri);
         if(r == null || !r.exists()) {
@@ -422,8 +549,10 @@ public class GroovyPagesTemplateEngine  extends ResourceAwareTemplateEngine impl
         // Compile the script into an object
         Class scriptClass;
         try {
+            // each page is compiled by its own child loader, as GroovyClassLoader.parseClass holds a lock on the
+            // loader's source cache for the duration of a compilation
             scriptClass =
-                this.classLoader.parseClass(in, name);
+                new GroovyClassLoader(this.classLoader).parseClass(in, name);
         } catch (CompilationFailedException e) {
         	LOG.error("Compilation error compiling GSP ["+name+"]:" + e.getMessage(), e);
             throw new GroovyPagesException("Could not parse script [" + name + "]: " + e.getMessage(), e);
@@ -492,7 +621,7 @@ public class GroovyPagesTemplateEngine  extends ResourceAwareTemplateEngine impl
      *
      * @return The template name
      */
-    private String generateTemplateName() {
+    private synchronized String generateTemplateName() {
         return "gsp_script_"+ ++scriptNameCount;
     }
 
@@ -554,6 +683,7 @@ public class GroovyPagesTemplateEngine  extends ResourceAwareTemplateEngine impl
     }
 
     public void setServletContext(ServletContext servletContext) {
+        clearUriCaches();
         this.servletContext = servletContext;
         this.servletContextLoader = new ServletContextResourceLoader(servletContext);        
         if(this.resourceLoader == null)
@@ -565,5 +695,28 @@ public class GroovyPagesTemplateEngine  extends ResourceAwareTemplateEngine impl
      */
     public void clearPageCache() {
         pageCache.clear();
+        clearUriCaches();
+    }
+
+    private void clearUriCaches() {
+        resourceCache.clear();
+        templateCache.clear();
+    }
+
+    /**
+     * A value resolved for a URI together with the time it was resolved at
+     */
+    private class UriCacheEntry {
+        private final Object value;
+        private final long resolved;
+
+        UriCacheEntry(Object value) {
+            this.value = value;
+            this.resolved = isReloadEnabled() ? System.currentTimeMillis() : 0;
+        }
+
+        boolean isStale() {
+            return isReloadEnabled() && System.currentTimeMillis() - resolved >= modificationCheckInterval;
+        }
     }
 }
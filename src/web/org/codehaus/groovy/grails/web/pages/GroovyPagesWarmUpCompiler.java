@@ -0,0 +1,220 @@
+/* Copyright 2004-2005 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.codehaus.groovy.grails.web.pages;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.core.io.Resource;
+import org.springframework.web.context.ServletContextAware;
+import org.springframework.web.context.support.ServletContextResourcePatternResolver;
+
+import javax.servlet.ServletContext;
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.util.*;
+
+/**
+ * <p>Compiles the GSP views of an application into the page cache of the GroovyPagesTemplateEngine when the
+ * application starts, so that the first request for each page does not have to wait for it to be compiled. It is
+ * intended for deployments where the views cannot be precompiled with the GroovyPageCompiler.</p>
+ *
+ * <p>The views are compiled concurrently by a bounded number of threads, in the background unless background is
+ * set to false. Pages that are already in the page cache, because they were precompiled or requested in the
+ * meantime, are not compiled again. Progress is logged at info level and pages that fail to compile are logged and
+ * left to be compiled, and report their error, when requested.</p>
+ *
+ * <p>The compiler is registered when <code>grails.views.gsp.warmup.enabled</code> is true and the number of threads
+ * can be set with <code>grails.views.gsp.warmup.threads</code>.</p>
+ *
+ * @see org.codehaus.groovy.grails.web.pages.GroovyPagesTemplateEngine
+ *
+ * @since 1.0.4
+ */
+public class GroovyPagesWarmUpCompiler implements ServletContextAware, InitializingBean, DisposableBean {
+
+    private static final Log LOG = LogFactory.getLog(GroovyPagesWarmUpCompiler.class);
+
+    public static final String BEAN_ID = "groovyPagesWarmUpCompiler";
+    public static final String[] DEFAULT_VIEW_PATTERNS = new String[] {
+        "/WEB-INF/grails-app/views/**/*.gsp",
+        "/WEB-INF/plugins/*/grails-app/views/**/*.gsp"
+    };
+    private static final int PROGRESS_INTERVAL = 50;
+
+    private GroovyPagesTemplateEngine groovyPagesTemplateEngine;
+    private ServletContext servletContext;
+    private String[] viewPatterns = DEFAULT_VIEW_PATTERNS;
+    private int threads = 2;
+    private boolean background = true;
+
+    private volatile boolean stopped;
+    private int total;
+    private int compiled;
+    private List failures = Collections.synchronizedList(new ArrayList());
+
+    public void setGroovyPagesTemplateEngine(GroovyPagesTemplateEngine groovyPagesTemplateEngine) {
+        this.groovyPagesTemplateEngine = groovyPagesTemplateEngine;
+    }
+
+    public void setServletContext(ServletContext servletContext) {
+        this.servletContext = servletContext;
+    }
+
+    /**
+     * @param viewPatterns The servlet context resource patterns used to find the views to compile
+     */
+    public void setViewPatterns(String[] viewPatterns) {
+        this.viewPatterns = viewPatterns;
+    }
+
+    /**
+     * @param threads The maximum number of threads that compile pages concurrently
+     */
+    public void setThreads(int threads) {
+        this.threads = threads;
+    }
+
+    /**
+     * @param background Whether afterPropertiesSet returns immediately and the views are compiled in the background
+     */
+    public void setBackground(boolean background) {
+        this.background = background;
+    }
+
+    public void afterPropertiesSet() {
+        if(groovyPagesTemplateEngine == null) throw new IllegalStateException("Property [groovyPagesTemplateEngine] must be set!");
+        if(servletContext == null) throw new IllegalStateException("Property [servletContext] must be set!");
+
+        if(background) {
+            Thread thread = new Thread(new Runnable() {
+                public void run() {
+                    warmUp();
+                }
+            }, "GSP warm-up");
+            thread.setDaemon(true);
+            thread.start();
+        }
+        else {
+            warmUp();
+        }
+    }
+
+    /**
+     * Stops the compilation of views that have not been compiled yet
+     */
+    public void destroy() {
+        stopped = true;
+    }
+
+    /**
+     * Compiles all the views and waits for them to be compiled
+     *
+     * @return The number of views compiled
+     */
+    public int warmUp() {
+        final LinkedList queue = new LinkedList(Arrays.asList(findViews()));
+        synchronized(this) {
+            total = queue.size();
+            compiled = 0;
+        }
+        failures.clear();
+        if(queue.isEmpty()) return 0;
+
+        long start = System.currentTimeMillis();
+        LOG.info("Compiling [" + queue.size() + "] Groovy pages with [" + threads + "] threads");
+
+        int poolSize = Math.max(1, Math.min(threads, queue.size()));
+        Thread[] workers = new Thread[poolSize];
+        for (int i = 0; i < workers.length; i++) {
+            workers[i] = new Thread(new Runnable() {
+                public void run() {
+                    for(;;) {
+                        Resource view;
+                        synchronized(queue) {
+                            if(stopped || queue.isEmpty()) return;
+                            view = (Resource)queue.removeFirst();
+                        }
+                        compile(view);
+                    }
+                }
+            }, "GSP warm-up " + (i + 1));
+            workers[i].setDaemon(true);
+            workers[i].start();
+        }
+        for (int i = 0; i < workers.length; i++) {
+            try {
+                workers[i].join();
+            } catch (InterruptedException e) {
+                stopped = true;
+                Thread.currentThread().interrupt();
+                break;
+            }
+        }
+
+        LOG.info("Compiled [" + getCompiledCount() + "] of [" + total + "] Groovy pages in [" +
+                (System.currentTimeMillis() - start) + "ms], [" + failures.size() + "] failed");
+        return getCompiledCount();
+    }
+
+    private void compile(Resource view) {
+        try {
+            groovyPagesTemplateEngine.createTemplate(view);
+            int count;
+            synchronized(this) {
+                count = ++compiled;
+            }
+            if(count % PROGRESS_INTERVAL == 0) {
+                LOG.info("Compiled [" + count + "] of [" + total + "] Groovy pages");
+            }
+        }
+        catch (Exception e) {
+            failures.add(view.getDescription());
+            LOG.warn("Error compiling Groovy page [" + view.getDescription() + "] during warm-up: " + e.getMessage());
+        }
+    }
+
+    private Resource[] findViews() {
+        ServletContextResourcePatternResolver resolver = new ServletContextResourcePatternResolver(servletContext);
+        List views = new ArrayList();
+        for (int i = 0; i < viewPatterns.length; i++) {
+            try {
+                views.addAll(Arrays.asList(resolver.getResources(viewPatterns[i])));
+            } catch (FileNotFoundException e) {
+                // the directory the pattern starts from doesn't exist, for example when there are no plugins
+                if(LOG.isDebugEnabled()) LOG.debug("No Groovy pages found for pattern [" + viewPatterns[i] + "]");
+            } catch (IOException e) {
+                LOG.warn("Error finding Groovy pages for pattern [" + viewPatterns[i] + "]: " + e.getMessage());
+            }
+        }
+        return (Resource[])views.toArray(new Resource[views.size()]);
+    }
+
+    public synchronized int getTotalCount() {
+        return total;
+    }
+
+    public synchronized int getCompiledCount() {
+        return compiled;
+    }
+
+    /**
+     * @return The descriptions of the views that failed to compile
+     */
+    public List getFailures() {
+        return new ArrayList(failures);
+    }
+}
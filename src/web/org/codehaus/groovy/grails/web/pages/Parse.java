@@ -280,9 +280,10 @@ public class Parse implements Tokens {
             
             if(hasContent && !bufferWhiteSpace) {
                 final String constantValue = sw.toString();
-                final String constantName = "STATIC_HTML_CONTENT_" + constantCount++;
+                final int constantIndex = constantCount++;
+                final String constantName = "STATIC_HTML_CONTENT_" + constantIndex;
                 constants.put(constantName, constantValue);
-                out.printlnToResponse(constantName);
+                out.printlnHtmlPart(constantIndex, constantName);
             }
         }
 
@@ -53,6 +53,7 @@ public class WebUtils extends org.springframework.web.util.WebUtils {
     public static final char SLASH = '/';
     private static final Log LOG = LogFactory.getLog(WebUtils.class);
     public static final String ENABLE_FILE_EXTENSIONS = "grails.mime.file.extensions";
+    public static final String GSP_STREAM_BYTES = "grails.views.gsp.streamBytes";
     public static final String DISPATCH_ACTION_PARAMETER = "_action_";
 
     public static ViewResolver lookupViewResolver(ServletContext servletContext) {
@@ -235,6 +236,17 @@ public class WebUtils extends org.springframework.web.util.WebUtils {
         return !(o != null && o instanceof Boolean) || ((Boolean) o).booleanValue();
     }
 
+    /**
+     * Returns the value of the "grails.views.gsp.streamBytes" setting configured in Config.groovy
+     *
+     * @return True if GSP output should be encoded straight to the response OutputStream, defaults to false
+     */
+    public static boolean isGspByteStreamingEnabled() {
+        Map config = ConfigurationHolder.getFlatConfig();
+        Object o = config.get(GSP_STREAM_BYTES);
+        return o instanceof Boolean && ((Boolean) o).booleanValue();
+    }
+
     /**
      * Returns the GrailsWebRequest associated with the current request.
      * This is the preferred means of accessing the GrailsWebRequest
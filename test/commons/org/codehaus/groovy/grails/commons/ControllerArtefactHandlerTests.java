@@ -33,4 +33,47 @@ public class ControllerArtefactHandlerTests extends TestCase {
         assertTrue(handler.isArtefact(c));
     }
 
+    public void testGetArtefactForFeature() throws Exception
+    {
+        GroovyClassLoader gcl = new GroovyClassLoader();
+        gcl.parseClass("class BookController { def list = {}; def show = {} }\n" +
+                       "class AuthorController { def index = {} }\n");
+
+        GrailsApplication application = new DefaultGrailsApplication(gcl.getLoadedClasses(), gcl);
+        application.initialise();
+
+        GrailsClass book = application.getArtefact(ControllerArtefactHandler.TYPE, "BookController");
+        GrailsClass author = application.getArtefact(ControllerArtefactHandler.TYPE, "AuthorController");
+
+        assertEquals(book, application.getArtefactForFeature(ControllerArtefactHandler.TYPE, "/book/list"));
+        assertEquals(book, application.getArtefactForFeature(ControllerArtefactHandler.TYPE, "/book/show/10"));
+        assertEquals(book, application.getArtefactForFeature(ControllerArtefactHandler.TYPE, "/book/show/10/edit"));
+        assertEquals(author, application.getArtefactForFeature(ControllerArtefactHandler.TYPE, "/author"));
+        assertEquals(author, application.getArtefactForFeature(ControllerArtefactHandler.TYPE, "/author/"));
+        assertEquals(author, application.getArtefactForFeature(ControllerArtefactHandler.TYPE, "/author/index"));
+        assertNull(application.getArtefactForFeature(ControllerArtefactHandler.TYPE, "/book/delete"));
+        assertNull(application.getArtefactForFeature(ControllerArtefactHandler.TYPE, "/publisher/list"));
+        assertNull(application.getArtefactForFeature(ControllerArtefactHandler.TYPE, "/"));
+    }
+
+    public void testGetArtefactForFeatureAfterReload() throws Exception
+    {
+        GroovyClassLoader gcl = new GroovyClassLoader();
+        gcl.parseClass("class BookController { def list = {} }\n");
+
+        GrailsApplication application = new DefaultGrailsApplication(gcl.getLoadedClasses(), gcl);
+        application.initialise();
+
+        assertNull(application.getArtefactForFeature(ControllerArtefactHandler.TYPE, "/book/show"));
+
+        GroovyClassLoader reloaded = new GroovyClassLoader();
+        Class bookController = reloaded.parseClass("class BookController { def list = {}; def show = {} }\n");
+        Class authorController = reloaded.parseClass("class AuthorController { def list = {} }\n");
+        GrailsClass book = application.addArtefact(ControllerArtefactHandler.TYPE, bookController);
+        GrailsClass author = application.addArtefact(ControllerArtefactHandler.TYPE, authorController);
+
+        assertEquals(book, application.getArtefactForFeature(ControllerArtefactHandler.TYPE, "/book/show"));
+        assertEquals(author, application.getArtefactForFeature(ControllerArtefactHandler.TYPE, "/author/list"));
+    }
+
 }
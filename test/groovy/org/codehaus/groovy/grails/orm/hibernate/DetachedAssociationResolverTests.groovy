@@ -0,0 +1,145 @@
+package org.codehaus.groovy.grails.orm.hibernate
+
+import org.codehaus.groovy.grails.orm.hibernate.metaclass.DetachedAssociationResolver
+
+/**
+ * Tests the resolution of detached associations when saving
+ */
+class DetachedAssociationResolverTests extends AbstractGrailsHibernateTests {
+
+    protected void onSetUp() {
+        gcl.parseClass '''
+class ResolverPublisher {
+    Long id
+    Long version
+    String name
+}
+class ResolverBook {
+    Long id
+    Long version
+    String title
+    ResolverPublisher publisher
+    ResolverPublisher reprintPublisher
+
+    static constraints = {
+        reprintPublisher(nullable:true)
+    }
+}
+'''
+    }
+
+    private createPublishers(count) {
+        def publisherClass = ga.getDomainClass("ResolverPublisher").clazz
+        def ids = (1..count).collect {
+            def publisher = publisherClass.newInstance(name:"Pub $it")
+            assert publisher.save(flush:true)
+            publisher.id
+        }
+        session.clear()
+        ids
+    }
+
+    private detached(id) {
+        def publisher = ga.getDomainClass("ResolverPublisher").clazz.newInstance()
+        publisher.id = id
+        publisher
+    }
+
+    private newBook(publisherId, reprintPublisherId = null) {
+        def book = ga.getDomainClass("ResolverBook").clazz.newInstance(title:"Book")
+        book.publisher = detached(publisherId)
+        if(reprintPublisherId) book.reprintPublisher = detached(reprintPublisherId)
+        book
+    }
+
+    void testResolveLoadsEachTypeWithOneQuery() {
+        def ids = createPublishers(5)
+        def books = [newBook(ids[0], ids[1]), newBook(ids[2]), newBook(ids[3], ids[0]), newBook(ids[4]), newBook(ids[2])]
+
+        def resolver = new DetachedAssociationResolver(ga)
+        def domainClass = ga.getDomainClass("ResolverBook")
+        books.each { assertTrue resolver.add(domainClass, it, session) }
+
+        def statistics = sessionFactory.statistics
+        statistics.statisticsEnabled = true
+        statistics.clear()
+        resolver.resolve(session)
+
+        assertEquals 1, statistics.prepareStatementCount
+        books.each { assertTrue session.contains(it.publisher) }
+        assertEquals "Pub 2", books[0].reprintPublisher.name
+        assertEquals "Pub 3", books[4].publisher.name
+        assertSame books[0].publisher, books[2].reprintPublisher
+        assertNull books[1].reprintPublisher
+
+        books.each { assertNotNull it.save(flush:true) }
+    }
+
+    void testResolveUsesInstancesInSession() {
+        def ids = createPublishers(2)
+        def publisherClass = ga.getDomainClass("ResolverPublisher").clazz
+        def loaded = [publisherClass.get(ids[0]), publisherClass.get(ids[1])]
+
+        def books = [newBook(ids[0], ids[1]), newBook(ids[1])]
+        def resolver = new DetachedAssociationResolver(ga)
+        books.each { resolver.add(ga.getDomainClass("ResolverBook"), it, session) }
+
+        def statistics = sessionFactory.statistics
+        statistics.statisticsEnabled = true
+        statistics.clear()
+        resolver.resolve(session)
+
+        assertEquals 0, statistics.prepareStatementCount
+        assertSame loaded[0], books[0].publisher
+        assertSame loaded[1], books[0].reprintPublisher
+        assertSame loaded[1], books[1].publisher
+    }
+
+    void testResolveRemembersResolvedInstances() {
+        def ids = createPublishers(2)
+        def domainClass = ga.getDomainClass("ResolverBook")
+        def resolver = new DetachedAssociationResolver(ga)
+
+        def first = newBook(ids[0], ids[1])
+        resolver.add(domainClass, first, session)
+        resolver.resolve(session)
+        session.clear()
+
+        def statistics = sessionFactory.statistics
+        statistics.statisticsEnabled = true
+        statistics.clear()
+        def second = newBook(ids[1])
+        resolver.add(domainClass, second, session)
+        resolver.resolve(session)
+
+        assertEquals 0, statistics.prepareStatementCount
+        assertSame first.reprintPublisher, second.publisher
+
+        resolver.clear()
+        def third = newBook(ids[1])
+        resolver.add(domainClass, third, session)
+        resolver.resolve(session)
+        assertNotSame first.reprintPublisher, third.publisher
+    }
+
+    void testResolveMissingInstances() {
+        def ids = createPublishers(1)
+        def books = [newBook(ids[0], 99), newBook(98)]
+        def resolver = new DetachedAssociationResolver(ga)
+        books.each { resolver.add(ga.getDomainClass("ResolverBook"), it, session) }
+        resolver.resolve(session)
+
+        assertEquals "Pub 1", books[0].publisher.name
+        assertNull books[0].reprintPublisher
+        assertNull books[1].publisher
+    }
+
+    void testNothingToResolve() {
+        def book = ga.getDomainClass("ResolverBook").clazz.newInstance(title:"Book")
+        def resolver = new DetachedAssociationResolver(ga)
+
+        assertFalse resolver.add(ga.getDomainClass("ResolverBook"), book, session)
+        resolver.resolve(session)
+        assertNull book.publisher
+    }
+}
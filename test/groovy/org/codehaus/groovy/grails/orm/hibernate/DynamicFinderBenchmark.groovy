@@ -0,0 +1,58 @@
+package org.codehaus.groovy.grails.orm.hibernate
+
+import org.codehaus.groovy.grails.orm.hibernate.metaclass.FindAllByPersistentMethod
+
+/**
+ * Measures repeated findAllByNameAndAgeGreaterThan invocations with the finder plan cache and with the plan
+ * cleared before every call, which parses the method name on each invocation as finders did before plans were
+ * cached. Not run as part of the test suite, run with:
+ *
+ * java -cp target/classes:target/test-classes:lib/*:lib/endorsed/* junit.textui.TestRunner org.codehaus.groovy.grails.orm.hibernate.DynamicFinderBenchmark
+ *
+ * @since 1.0.4
+ */
+class DynamicFinderBenchmark extends AbstractGrailsHibernateTests {
+
+    static final int ITERATIONS = 20000
+
+    protected void onSetUp() {
+        gcl.parseClass '''
+class BenchmarkPerson {
+    Long id
+    Long version
+    String name
+    Integer age
+}
+'''
+    }
+
+    void testFindAllByNameAndAgeGreaterThan() {
+        def personClass = ga.getDomainClass("BenchmarkPerson").clazz
+        100.times { personClass.newInstance(name:"Fred", age:it).save() }
+        session.flush()
+        session.clear()
+
+        def method = new FindAllByPersistentMethod(ga, sessionFactory, gcl)
+        def methodName = "findAllByNameAndAgeGreaterThan"
+
+        // warm up
+        run(method, personClass, methodName, 2000, true)
+        run(method, personClass, methodName, 2000, false)
+
+        long uncached = run(method, personClass, methodName, ITERATIONS, true)
+        long cached = run(method, personClass, methodName, ITERATIONS, false)
+        println "${methodName} x ${ITERATIONS}: parsed per call ${uncached}ms, cached plan ${cached}ms"
+    }
+
+    long run(method, Class personClass, String methodName, int iterations, boolean clearPlans) {
+        Object[] args = new Object[2]
+        long start = System.currentTimeMillis()
+        for(int i = 0; i < iterations; i++) {
+            if(clearPlans) method.clearFinderPlans()
+            args[0] = "Fred"
+            args[1] = "95"
+            method.invoke(personClass, methodName, args)
+        }
+        return System.currentTimeMillis() - start
+    }
+}
@@ -0,0 +1,114 @@
+package org.codehaus.groovy.grails.orm.hibernate
+
+/**
+ * Tests the eachBatch and withScroll methods and the eachBatch criteria method
+ */
+class EachBatchMethodTests extends AbstractGrailsHibernateTests {
+
+    protected void onSetUp() {
+        gcl.parseClass '''
+class EachBatchBook {
+    Long id
+    Long version
+    String title
+    Integer pages
+}
+'''
+    }
+
+    private createBooks(count) {
+        def bookClass = ga.getDomainClass("EachBatchBook").clazz
+        (1..count).each {
+            assert bookClass.newInstance(title:"Book $it", pages:it).save()
+        }
+        session.flush()
+        session.clear()
+    }
+
+    void testEachBatch() {
+        createBooks(25)
+        def bookClass = ga.getDomainClass("EachBatchBook").clazz
+
+        def sizes = []
+        def titles = []
+        def count = bookClass.eachBatch(batchSize:10, sort:"pages") { books ->
+            sizes << books.size()
+            titles.addAll(books*.title)
+            assertTrue session.contains(books[0])
+        }
+
+        assertEquals 25, count
+        assertEquals([10, 10, 5], sizes)
+        assertEquals((1..25).collect { "Book $it" }, titles)
+    }
+
+    void testEachBatchClearsSession() {
+        createBooks(4)
+        def bookClass = ga.getDomainClass("EachBatchBook").clazz
+
+        def batches = []
+        bookClass.eachBatch(batchSize:2) { books -> batches << books }
+
+        assertEquals 2, batches.size()
+        assertFalse session.contains(batches[0][0])
+        assertFalse session.contains(batches[1][1])
+
+        batches.clear()
+        bookClass.eachBatch(batchSize:2, clear:false) { books -> batches << books }
+        assertTrue session.contains(batches[0][0])
+    }
+
+    void testEachBatchWithFlush() {
+        createBooks(3)
+        def bookClass = ga.getDomainClass("EachBatchBook").clazz
+
+        bookClass.eachBatch(batchSize:2, flush:true) { books -> books.each { it.pages += 100 } }
+        session.clear()
+
+        assertEquals 3, bookClass.list().findAll { it.pages > 100 }.size()
+    }
+
+    void testEachBatchWithoutArguments() {
+        createBooks(3)
+        def bookClass = ga.getDomainClass("EachBatchBook").clazz
+
+        def total = 0
+        assertEquals 3, bookClass.eachBatch { books -> total += books.size() }
+        assertEquals 3, total
+    }
+
+    void testWithScroll() {
+        createBooks(5)
+        def bookClass = ga.getDomainClass("EachBatchBook").clazz
+
+        def titles = bookClass.withScroll(sort:"pages", order:"desc") { results ->
+            def titles = []
+            while(results.next()) {
+                titles << results.get(0).title
+            }
+            titles
+        }
+        assertEquals((5..1).collect { "Book $it" }, titles)
+    }
+
+    void testCriteriaEachBatch() {
+        createBooks(12)
+        def bookClass = ga.getDomainClass("EachBatchBook").clazz
+
+        def sizes = []
+        def count = bookClass.createCriteria().eachBatch(batchSize:3, { gt("pages", 2) }) { books ->
+            sizes << books.size()
+            books.each { assertTrue it.pages > 2 }
+        }
+        assertEquals 10, count
+        assertEquals([3, 3, 3, 1], sizes)
+
+        def pages = []
+        bookClass.createCriteria().eachBatch({
+            projections { property("pages") }
+            le("pages", 3)
+            order("pages", "asc")
+        }) { batch -> pages.addAll(batch) }
+        assertEquals([1, 2, 3], pages)
+    }
+}
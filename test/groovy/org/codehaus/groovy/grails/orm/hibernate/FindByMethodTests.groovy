@@ -50,4 +50,31 @@ class User {
         assertEquals 3, users.size()
     }
 
+    void testFinderPlanIsReusedWithDifferentArguments() {
+        def bookClass = ga.getDomainClass("Book").clazz
+
+        assert bookClass.newInstance(title:"The Stand").save()
+        assert bookClass.newInstance(title:"Carrie").save(flush:true)
+
+        def method = new org.codehaus.groovy.grails.orm.hibernate.metaclass.FindAllByPersistentMethod(ga, sessionFactory, gcl)
+
+        assertEquals 1, method.invoke(bookClass, "findAllByTitle", ["The Stand"] as Object[]).size()
+        assertEquals 1, method.invoke(bookClass, "findAllByTitle", ["Carrie"] as Object[]).size()
+        assertEquals 2, method.invoke(bookClass, "findAllByTitleLike", ["%"] as Object[]).size()
+        assertEquals 1, method.invoke(bookClass, "findAllByTitleLike", ["Car%"] as Object[]).size()
+
+        def plan = method.getFinderPlan(bookClass, "findAllByTitle", [] as Object[])
+        assertSame plan, method.getFinderPlan(bookClass, "findAllByTitle", [] as Object[])
+
+        shouldFail(MissingMethodException) {
+            method.invoke(bookClass, "findAllByTitle", [] as Object[])
+        }
+        shouldFail {
+            method.invoke(bookClass, "findAllByAuthor", ["Stephen King"] as Object[])
+        }
+        shouldFail {
+            method.invoke(bookClass, "findAllByAuthor", ["Stephen King"] as Object[])
+        }
+    }
+
 }
\ No newline at end of file
@@ -0,0 +1,87 @@
+package org.codehaus.groovy.grails.orm.hibernate
+
+import org.codehaus.groovy.grails.orm.hibernate.metaclass.GetAllPersistentMethod
+import org.hibernate.criterion.Restrictions
+
+/**
+ * Measures getAll with 100, 10,000 and 100,000 ids against loading the same instances with a single IN query and
+ * reordering them through a map, as getAll did before ids were queried in chunks. Not run as part of the test suite,
+ * run with:
+ *
+ * java -cp target/classes:target/test-classes:lib/*:lib/endorsed/* junit.textui.TestRunner org.codehaus.groovy.grails.orm.hibernate.GetAllBenchmark
+ *
+ * @since 1.0.4
+ */
+class GetAllBenchmark extends AbstractGrailsHibernateTests {
+
+    static final int[] SIZES = [100, 10000, 100000]
+
+    protected void onSetUp() {
+        gcl.parseClass '''
+class BenchmarkItem {
+    Long id
+    Long version
+    String name
+}
+'''
+    }
+
+    void testGetAll() {
+        def itemClass = ga.getDomainClass("BenchmarkItem").clazz
+        def ids = []
+        for(int i = 0; i < SIZES[-1]; i++) {
+            def item = itemClass.newInstance(name:"Item $i")
+            item.save()
+            ids << item.id
+            if(i % 1000 == 0) {
+                session.flush()
+                session.clear()
+            }
+        }
+        session.flush()
+        session.clear()
+        Collections.shuffle(ids, new Random(42))
+
+        def method = new GetAllPersistentMethod(ga, sessionFactory, gcl)
+
+        // warm up
+        runChunked(method, itemClass, ids.subList(0, 1000))
+        runSingleQuery(itemClass, ids.subList(0, 1000))
+
+        for(size in SIZES) {
+            def sample = ids.subList(0, size)
+            long single = runSingleQuery(itemClass, sample)
+            long chunked = runChunked(method, itemClass, sample)
+            session.clear()
+            method.invoke(itemClass, "getAll", [sample] as Object[])
+            long start = System.currentTimeMillis()
+            method.invoke(itemClass, "getAll", [sample] as Object[])
+            long cached = System.currentTimeMillis() - start
+            session.clear()
+            println "getAll x ${size} ids: single query ${single}ms, chunked ${chunked}ms, from session ${cached}ms"
+        }
+    }
+
+    long runChunked(method, Class itemClass, List ids) {
+        session.clear()
+        long start = System.currentTimeMillis()
+        method.invoke(itemClass, "getAll", [ids] as Object[])
+        long time = System.currentTimeMillis() - start
+        session.clear()
+        return time
+    }
+
+    long runSingleQuery(Class itemClass, List ids) {
+        session.clear()
+        long start = System.currentTimeMillis()
+        def results = session.createCriteria(itemClass).add(Restrictions.in("id", ids)).list()
+        def idsMap = [:]
+        for (object in results) {
+            idsMap[object.id] = object
+        }
+        def ordered = ids.collect { idsMap[it] }
+        long time = System.currentTimeMillis() - start
+        session.clear()
+        return time
+    }
+}
@@ -0,0 +1,84 @@
+package org.codehaus.groovy.grails.orm.hibernate
+
+import org.codehaus.groovy.grails.orm.hibernate.metaclass.GetAllPersistentMethod
+
+/**
+ * Tests the getAll method
+ */
+class GetAllMethodTests extends AbstractGrailsHibernateTests {
+
+    protected void onSetUp() {
+        gcl.parseClass '''
+class GetAllBook {
+    Long id
+    Long version
+    String title
+}
+'''
+    }
+
+    private createBooks(count) {
+        def bookClass = ga.getDomainClass("GetAllBook").clazz
+        def ids = (1..count).collect {
+            def book = bookClass.newInstance(title:"Book $it")
+            assert book.save()
+            book.id
+        }
+        session.flush()
+        session.clear()
+        return ids
+    }
+
+    void testGetAllKeepsOrderOfIds() {
+        def ids = createBooks(5)
+        def bookClass = ga.getDomainClass("GetAllBook").clazz
+
+        def books = bookClass.getAll([ids[3], ids[0], 999L, ids[4], ids[0], null])
+        assertEquals 6, books.size()
+        assertEquals "Book 4", books[0].title
+        assertEquals "Book 1", books[1].title
+        assertNull books[2]
+        assertEquals "Book 5", books[3].title
+        assertSame books[1], books[4]
+        assertNull books[5]
+    }
+
+    void testGetAllConvertsIds() {
+        def ids = createBooks(2)
+        def bookClass = ga.getDomainClass("GetAllBook").clazz
+
+        def books = bookClass.getAll([ids[1].toString(), ids[0].intValue(), "notanid"])
+        assertEquals(["Book 2", "Book 1", null], books.collect { it?.title })
+    }
+
+    void testGetAllQueriesInChunks() {
+        def ids = createBooks(10)
+        def bookClass = ga.getDomainClass("GetAllBook").clazz
+
+        def method = new GetAllPersistentMethod(ga, sessionFactory, gcl)
+        method.chunkSize = 3
+
+        def statistics = sessionFactory.statistics
+        statistics.statisticsEnabled = true
+        statistics.clear()
+
+        def books = method.invoke(bookClass, "getAll", [ids.reverse()] as Object[])
+        assertEquals 4, statistics.prepareStatementCount
+        assertEquals((10..1).collect { "Book $it" }, books*.title)
+    }
+
+    void testGetAllTakesInstancesFromSession() {
+        def ids = createBooks(3)
+        def bookClass = ga.getDomainClass("GetAllBook").clazz
+        def loaded = bookClass.getAll(ids)
+
+        def statistics = sessionFactory.statistics
+        statistics.statisticsEnabled = true
+        statistics.clear()
+
+        def books = bookClass.getAll([ids[2], ids[1]])
+        assertEquals 0, statistics.prepareStatementCount
+        assertSame loaded[2], books[0]
+        assertSame loaded[1], books[1]
+    }
+}
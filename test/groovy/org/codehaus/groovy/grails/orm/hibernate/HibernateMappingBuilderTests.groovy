@@ -416,4 +416,42 @@ class HibernateMappingBuilderTests extends GroovyTestCase {
         assertEquals "Last_Name",mapping.columns.lastName.column
 
      }
-}
\ No newline at end of file
+
+     void testClassFetchSettings() {
+         def builder = new HibernateMappingBuilder("Foo")
+         def mapping = builder.evaluate {
+             lazy false
+             batchSize 20
+             dynamicUpdate true
+             dynamicInsert true
+         }
+
+         assertFalse mapping.lazy
+         assertEquals 20, mapping.batchSize
+         assertTrue mapping.dynamicUpdate
+         assertTrue mapping.dynamicInsert
+
+         mapping = builder.evaluate { table 'myTable' }
+         assertTrue mapping.lazy
+         assertNull mapping.batchSize
+         assertFalse mapping.dynamicUpdate
+         assertFalse mapping.dynamicInsert
+     }
+
+     void testAssociationFetchSettings() {
+         def builder = new HibernateMappingBuilder("Foo")
+         def mapping = builder.evaluate {
+             books fetch:'subselect', batchSize:10
+             author fetch:'join'
+             columns {
+                 reviews fetch:'rubbish'
+             }
+         }
+
+         assertEquals 'subselect', mapping.columns.books.fetch
+         assertEquals 10, mapping.columns.books.batchSize
+         assertEquals 'join', mapping.columns.author.fetch
+         assertEquals(-1, mapping.columns.author.batchSize)
+         assertNull mapping.columns.reviews.fetch
+     }
+}
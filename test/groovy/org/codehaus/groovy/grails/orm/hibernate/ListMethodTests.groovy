@@ -13,6 +13,11 @@ class ListableBook {
     Long id
     Long version
     String title
+    Date published
+
+    static constraints = {
+        published(nullable:true)
+    }
 }
 '''
     }
@@ -22,8 +27,72 @@ class ListableBook {
         ['A','C','b', 'a', 'c', 'B'].each { bookClass.newInstance(title:it).save(flush:true) }
 
 
-        assertEquals( ['a','A','B','b',  'c', 'C'], bookClass.list(sort:'title').title )
+        // titles that are equal but for their case are ordered by id
+        assertEquals( ['A','a','b','B', 'C', 'c'], bookClass.list(sort:'title').title )
         assertEquals( ['A','B','C', 'a', 'b', 'c'], bookClass.list(sort:'title', ignoreCase:false).title )
     }
 
-}
\ No newline at end of file
+    void testKeysetPagination() {
+        def bookClass = ga.getDomainClass("ListableBook").clazz
+        ['A','B','B','B','C','D'].each { bookClass.newInstance(title:it).save(flush:true) }
+        def books = bookClass.list().sort { a, b -> a.title <=> b.title ?: a.id <=> b.id }
+
+        def page = bookClass.list(sort:'title', max:2, after:books[1].title, afterId:books[1].id)
+        assertEquals books[2..3]*.id, page*.id
+
+        page = bookClass.list(sort:'title', max:2, after:books[3].title, afterId:books[3].id.toString())
+        assertEquals books[4..5]*.id, page*.id
+
+        page = bookClass.list(sort:'title', max:2, before:books[4].title, beforeId:books[4].id)
+        assertEquals books[2..3]*.id, page*.id
+
+        page = bookClass.list(sort:'title', order:'desc', max:3, after:books[4].title, afterId:books[4].id)
+        assertEquals books[1..3].reverse()*.id, page*.id
+
+        page = bookClass.list(sort:'title', order:'desc', max:2, before:books[1].title, beforeId:books[1].id)
+        assertEquals books[2..3].reverse()*.id, page*.id
+    }
+
+    void testKeysetPaginationFollowsFirstPage() {
+        def bookClass = ga.getDomainClass("ListableBook").clazz
+        ['c','B','a','D','b','B','A','d','a'].each { bookClass.newInstance(title:it).save(flush:true) }
+
+        [[sort:'title'], [sort:'title', order:'desc'], [sort:'title', ignoreCase:false]].each { args ->
+            def all = bookClass.list(args)
+            assertEquals all*.id.unique().size(), all.size()
+
+            // follow the next links of the paginate tag from the first page and the previous links back
+            def pages = [bookClass.list(args + [max:2])]
+            while(pages[-1].size() == 2) {
+                pages << bookClass.list(args + [max:2, after:pages[-1][-1].title, afterId:pages[-1][-1].id])
+            }
+            assertEquals all*.id, pages.flatten()*.id
+
+            (1..<pages.size()).each { i ->
+                if(pages[i]) {
+                    def previous = bookClass.list(args + [max:2, before:pages[i][0].title, beforeId:pages[i][0].id])
+                    assertEquals pages[i - 1]*.id, previous*.id
+                }
+            }
+        }
+    }
+
+    void testKeysetPaginationById() {
+        def bookClass = ga.getDomainClass("ListableBook").clazz
+        (1..5).each { bookClass.newInstance(title:"Book $it").save(flush:true) }
+        def ids = bookClass.list()*.id.sort()
+
+        assertEquals ids[2..3], bookClass.list(max:2, offset:4, after:ids[1])*.id
+        assertEquals ids[0..1], bookClass.list(max:2, before:ids[2].toString())*.id
+    }
+
+    void testKeysetPaginationByDate() {
+        def bookClass = ga.getDomainClass("ListableBook").clazz
+        def now = System.currentTimeMillis()
+        (1..4).each { bookClass.newInstance(title:"Book $it", published:new Date(now + it * 1000)).save(flush:true) }
+        def books = bookClass.list(sort:'published')
+
+        def page = bookClass.list(sort:'published', max:10, after:books[1].published.time.toString(), afterId:books[1].id)
+        assertEquals books[2..3]*.id, page*.id
+    }
+}
@@ -0,0 +1,128 @@
+package org.codehaus.groovy.grails.orm.hibernate
+
+import org.hibernate.FetchMode
+
+/**
+ * Tests the lazy, batchSize, dynamicUpdate, dynamicInsert and fetch settings of the ORM mapping DSL
+ */
+class MappingDslFetchTests extends AbstractGrailsHibernateTests {
+
+    protected void onSetUp() {
+        gcl.parseClass '''
+class FetchAuthor {
+    Long id
+    Long version
+    String name
+    Set books
+    Set awards
+    Set reviews
+
+    static hasMany = [books:FetchBook, awards:FetchAward, reviews:FetchReview]
+    static mapping = {
+        batchSize 10
+        dynamicUpdate true
+        dynamicInsert true
+        books batchSize:5, lazy:true
+        awards fetch:'join'
+        reviews fetch:'subselect', lazy:true
+    }
+}
+class FetchBook {
+    Long id
+    Long version
+    String title
+    FetchAuthor author
+    FetchPublisher publisher
+
+    static belongsTo = FetchAuthor
+    static mapping = {
+        lazy false
+        publisher fetch:'join'
+    }
+    static constraints = {
+        publisher(nullable:true)
+    }
+}
+class FetchPublisher {
+    Long id
+    Long version
+    String name
+}
+class FetchAward {
+    Long id
+    Long version
+    String name
+    FetchAuthor author
+
+    static belongsTo = FetchAuthor
+}
+class FetchReview {
+    Long id
+    Long version
+    String text
+    FetchAuthor author
+
+    static belongsTo = FetchAuthor
+}
+'''
+    }
+
+    private getConfiguration() {
+        applicationContext.getBean("&sessionFactory").configuration
+    }
+
+    void testClassSettings() {
+        def author = configuration.getClassMapping("FetchAuthor")
+        assertEquals 10, author.batchSize
+        assertTrue author.useDynamicUpdate()
+        assertTrue author.useDynamicInsert()
+        assertTrue author.isLazy()
+
+        def book = configuration.getClassMapping("FetchBook")
+        assertFalse book.isLazy()
+        assertFalse book.useDynamicUpdate()
+        assertEquals(-1, book.batchSize)
+    }
+
+    void testAssociationSettings() {
+        def books = configuration.getCollectionMapping("FetchAuthor.books")
+        assertEquals 5, books.batchSize
+        assertTrue books.isLazy()
+
+        assertEquals FetchMode.JOIN, configuration.getCollectionMapping("FetchAuthor.awards").fetchMode
+
+        def reviews = configuration.getCollectionMapping("FetchAuthor.reviews")
+        assertEquals FetchMode.SELECT, reviews.fetchMode
+        assertTrue reviews.isSubselectLoadable()
+        assertTrue configuration.getClassMapping("FetchAuthor").hasSubselectLoadableCollections()
+
+        def publisher = configuration.getClassMapping("FetchBook").getProperty("publisher").value
+        assertEquals FetchMode.JOIN, publisher.fetchMode
+    }
+
+    void testSubselectAndBatchFetching() {
+        def authorClass = ga.getDomainClass("FetchAuthor").clazz
+        def bookClass = ga.getDomainClass("FetchBook").clazz
+        def reviewClass = ga.getDomainClass("FetchReview").clazz
+        (1..4).each { i ->
+            def author = authorClass.newInstance(name:"Author $i")
+            author.addToBooks(bookClass.newInstance(title:"Book $i"))
+            author.addToReviews(reviewClass.newInstance(text:"Review $i"))
+            assert author.save()
+        }
+        session.flush()
+        session.clear()
+
+        def statistics = sessionFactory.statistics
+        statistics.statisticsEnabled = true
+        def authors = authorClass.list()
+
+        statistics.clear()
+        authors.each { assertEquals 1, it.reviews.size() }
+        assertEquals 1, statistics.prepareStatementCount
+
+        statistics.clear()
+        authors.each { assertEquals 1, it.books.size() }
+        assertEquals 1, statistics.prepareStatementCount
+    }
+}
@@ -0,0 +1,77 @@
+package org.codehaus.groovy.grails.orm.hibernate
+
+/**
+ * Tests the cache and cacheRegion arguments of finders, list and criteria. The instances are created in the
+ * transaction of the test, so the cached results are never up to date and each cacheable query puts its results.
+ */
+class QueryCacheArgumentTests extends AbstractGrailsHibernateTests {
+
+    def statistics
+
+    protected void onSetUp() {
+        gcl.parseClass '''
+class QueryCacheCountry {
+    Long id
+    Long version
+    String name
+    String continent
+}
+'''
+    }
+
+    private createCountries() {
+        def countryClass = ga.getDomainClass("QueryCacheCountry").clazz
+        assert countryClass.newInstance(name:"France", continent:"Europe").save()
+        assert countryClass.newInstance(name:"Spain", continent:"Europe").save()
+        assert countryClass.newInstance(name:"Chile", continent:"America").save()
+        session.flush()
+        session.clear()
+
+        statistics = sessionFactory.statistics
+        statistics.statisticsEnabled = true
+        statistics.clear()
+        return countryClass
+    }
+
+    void testDynamicFinders() {
+        def countryClass = createCountries()
+
+        assertEquals 2, countryClass.findAllByContinent("Europe", [cache:true]).size()
+        assertEquals 1, statistics.queryCachePutCount
+
+        assertEquals "Chile", countryClass.findByContinent("America", [cache:true]).name
+        assertEquals 2, statistics.queryCachePutCount
+
+        assertEquals 2, countryClass.countByContinent("Europe", [cache:true])
+        assertEquals 3, statistics.queryCachePutCount
+    }
+
+    void testUncachedByDefault() {
+        def countryClass = createCountries()
+
+        countryClass.findAllByContinent("Europe")
+        countryClass.findAllByContinent("Europe", [cache:false, cacheRegion:"countries"])
+        countryClass.list()
+        assertEquals 0, statistics.queryCachePutCount
+    }
+
+    void testListWithCacheRegion() {
+        def countryClass = createCountries()
+
+        assertEquals(["Chile", "France", "Spain"], countryClass.list(cacheRegion:"countries", sort:"name")*.name)
+        assertEquals 1, statistics.queryCachePutCount
+        assertNotNull statistics.getSecondLevelCacheStatistics("countries")
+    }
+
+    void testCriteria() {
+        def countryClass = createCountries()
+
+        def query = {
+            eq("continent", "Europe")
+            cache true
+        }
+        assertEquals 2, countryClass.withCriteria(query).size()
+        assertEquals 2, countryClass.createCriteria().list(query).size()
+        assertEquals 2, statistics.queryCachePutCount
+    }
+}
@@ -0,0 +1,81 @@
+package org.codehaus.groovy.grails.orm.hibernate
+
+/**
+ * Tests the readOnly argument of list, findAll, dynamic finders and criteria
+ */
+class ReadOnlyQueryTests extends AbstractGrailsHibernateTests {
+
+    protected void onSetUp() {
+        gcl.parseClass '''
+class ReadOnlyBook {
+    Long id
+    Long version
+    String title
+    String author
+}
+'''
+    }
+
+    private createBooks() {
+        def bookClass = ga.getDomainClass("ReadOnlyBook").clazz
+        assert bookClass.newInstance(title:"Dune", author:"Herbert").save()
+        assert bookClass.newInstance(title:"Emma", author:"Austen").save()
+        session.flush()
+        session.clear()
+        return bookClass
+    }
+
+    private assertNotUpdated(bookClass, books) {
+        books.each { it.title = it.title.toUpperCase() }
+        session.flush()
+        session.clear()
+        assertEquals(["Dune", "Emma"], bookClass.list(sort:"title")*.title)
+    }
+
+    void testList() {
+        def bookClass = createBooks()
+
+        def books = bookClass.list(readOnly:true)
+        assertEquals 2, books.size()
+        assertTrue books.every { session.contains(it) }
+        assertNotUpdated bookClass, books
+
+        books = bookClass.list(sort:"title")
+        books.each { it.title = it.title.toUpperCase() }
+        session.flush()
+        session.clear()
+        assertEquals(["DUNE", "EMMA"], bookClass.list(sort:"title")*.title)
+    }
+
+    void testDynamicFinders() {
+        def bookClass = createBooks()
+
+        assertNotUpdated bookClass, bookClass.findAllByAuthorLike("%e%", [readOnly:true])
+        assertNotUpdated bookClass, [bookClass.findByAuthor("Austen", [readOnly:true])]
+        assertNotUpdated bookClass, bookClass.listOrderByTitle(readOnly:true)
+    }
+
+    void testFindAll() {
+        def bookClass = createBooks()
+
+        assertNotUpdated bookClass, bookClass.findAll("from ReadOnlyBook as b where b.author like :author",
+                [author:"%e%", readOnly:true])
+        assertNotUpdated bookClass, bookClass.findAll("from ReadOnlyBook", [], [readOnly:true])
+    }
+
+    void testCriteria() {
+        def bookClass = createBooks()
+
+        assertNotUpdated bookClass, bookClass.withCriteria {
+            like("author", "%e%")
+            readOnly true
+        }
+        assertNotUpdated bookClass, bookClass.createCriteria().list(readOnly:true, max:10) {
+            like("author", "%e%")
+        }
+        assertNotUpdated bookClass, [bookClass.createCriteria().get {
+            eq("author", "Herbert")
+            readOnly true
+        }]
+    }
+}
@@ -0,0 +1,99 @@
+package org.codehaus.groovy.grails.orm.hibernate
+
+/**
+ * Tests the saveAll and deleteAll methods
+ */
+class SaveAllMethodTests extends AbstractGrailsHibernateTests {
+
+    protected void onSetUp() {
+        gcl.parseClass '''
+class SaveAllPublisher {
+    Long id
+    Long version
+    String name
+}
+class SaveAllBook {
+    Long id
+    Long version
+    String title
+    SaveAllPublisher publisher
+
+    static constraints = {
+        title(blank:false)
+        publisher(nullable:true)
+    }
+}
+'''
+    }
+
+    void testSaveAll() {
+        def bookClass = ga.getDomainClass("SaveAllBook").clazz
+
+        def books = (1..25).collect { bookClass.newInstance(title:"Book $it") }
+        books[3].title = ""
+        books[17].title = ""
+
+        def failed = bookClass.saveAll(books, [batchSize:10])
+
+        assertEquals 2, failed.size()
+        assertSame books[3], failed[0]
+        assertTrue failed[0].errors.hasFieldErrors("title")
+        assertSame books[17], failed[1]
+        assertFalse session.contains(books[0])
+
+        assertEquals 23, bookClass.count()
+        assertNull books[3].id
+        assertNotNull books[24].id
+    }
+
+    void testSaveAllWithoutClearing() {
+        def bookClass = ga.getDomainClass("SaveAllBook").clazz
+
+        def books = (1..5).collect { bookClass.newInstance(title:"Book $it") }
+        assertEquals 0, bookClass.saveAll(books, [batchSize:2, clear:false]).size()
+
+        assertTrue session.contains(books[0])
+        assertEquals 5, bookClass.count()
+    }
+
+    void testSaveAllWithoutValidation() {
+        def bookClass = ga.getDomainClass("SaveAllBook").clazz
+
+        def books = [bookClass.newInstance(title:"")]
+        assertEquals 0, bookClass.saveAll(books, [validate:false]).size()
+        assertEquals 1, bookClass.count()
+    }
+
+    void testSaveAllRetrievesAssociations() {
+        def publisherClass = ga.getDomainClass("SaveAllPublisher").clazz
+        def bookClass = ga.getDomainClass("SaveAllBook").clazz
+
+        def publisher = publisherClass.newInstance(name:"Pub")
+        assert publisher.save(flush:true)
+        session.clear()
+
+        def books = (1..3).collect {
+            def detached = publisherClass.newInstance()
+            detached.id = publisher.id
+            bookClass.newInstance(title:"Book $it", publisher:detached)
+        }
+        assertEquals 0, bookClass.saveAll(books).size()
+        session.clear()
+
+        bookClass.list().each { assertEquals "Pub", it.publisher.name }
+    }
+
+    void testDeleteAll() {
+        def bookClass = ga.getDomainClass("SaveAllBook").clazz
+
+        def books = (1..7).collect { bookClass.newInstance(title:"Book $it") }
+        bookClass.saveAll(books)
+        assertEquals 7, bookClass.count()
+
+        assertEquals 5, bookClass.deleteAll(books[0..4], [batchSize:2])
+        assertEquals 2, bookClass.count()
+
+        assertEquals 2, bookClass.deleteAll(bookClass.list())
+        assertEquals 0, bookClass.count()
+    }
+}
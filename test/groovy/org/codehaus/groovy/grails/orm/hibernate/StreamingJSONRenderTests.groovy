@@ -0,0 +1,40 @@
+package org.codehaus.groovy.grails.orm.hibernate
+
+import grails.converters.JSON
+import org.codehaus.groovy.grails.web.converters.ConverterUtil
+
+/**
+ * Tests streaming ScrollableResults of domain class instances with the JSON converter
+ */
+class StreamingJSONRenderTests extends AbstractGrailsHibernateTests {
+
+    protected void onSetUp() {
+        gcl.parseClass '''
+class StreamingJSONBook {
+    Long id
+    Long version
+    String title
+}
+'''
+    }
+
+    void testRenderScrollableResults() {
+        ConverterUtil.setGrailsApplication(ga)
+        def bookClass = ga.getDomainClass("StreamingJSONBook").clazz
+        (1..3).each { assertNotNull bookClass.newInstance(title:"Book $it").save() }
+        session.flush()
+        session.clear()
+
+        def json = bookClass.withScroll(sort:"title") { results ->
+            new JSON(results).setSession(session).setEvict(true).toString()
+        }
+        assertEquals(["Book 1", "Book 2", "Book 3"], JSON.parse(json).collect { it.title })
+        assertEquals 0, session.statistics.entityCount
+
+        json = bookClass.withScroll(sort:"title") { results ->
+            new JSON(results).toString()
+        }
+        assertEquals 3, JSON.parse(json).length()
+        assertEquals 3, session.statistics.entityCount
+    }
+}
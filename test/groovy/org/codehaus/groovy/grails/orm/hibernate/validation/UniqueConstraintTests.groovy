@@ -273,6 +273,133 @@ class UniqueConstraintTests extends AbstractGrailsHibernateTests {
         assertTrue link.hasErrors()
     }
 
+    private newUser(code, login, grp, department, organization) {
+        def user = ga.getDomainClass("User").clazz.newInstance()
+        user.code = code
+        user.login = login
+        user.grp = grp
+        user.department = department
+        user.organization = organization
+        user
+    }
+
+    void testValidationQueriesOncePerConstraint() {
+        assertNotNull newUser("1", "login1", "group1", "department1", "organization1").save(flush:true)
+
+        def statistics = sessionFactory.statistics
+        statistics.statisticsEnabled = true
+        statistics.clear()
+
+        def user = newUser("2", "login2", "group2", "department2", "organization2")
+        assertTrue user.validate()
+        assertEquals 3, statistics.prepareStatementCount
+
+        user.code = "1"
+        assertFalse user.validate()
+        assertTrue user.errors.hasFieldErrors("code")
+    }
+
+    void testCheckBatch() {
+        def domainClass = ga.getDomainClass("User")
+        def existing = newUser("1", "login1", "group1", "department1", "organization1").save(flush:true)
+        assertNotNull existing
+
+        def users = [newUser("2", "login2", "group1", "department2", "organization1"),
+                     newUser("1", "login3", "group1", "department3", "organization1"),
+                     newUser("2", "login4", "group1", "department4", "organization1"),
+                     newUser("5", "login2", "group1", "department2", "organization2"),
+                     existing]
+
+        def statistics = sessionFactory.statistics
+        statistics.statisticsEnabled = true
+        statistics.clear()
+        UniqueConstraint.checkBatch(domainClass, users)
+        try {
+            assertEquals 3, statistics.prepareStatementCount
+
+            assertTrue users[0].validate()
+            // code already in the database
+            assertFalse users[1].validate()
+            assertTrue users[1].errors.hasFieldErrors("code")
+            // code of an earlier instance of the batch
+            assertFalse users[2].validate()
+            assertTrue users[2].errors.hasFieldErrors("code")
+            // login within group and department of an earlier instance of the batch
+            assertFalse users[3].validate()
+            assertTrue users[3].errors.hasFieldErrors("login")
+            assertFalse users[3].errors.hasFieldErrors("department")
+            // the values stored with an instance remain its own
+            assertTrue existing.validate()
+            assertEquals 3, statistics.prepareStatementCount
+        }
+        finally {
+            UniqueConstraint.clearBatch()
+        }
+    }
+
+    void testCheckBatchWithDateValues() {
+        def domainClass = ga.getDomainClass("Appointment")
+        def day = new Date(1199188800000L)
+        def existing = domainClass.newInstance()
+        existing.day = day
+        assertNotNull existing.save(flush:true)
+        session.clear()
+
+        // the query returns a java.sql.Timestamp, which is not equal to the Date of the instances
+        def appointments = [new Date(day.time), new Date(day.time + 86400000L)].collect {
+            def appointment = domainClass.newInstance()
+            appointment.day = it
+            appointment
+        }
+        UniqueConstraint.checkBatch(domainClass, appointments)
+        try {
+            assertFalse appointments[0].validate()
+            assertTrue appointments[0].errors.hasFieldErrors("day")
+            assertTrue appointments[1].validate()
+        }
+        finally {
+            UniqueConstraint.clearBatch()
+        }
+    }
+
+    void testCheckBatchWithNullGroupValues() {
+        def domainClass = ga.getDomainClass("Booking")
+        def existing = domainClass.newInstance()
+        existing.title = "Meeting"
+        assertNotNull existing.save(flush:true)
+        session.clear()
+
+        def bookings = [null, null, "Room 1"].collect {
+            def booking = domainClass.newInstance()
+            booking.title = "Meeting"
+            booking.room = it
+            booking
+        }
+        // a null room never matches, neither an existing instance nor an earlier one of the batch
+        assertTrue bookings.every { it.validate() }
+        UniqueConstraint.checkBatch(domainClass, bookings)
+        try {
+            assertTrue bookings.every { it.validate() }
+        }
+        finally {
+            UniqueConstraint.clearBatch()
+        }
+    }
+
+    void testSaveAllChecksUniquenessOfBatch() {
+        def userClass = ga.getDomainClass("User").clazz
+        assertNotNull newUser("1", "login1", "group1", "department1", "organization1").save(flush:true)
+
+        def users = (2..6).collect { newUser("$it", "login$it", "group$it", "department$it", "organization$it") }
+        users[1].code = "1"
+        users[4].code = "2"
+
+        def failed = userClass.saveAll(users, [batchSize:10])
+        assertEquals([users[1], users[4]], failed)
+        assertTrue failed[1].errors.hasFieldErrors("code")
+        assertEquals 4, userClass.count()
+    }
+
 
     void onSetUp() {
         gcl.parseClass('''
@@ -294,6 +421,26 @@ class UniqueConstraintTests extends AbstractGrailsHibernateTests {
                     code(unique:true)
                 }
             }
+            class Appointment {
+                Long id
+                Long version
+                Date day
+
+                static constraints = {
+                    day(unique:true)
+                }
+            }
+            class Booking {
+                Long id
+                Long version
+                String title
+                String room
+
+                static constraints = {
+                    room(nullable:true)
+                    title(unique:'room')
+                }
+            }
             class Link1 {
                 Long id
                 Long version
@@ -0,0 +1,58 @@
+package org.codehaus.groovy.grails.validation
+
+import org.codehaus.groovy.grails.commons.DefaultGrailsDomainClass
+import org.springframework.context.support.StaticMessageSource
+import org.springframework.validation.BeanPropertyBindingResult
+
+/**
+ * Measures GrailsDomainClassValidator.validate for 1M instances of a domain class with 30 constrained properties. Not
+ * run as part of the test suite; to compare two versions, run it against the classes built from each, with:
+ *
+ * groovy -cp target/classes:target/test-classes:lib/* org.codehaus.groovy.grails.validation.DomainClassValidationBenchmark
+ *
+ * @since 1.0.4
+ */
+class DomainClassValidationBenchmark {
+
+    static final int ITERATIONS = 1000000
+    static final int PROPERTIES = 30
+
+    static void main(String[] args) {
+        def domainClass = new DefaultGrailsDomainClass(createClass())
+        def validator = new GrailsDomainClassValidator()
+        validator.domainClass = domainClass
+        validator.messageSource = new StaticMessageSource()
+
+        def instances = (0..<100).collect { createInstance(domainClass.clazz, it) }
+
+        // warm up
+        validate(validator, instances, 50000)
+
+        long time = validate(validator, instances, ITERATIONS)
+        println "${PROPERTIES} properties: ${time}ms for ${ITERATIONS} instances"
+    }
+
+    static Class createClass() {
+        def source = new StringBuffer("class ValidationBenchmarkBook {\n Long id\n Long version\n def errors\n")
+        PROPERTIES.times { source << " String code${it}\n" }
+        source << " static constraints = {\n"
+        PROPERTIES.times { source << "  code${it}(blank:false, maxSize:20, matches:/[A-Z]+[0-9]*/)\n" }
+        source << " }\n}\n"
+        return new GroovyClassLoader().parseClass(source.toString())
+    }
+
+    static createInstance(Class clazz, int index) {
+        def instance = clazz.newInstance()
+        PROPERTIES.times { instance."code${it}" = "CODE${index}".toString() }
+        return instance
+    }
+
+    static long validate(validator, List instances, int iterations) {
+        long start = System.currentTimeMillis()
+        for(int i = 0; i < iterations; i++) {
+            def instance = instances[i % instances.size()]
+            validator.validate(instance, new BeanPropertyBindingResult(instance, instance.getClass().name))
+        }
+        return System.currentTimeMillis() - start
+    }
+}
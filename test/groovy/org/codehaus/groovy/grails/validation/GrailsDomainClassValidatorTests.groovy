@@ -6,6 +6,23 @@ import org.springframework.validation.BindException;
 
 class GrailsDomainClassValidatorTests extends AbstractGrailsMockTests {
 
+    public void testValidationPlanReusedUntilConstraintsRefreshed() {
+        def bookClass = ga.getDomainClass("Book")
+        assertSame bookClass.constrainedProperties, bookClass.constrainedProperties
+
+        def validator = new GrailsDomainClassValidator()
+        validator.domainClass = bookClass
+        validator.messageSource = createMessageSource()
+
+        def plan = validator.getValidationPlan()
+        assertSame plan, validator.getValidationPlan()
+
+        bookClass.refreshConstraints()
+        def rebuilt = validator.getValidationPlan()
+        assertNotSame plan, rebuilt
+        assertSame rebuilt, validator.getValidationPlan()
+    }
+
     public void testCascadingValidation() {
         def bookClass = ga.getDomainClass("Book")
         def authorClass = ga.getDomainClass("Author")
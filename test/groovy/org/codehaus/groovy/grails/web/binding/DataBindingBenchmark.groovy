@@ -0,0 +1,57 @@
+package org.codehaus.groovy.grails.web.binding
+
+import org.codehaus.groovy.grails.commons.ApplicationHolder
+import org.codehaus.groovy.grails.commons.DefaultGrailsApplication
+import org.codehaus.groovy.grails.web.servlet.mvc.GrailsParameterMap
+import org.springframework.mock.web.MockHttpServletRequest
+
+/**
+ * Measures binding request parameters to instances of a domain class with 50 properties of various types with
+ * DataBindingUtils.bindObjectToInstance, as bindData does, creating a GrailsDataBinder for each instance. Not run as
+ * part of the test suite, run with:
+ *
+ * groovy -cp target/classes:target/test-classes:lib/* org.codehaus.groovy.grails.web.binding.DataBindingBenchmark
+ *
+ * @since 1.0.4
+ */
+class DataBindingBenchmark {
+
+    static final int ITERATIONS = 20000
+    static final int PROPERTIES = 50
+    static final List TYPES = [String, Integer, Long, BigDecimal, Double]
+    static final List VALUES = ["value", "42", "1234567", "12.50", "3.75"]
+
+    static void main(String[] args) {
+        def gcl = new GroovyClassLoader()
+        def source = new StringBuffer("class BindingBenchmarkBook {\n Long id\n Long version\n")
+        PROPERTIES.times { source << " ${TYPES[it % TYPES.size()].simpleName} field${it}\n" }
+        source << "}\n"
+        gcl.parseClass(source.toString())
+
+        def application = new DefaultGrailsApplication(gcl.loadedClasses, gcl)
+        application.initialise()
+        ApplicationHolder.application = application
+        def domainClass = application.getDomainClass("BindingBenchmarkBook")
+        domainClass.clazz.metaClass.getConstraints = {-> domainClass.constrainedProperties }
+
+        def request = new MockHttpServletRequest()
+        PROPERTIES.times { request.addParameter("field${it}", VALUES[it % VALUES.size()]) }
+        def params = new GrailsParameterMap(request)
+
+        // warm up
+        bind(domainClass.clazz, params, 5000)
+
+        long start = System.currentTimeMillis()
+        bind(domainClass.clazz, params, ITERATIONS)
+        long time = System.currentTimeMillis() - start
+        println "${PROPERTIES} properties: ${time}ms for ${ITERATIONS} binds"
+    }
+
+    static void bind(Class clazz, params, int iterations) {
+        for (int i = 0; i < iterations; i++) {
+            def instance = clazz.newInstance()
+            def result = DataBindingUtils.bindObjectToInstance(instance, params)
+            assert !result.hasErrors()
+        }
+    }
+}
@@ -12,6 +12,8 @@ package org.codehaus.groovy.grails.web.binding
 
 import org.codehaus.groovy.grails.web.servlet.mvc.AbstractGrailsControllerTests
 import java.text.SimpleDateFormat
+import org.codehaus.groovy.grails.commons.ApplicationHolder
+import org.springframework.mock.web.MockHttpServletRequest
 
 class DataBindingTests extends AbstractGrailsControllerTests {
 
@@ -54,6 +56,11 @@ class City {
     Long id
     Long version
     String name
+}
+class Product {
+    Long id
+    Long version
+    BigDecimal price
 }
         ''')
     }
@@ -208,6 +215,65 @@ class City {
         assertEquals "Mocked 5", b.author.name
     }
 
+    void testBindingInstancesWithTemplate() {
+        def application = ApplicationHolder.application
+        ApplicationHolder.application = ga
+        try {
+            def authorClass = ga.getDomainClass("Author").clazz
+            def template = DataBinderTemplate.getTemplate(authorClass)
+            assertSame template, DataBinderTemplate.getTemplate(authorClass)
+            assertEquals String, template.getPropertyType("name")
+            assertNull template.getPropertyType("placeOfBirth.name")
+            assertEquals(["metaClass", "properties", "id", "version"], template.disallowedFields as List)
+
+            request.addParameter("id", "10")
+            request.addParameter("name", "")
+            request.addParameter("hairColour", "")
+
+            3.times {
+                def a = authorClass.newInstance()
+                GrailsDataBinder.createBinder(a, "author", request).bind(request)
+                assertNull a.id
+                assertNull a.name
+                assertEquals '', a.hairColour
+            }
+        } finally {
+            ApplicationHolder.application = application
+        }
+    }
+
+    void testNullablePropertiesOfRefreshedConstraints() {
+        def authorDomainClass = ga.getDomainClass("Author")
+        def template = DataBinderTemplate.getTemplate(authorDomainClass.clazz)
+        def nullable = template.getNullableProperties(authorDomainClass.constrainedProperties)
+        assertEquals(["name"] as Set, nullable)
+        // the names are not collected again for the constraints of another call
+        assertSame nullable, template.getNullableProperties(authorDomainClass.constrainedProperties)
+        assertSame nullable, template.getNullableProperties(authorDomainClass.clazz.constraints)
+
+        authorDomainClass.refreshConstraints()
+        def refreshed = template.getNullableProperties(authorDomainClass.constrainedProperties)
+        assertNotSame nullable, refreshed
+        assertEquals(["name"] as Set, refreshed)
+    }
+
+    void testLocaleEditors() {
+        def productClass = ga.getDomainClass("Product").clazz
+
+        request.addPreferredLocale(Locale.GERMANY)
+        request.addParameter("price", "1.234,5")
+        def p = productClass.newInstance()
+        GrailsDataBinder.createBinder(p, "product", request).bind(request)
+        assertEquals new BigDecimal("1234.5"), p.price
+
+        def englishRequest = new MockHttpServletRequest()
+        englishRequest.addPreferredLocale(Locale.UK)
+        englishRequest.addParameter("price", "1,234.5")
+        p = productClass.newInstance()
+        GrailsDataBinder.createBinder(p, "product", englishRequest).bind(englishRequest)
+        assertEquals new BigDecimal("1234.5"), p.price
+    }
+
     void testMultiDBinding() {
         def c = ga.getControllerClass("TestController").newInstance()
 
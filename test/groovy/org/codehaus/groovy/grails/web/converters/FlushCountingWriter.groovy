@@ -0,0 +1,9 @@
+package org.codehaus.groovy.grails.web.converters
+
+/**
+ * A StringWriter that counts how often it is flushed, for the tests of the converters that stream their targets
+ */
+class FlushCountingWriter extends StringWriter {
+    int flushes
+    void flush() { flushes++ }
+}
@@ -17,6 +17,7 @@ import net.sf.cglib.proxy.MethodInterceptor
 import java.lang.reflect.Method
 import net.sf.cglib.proxy.MethodProxy
 import org.springframework.core.JdkVersion
+import org.codehaus.groovy.grails.web.converters.exceptions.ConverterException
 
 class JSONConverterTests extends AbstractGrailsControllerTests {
 
@@ -74,6 +75,77 @@ class JSONConverterTests extends AbstractGrailsControllerTests {
             }
         }
 
+    void testDomainClassPropertiesAreResolvedOnce() {
+        def domainClass = ga.getDomainClass("Book")
+        def properties = MarshallerRegistry.getDomainClassProperties(domainClass)
+        assertSame properties, MarshallerRegistry.getDomainClassProperties(domainClass)
+        assertEquals "id", properties.identifier.name
+        assertEquals(domainClass.persistentProperties*.name, properties.accessors*.name)
+
+        def book = domainClass.newInstance()
+        book.title = "The Stand"
+        assertEquals "The Stand", properties.accessors.find { it.name == "title" }.getValue(book)
+
+        MarshallerRegistry.clear()
+        assertNotSame properties, MarshallerRegistry.getDomainClassProperties(domainClass)
+    }
+
+    void testBeanConverting() {
+        def bean = new JSONTestBean(name:"foo", count:2)
+        bean.note = "bar"
+        def json = new grails.converters.JSON(bean).toString()
+
+        assertEquals '{"class":"org.codehaus.groovy.grails.web.converters.JSONTestBean","count":2,"name":"foo","note":"bar"}', json
+        assertEquals json, new grails.converters.JSON(bean).toString()
+    }
+
+    void testParseEach() {
+        def request = new org.springframework.mock.web.MockHttpServletRequest()
+        request.content = '[{"title":"The Stand"}, {"title":"It"}]'.getBytes("UTF-8")
+
+        def titles = []
+        assertEquals 2, grails.converters.JSON.parseEach(request) { titles << it.title }
+        assertEquals(["The Stand", "It"], titles)
+
+        request = new org.springframework.mock.web.MockHttpServletRequest()
+        request.content = '[1, 2, 3]'.getBytes("UTF-8")
+        assertEquals([1, 2, 3], grails.converters.JSON.parse(request) as List)
+        def values = []
+        assertEquals 3, grails.converters.JSON.parseEach(request) { values << it }
+        assertEquals([1, 2, 3], values)
+
+        shouldFail(ConverterException) {
+            grails.converters.JSON.parseEach(new StringReader('{"title":"It"}')) { }
+        }
+    }
+
+    void testStreamedTargets() {
+        def writer = new FlushCountingWriter()
+        new grails.converters.JSON([1, "two", [3]].iterator()).setFlushInterval(2).render(writer)
+        assertEquals '[1,"two",[3]]', writer.toString()
+        // once after two elements and once at the end
+        assertEquals 2, writer.flushes
+
+        def json = new grails.converters.JSON({ emit ->
+            3.times { emit([index:it]) }
+        })
+        assertEquals '[{"index":0},{"index":1},{"index":2}]', json.toString()
+
+        def deep = new grails.converters.deep.JSON([[a:1], [a:2]].iterator())
+        assertEquals '[{"a":1},{"a":2}]', deep.toString()
+    }
+
+    void testNestedClosuresAreNotInvoked() {
+        def closure = new RecordingClosure()
+        def rendered = new grails.converters.JSON([a:closure]).toString()
+        assertFalse "nested Closures are rendered rather than called", closure.wasInvoked()
+        assertTrue rendered.startsWith('{"a":{')
+
+        def iterator = [1, 2].iterator()
+        new grails.converters.JSON([a:iterator]).toString()
+        assertTrue "nested Iterators are not consumed", iterator.hasNext()
+    }
+
     void onSetUp() {
         gcl.parseClass('''
 import grails.converters.*
@@ -113,4 +185,27 @@ public enum Role { HEAD, DISPATCHER, ADMIN }
     }
 
 
-}
\ No newline at end of file
+}
+
+class JSONTestBean {
+    String name
+    int count
+    public String note
+}
+
+class RecordingClosure extends Closure {
+    private boolean invoked
+
+    RecordingClosure() {
+        super(new Object())
+    }
+
+    Object doCall(Object arg) {
+        invoked = true
+        return null
+    }
+
+    boolean wasInvoked() {
+        return invoked
+    }
+}
@@ -0,0 +1,84 @@
+package org.codehaus.groovy.grails.web.converters
+
+import grails.converters.JSON
+import org.codehaus.groovy.grails.commons.DefaultGrailsApplication
+
+/**
+ * Measures rendering a list of 10k domain class instances, each with 10 properties and a many-to-one association, with
+ * the JSON converter. Not run as part of the test suite, run with:
+ *
+ * groovy -cp target/classes:target/test-classes:lib/* org.codehaus.groovy.grails.web.converters.JSONRenderBenchmark
+ *
+ * @since 1.0.4
+ */
+class JSONRenderBenchmark {
+
+    static final int INSTANCES = 10000
+    static final int ITERATIONS = 20
+
+    static void main(String[] args) {
+        def gcl = new GroovyClassLoader()
+        gcl.parseClass '''
+class JSONBenchmarkPublisher {
+    Long id
+    Long version
+    String name
+}
+class JSONBenchmarkBook {
+    Long id
+    Long version
+    String title
+    String author
+    String isbn
+    Integer pages
+    Date published
+    BigDecimal price
+    Boolean inPrint
+    String language
+    String summary
+    JSONBenchmarkPublisher publisher
+}
+'''
+        def application = new DefaultGrailsApplication(gcl.loadedClasses, gcl)
+        application.initialise()
+        ConverterUtil.setGrailsApplication(application)
+
+        def publisher = application.getDomainClass("JSONBenchmarkPublisher").newInstance()
+        publisher.id = 1L
+        publisher.name = "Penguin"
+        def bookClass = application.getDomainClass("JSONBenchmarkBook").clazz
+        def books = (1..INSTANCES).collect {
+            def book = bookClass.newInstance()
+            book.id = it.longValue()
+            book.title = "Book ${it}".toString()
+            book.author = "Author ${it % 100}".toString()
+            book.isbn = "978-${it}".toString()
+            book.pages = it
+            book.published = new Date()
+            book.price = new BigDecimal("9.99")
+            book.inPrint = Boolean.TRUE
+            book.language = "en"
+            book.summary = "A summary of book ${it}".toString()
+            book.publisher = publisher
+            book
+        }
+
+        // warm up
+        render(books, 3)
+
+        long start = System.currentTimeMillis()
+        int length = render(books, ITERATIONS)
+        long time = System.currentTimeMillis() - start
+        println "${INSTANCES} instances: ${time / ITERATIONS}ms per rendering of ${length} characters"
+    }
+
+    static int render(List books, int iterations) {
+        int length = 0
+        iterations.times {
+            def out = new StringWriter(INSTANCES * 300)
+            new JSON(books).render(out)
+            length = out.buffer.length()
+        }
+        return length
+    }
+}
@@ -55,6 +55,60 @@ class XMLConverterTests extends AbstractGrailsControllerTests {
 </CGLIB-enhanced-proxy>''', response.contentAsString)
         }
 
+    void testDomainClassRenderedAsByXStream() {
+        def publisher = ga.getDomainClass("Publisher").newInstance()
+        publisher.id = 1L
+        publisher.name = "Viking"
+        publisher.novels = new TreeSet({ a, b -> a.id <=> b.id } as Comparator)
+        def novels = (1..2).collect {
+            def novel = ga.getDomainClass("Novel").newInstance()
+            novel.id = it.longValue()
+            novel.title = "Novel ${it}".toString()
+            novel.publisher = publisher
+            publisher.novels << novel
+            novel
+        }
+
+        def rendered = new grails.converters.XML(publisher).toString()
+        assertEquals new grails.converters.XML(publisher).setTrackReferences(true).toString(), rendered
+        assertEquals '''<publisher id="1">
+  <name>Viking</name>
+  <novels>
+    <novel id="1"/>
+    <novel id="2"/>
+  </novels>
+</publisher>''', rendered
+
+        def list = novels + [null]
+        assertEquals new grails.converters.XML(list).setTrackReferences(true).toString(),
+                new grails.converters.XML(list).toString()
+
+        // an instance rendered twice is rendered in full, rather than as a reference to its first occurrence
+        def twice = new grails.converters.XML([novels[0], novels[0]]).toString()
+        assertEquals 2, twice.count('<title>Novel 1</title>')
+        assertFalse twice.contains('reference=')
+    }
+
+    void testStreamedTargets() {
+        def novels = (1..3).collect {
+            def novel = ga.getDomainClass("Novel").newInstance()
+            novel.id = it.longValue()
+            novel.title = "Novel ${it}".toString()
+            novel
+        }
+
+        def writer = new FlushCountingWriter()
+        new grails.converters.XML(novels.iterator()).setFlushInterval(2).render(writer)
+        assertEquals new grails.converters.XML(novels).setTrackReferences(true).toString(), writer.toString()
+        // once after two elements and once at the end
+        assertEquals 2, writer.flushes
+
+        assertEquals '''<list>
+  <string>one</string>
+  <int>2</int>
+</list>''', new grails.converters.XML(["one", 2].iterator()).toString()
+    }
+
     void onSetUp() {
         gcl.parseClass('''
 import grails.converters.*
@@ -76,6 +130,20 @@ class Book {
     String title
     String author
 
+}
+class Publisher {
+    Long id
+    Long version
+    String name
+    SortedSet novels
+    static hasMany = [novels:Novel]
+}
+class Novel {
+    Long id
+    Long version
+    String title
+    Publisher publisher
+    static belongsTo = Publisher
 }
 
         ''')
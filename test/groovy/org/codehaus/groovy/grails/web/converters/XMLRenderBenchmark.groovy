@@ -0,0 +1,91 @@
+package org.codehaus.groovy.grails.web.converters
+
+import grails.converters.XML
+import org.codehaus.groovy.grails.commons.DefaultGrailsApplication
+
+/**
+ * Compares rendering a list of 10k domain class instances, each with 10 properties and a many-to-one association,
+ * with XStream's reference tracking marshaller (XML.setTrackReferences(true), the behaviour prior to
+ * DomainClassXMLRenderer) and with the XML converter's own rendering. Not run as part of the test suite, run with:
+ *
+ * groovy -cp target/classes:target/test-classes:lib/* org.codehaus.groovy.grails.web.converters.XMLRenderBenchmark
+ *
+ * @since 1.0.4
+ */
+class XMLRenderBenchmark {
+
+    static final int INSTANCES = 10000
+    static final int ITERATIONS = 20
+
+    static void main(String[] args) {
+        def gcl = new GroovyClassLoader()
+        gcl.parseClass '''
+class XMLBenchmarkPublisher {
+    Long id
+    Long version
+    String name
+}
+class XMLBenchmarkBook {
+    Long id
+    Long version
+    String title
+    String author
+    String isbn
+    Integer pages
+    Date published
+    BigDecimal price
+    Boolean inPrint
+    String language
+    String summary
+    XMLBenchmarkPublisher publisher
+}
+'''
+        def application = new DefaultGrailsApplication(gcl.loadedClasses, gcl)
+        application.initialise()
+        ConverterUtil.setGrailsApplication(application)
+
+        def publisher = application.getDomainClass("XMLBenchmarkPublisher").newInstance()
+        publisher.id = 1L
+        publisher.name = "Penguin"
+        def bookClass = application.getDomainClass("XMLBenchmarkBook").clazz
+        def books = (1..INSTANCES).collect {
+            def book = bookClass.newInstance()
+            book.id = it.longValue()
+            book.title = "Book ${it}".toString()
+            book.author = "Author ${it % 100}".toString()
+            book.isbn = "978-${it}".toString()
+            book.pages = it
+            book.published = new Date()
+            book.price = new BigDecimal("9.99")
+            book.inPrint = Boolean.TRUE
+            book.language = "en"
+            book.summary = "A summary of book ${it}".toString()
+            book.publisher = publisher
+            book
+        }
+
+        // warm up
+        render(books, 3, true)
+        render(books, 3, false)
+
+        long start = System.currentTimeMillis()
+        int tracked = render(books, ITERATIONS, true)
+        long trackedTime = System.currentTimeMillis() - start
+
+        start = System.currentTimeMillis()
+        int length = render(books, ITERATIONS, false)
+        long time = System.currentTimeMillis() - start
+        println "${INSTANCES} instances: XStream ${trackedTime / ITERATIONS}ms for ${tracked} characters, " +
+                "renderer ${time / ITERATIONS}ms for ${length} characters per rendering"
+    }
+
+    static int render(List books, int iterations, boolean trackReferences) {
+        int length = 0
+        iterations.times {
+            def out = new StringWriter(INSTANCES * 500)
+            new XML(books).setTrackReferences(trackReferences).render(out)
+            length = out.buffer.length()
+        }
+        return length
+    }
+}
@@ -0,0 +1,61 @@
+package org.codehaus.groovy.grails.web.json
+
+/**
+ * Tests parsing JSON read incrementally by JSONStreamTokener
+ */
+class JSONStreamTokenerTests extends GroovyTestCase {
+
+    static final String TEXT = '''{"name":"The Stand", "tags":["horror", 'fiction'], /* comment */ "pages":1153,
+        "price":9.5, "inPrint":true, "author":{"name":"Stephen King"}, "escaped":"a\\"b\\u0041", "missing":null}'''
+
+    void testParsesLikeStringTokener() {
+        [3, 5, 16, 8192].each { bufferSize ->
+            def streamed = new JSONStreamTokener(new StringReader(TEXT), bufferSize).nextValue()
+            def parsed = new JSONTokener(TEXT).nextValue()
+            assertEquals "buffer size ${bufferSize}", parsed.toString(), streamed.toString()
+        }
+        def json = new JSONStreamTokener(new StringReader(TEXT), 3).nextValue()
+        assertEquals "The Stand", json.name
+        assertEquals(["horror", "fiction"], json.tags as List)
+        assertEquals 1153, json.pages
+        assertEquals "Stephen King", json.author.name
+        assertEquals 'a"bA', json.escaped
+    }
+
+    void testNextArrayElement() {
+        def tokener = new JSONStreamTokener(new StringReader(' [ {"id":1}, [2, 3], "four" ,, 5 ] '), 4)
+        def elements = []
+        while(tokener.nextArrayElement()) {
+            elements << tokener.nextArrayValue()
+        }
+        assertEquals 5, elements.size()
+        assertEquals 1, elements[0].id
+        assertEquals 2, elements[1].length()
+        assertEquals "four", elements[2]
+        assertNull elements[3]
+        assertEquals 5, elements[4]
+        assertFalse tokener.nextArrayElement()
+
+        tokener = new JSONStreamTokener(new StringReader('[]'))
+        assertFalse tokener.nextArrayElement()
+    }
+
+    void testInvalidArray() {
+        def tokener = new JSONStreamTokener(new StringReader('{"id":1}'))
+        shouldFail(JSONException) { tokener.nextArrayElement() }
+
+        tokener = new JSONStreamTokener(new StringReader('[1 }'))
+        assertTrue tokener.nextArrayElement()
+        assertEquals 1, tokener.nextArrayValue()
+        def message = shouldFail(JSONException) { tokener.nextArrayElement() }
+        assertTrue message, message.endsWith(" at character 4")
+    }
+
+    void testSkipPast() {
+        def tokener = new JSONStreamTokener(new StringReader('aaab-[1]'), 3)
+        tokener.skipPast("aab")
+        assertEquals '-', tokener.next()
+        tokener.skipPast("missing")
+        assertFalse tokener.more()
+    }
+}
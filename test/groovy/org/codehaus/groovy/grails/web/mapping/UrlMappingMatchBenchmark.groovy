@@ -0,0 +1,70 @@
+package org.codehaus.groovy.grails.web.mapping
+
+import org.codehaus.groovy.grails.validation.ConstrainedProperty
+
+/**
+ * Compares matching URIs by scanning every UrlMapping (the behaviour prior to UrlMappingTrie) with
+ * DefaultUrlMappingsHolder.matchAll for 10, 100 and 1000 mappings. Not run as part of the test suite, run with:
+ *
+ * groovy -cp target/classes:target/test-classes:lib/* org.codehaus.groovy.grails.web.mapping.UrlMappingMatchBenchmark
+ *
+ * @since 1.0.4
+ */
+class UrlMappingMatchBenchmark {
+
+    static final int ITERATIONS = 20000
+
+    static void main(String[] args) {
+        [10, 100, 1000].each { size ->
+            def holder = createHolder(size)
+            def random = new Random(size)
+            def uris = (0..<1000).collect { "/resource${random.nextInt(size)}/show/${it}".toString() }
+
+            // warm up
+            linearMatchAll(holder, uris, 2000)
+            trieMatchAll(holder, uris, 2000)
+
+            long linear = linearMatchAll(holder, uris, ITERATIONS)
+            long trie = trieMatchAll(holder, uris, ITERATIONS)
+            println "${size} mappings: linear scan ${linear}ms, trie ${trie}ms for ${ITERATIONS} matches"
+        }
+    }
+
+    static createHolder(int size) {
+        def parser = new DefaultUrlMappingParser()
+        def mappings = []
+        size.times { i ->
+            mappings << createMapping(parser.parse("/resource${i}/\$action?/\$id?"), "resource${i}".toString())
+        }
+        mappings << createMapping(parser.parse('/$controller/$action?/$id?'), null)
+        return new DefaultUrlMappingsHolder(mappings)
+    }
+
+    static createMapping(UrlMappingData data, String controller) {
+        def names = controller ? ["action", "id"] : ["controller", "action", "id"]
+        ConstrainedProperty[] constraints = names.collect { new ConstrainedProperty(UrlMapping, it, String) } as ConstrainedProperty[]
+        return new RegexUrlMapping(data, controller, null, null, constraints)
+    }
+
+    static long linearMatchAll(holder, List uris, int iterations) {
+        UrlMapping[] mappings = holder.urlMappings
+        long start = System.currentTimeMillis()
+        for(int i = 0; i < iterations; i++) {
+            String uri = uris[i % uris.size()]
+            List matches = []
+            for(int j = 0; j < mappings.length; j++) {
+                def info = mappings[j].match(uri)
+                if(info != null) matches << info
+            }
+        }
+        return System.currentTimeMillis() - start
+    }
+
+    static long trieMatchAll(holder, List uris, int iterations) {
+        long start = System.currentTimeMillis()
+        for(int i = 0; i < iterations; i++) {
+            holder.matchAll(uris[i % uris.size()])
+        }
+        return System.currentTimeMillis() - start
+    }
+}
@@ -0,0 +1,85 @@
+package org.codehaus.groovy.grails.web.mapping
+
+import org.springframework.core.io.ByteArrayResource
+
+class UrlMappingTrieTests extends GroovyTestCase {
+
+    def mappingScript = '''
+mappings {
+    "/$controller/$action?/$id?" {}
+    "/blog/$entry/$year?" {
+        controller = "blog"
+        action = "show"
+    }
+    "/blog/archive/$year" {
+        controller = "blog"
+        action = "archive"
+    }
+    "/shop/cart/$action?" {
+        controller = "cart"
+    }
+    "/shop/**" {
+        controller = "shop"
+    }
+    "/files/report.pdf" {
+        controller = "report"
+    }
+    "/about" {
+        controller = "page"
+        action = "about"
+    }
+    "500"(controller:"errors", action:"serverError")
+}
+'''
+
+    def holder
+
+    void setUp() {
+        def evaluator = new DefaultUrlMappingEvaluator()
+        holder = new DefaultUrlMappingsHolder(evaluator.evaluateMappings(new ByteArrayResource(mappingScript.bytes)))
+    }
+
+    void testCandidatesAreNarrowedByStaticSegments() {
+        def mappings = holder.urlMappings
+        def trie = new UrlMappingTrie(mappings)
+
+        def candidates = trie.getCandidates("/blog/archive/2007").collect { mappings[it].urlData.urlPattern }
+        assert candidates.contains("/blog/archive/(*)")
+        assert candidates.contains("/blog/(*)/(*)?")
+        assert candidates.contains("/(*)/(*)?/(*)?")
+        assert !candidates.contains("/shop/cart/(*)?")
+        assert !candidates.contains("/about")
+
+        candidates = trie.getCandidates("/other/list").collect { mappings[it].urlData.urlPattern }
+        assertEquals(["/(*)/(*)?/(*)?"], candidates)
+    }
+
+    void testRegexCharactersAreNotTreatedAsStatic() {
+        def mappings = holder.urlMappings
+        def trie = new UrlMappingTrie(mappings)
+
+        def candidates = trie.getCandidates("/files/reportXpdf").collect { mappings[it].urlData.urlPattern }
+        assert candidates.contains("/files/report.pdf")
+    }
+
+    void testCandidatesPreservePrecedence() {
+        def trie = new UrlMappingTrie(holder.urlMappings)
+        ["/blog/archive/2007", "/shop/cart/add", "/about", "/", "", "/blog/"].each { uri ->
+            def candidates = trie.getCandidates(uri) as List
+            assertEquals new ArrayList(candidates).sort(), candidates
+        }
+    }
+
+    void testMatchAllIsSameAsLinearScan() {
+        ["/blog/archive/2007", "/blog/first-post/2007", "/blog/first-post", "/shop/cart/add",
+         "/shop/cart", "/shop/cart/", "/shop/items/10/edit", "/about", "/about/", "/book/list",
+         "/files/report.pdf", "/", "", "no/slash", "//about"].each { uri ->
+            def expected = holder.urlMappings.collect { it.match(uri) }.findAll { it != null }
+            def actual = holder.matchAll(uri) as List
+
+            assertEquals "Wrong matches for URI [$uri]", expected*.toString(), actual*.toString()
+            assertEquals "Wrong matches for URI [$uri]", expected*.parameters, actual*.parameters
+            assertEquals "Wrong match for URI [$uri]", expected ? expected[0].toString() : null, holder.match(uri)?.toString()
+        }
+    }
+}
@@ -24,6 +24,7 @@ import org.codehaus.groovy.grails.commons.*
 import org.codehaus.groovy.grails.web.mapping.UrlMappingEvaluator;
 import org.codehaus.groovy.grails.web.mapping.DefaultUrlMappingEvaluator;
 import org.codehaus.groovy.grails.web.mapping.DefaultUrlMappingsHolder;
+import org.codehaus.groovy.grails.web.mapping.filter.UrlMappingsResolutionCache;
 
 import java.util.List
 import grails.util.GrailsWebUtil;
@@ -239,4 +240,54 @@ void testFilterWithControllerWithIndexAndAction(){
         assertEquals "/book.gsp", response.forwardedUrl
         assertEquals "joel", webRequest.params.name
     }
+
+    void testUrlMappingFilterWithResolutionCache() {
+        def mappings = evaluator.evaluateMappings(new ByteArrayResource(mappingScript.getBytes()));
+        appCtx.registerMockBean(UrlMappingsHolder.BEAN_ID, new DefaultUrlMappingsHolder(mappings));
+        def cache = new UrlMappingsResolutionCache(10)
+        appCtx.registerMockBean(UrlMappingsResolutionCache.BEAN_ID, cache)
+
+        gcl.parseClass(testController1)
+        gcl.parseClass(testController2)
+
+		def app =  new DefaultGrailsApplication(gcl.loadedClasses,gcl)
+		app.initialise()
+        appCtx.registerMockBean("grailsApplication", app)
+
+        servletContext.setAttribute(WebApplicationContext.ROOT_WEB_APPLICATION_CONTEXT_ATTRIBUTE,appCtx);
+        // the cache is looked up when the filter is initialized
+        filter = new UrlMappingsFilter();
+        filter.init(new MockFilterConfig(servletContext));
+
+        request.setRequestURI("/my_entry/2007/06/01");
+        filter.doFilterInternal(request, response,null);
+
+        assertEquals "/grails/blog/show.dispatch", response.forwardedUrl
+        assertEquals 0, cache.hits
+        assertEquals 1, cache.misses
+
+        webRequest = GrailsWebUtil.bindMockWebRequest()
+        request = webRequest.currentRequest
+        response = webRequest.currentResponse
+        request.setRequestURI("/my_entry/2007/06/01");
+        filter.doFilterInternal(request, response,null);
+
+        assertEquals "/grails/blog/show.dispatch", response.forwardedUrl
+        assertEquals "my_entry", webRequest.params.id
+        assertEquals "2007", webRequest.params.year
+        assertEquals 1, cache.hits
+        assertEquals 1, cache.misses
+
+        webRequest = GrailsWebUtil.bindMockWebRequest()
+        request = webRequest.currentRequest
+        response = webRequest.currentResponse
+        request.method = "POST"
+        request.setRequestURI("/my_entry/2007/06/01");
+        filter.doFilterInternal(request, response,null);
+
+        assertEquals "/grails/blog/show.dispatch", response.forwardedUrl
+        assertEquals 1, cache.hits
+        assertEquals 2, cache.misses
+        assertEquals 2, cache.size
+    }
 }
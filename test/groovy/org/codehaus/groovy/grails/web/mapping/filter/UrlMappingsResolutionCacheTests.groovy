@@ -0,0 +1,61 @@
+package org.codehaus.groovy.grails.web.mapping.filter
+
+import org.codehaus.groovy.grails.commons.DefaultGrailsControllerClass
+import org.codehaus.groovy.grails.web.mapping.UrlMappingInfo
+
+class UrlMappingsResolutionCacheTests extends GroovyTestCase {
+
+    void testDisabledByDefault() {
+        def cache = new UrlMappingsResolutionCache()
+        assertFalse cache.enabled
+
+        cache.put("/book/list", null, "GET", new UrlMappingsResolutionCache.Entry([] as UrlMappingInfo[], null, null))
+        assertEquals 0, cache.size
+    }
+
+    void testKeyedByUriFormatAndMethod() {
+        def cache = new UrlMappingsResolutionCache(10)
+        def entry = new UrlMappingsResolutionCache.Entry([] as UrlMappingInfo[], "/book/list", null)
+        cache.put("/book/list", null, "GET", entry)
+
+        assertSame entry, cache.get("/book/list", null, "GET")
+        assertNull cache.get("/book/list", "xml", "GET")
+        assertNull cache.get("/book/list", null, "POST")
+        assertEquals 1, cache.hits
+        assertEquals 2, cache.misses
+
+        cache.resetStatistics()
+        assertEquals 0, cache.hits
+        assertEquals 0, cache.misses
+    }
+
+    void testClearedWhenFull() {
+        def cache = new UrlMappingsResolutionCache(2)
+        def entry = new UrlMappingsResolutionCache.Entry([] as UrlMappingInfo[], null, null)
+        cache.put("/one", null, "GET", entry)
+        cache.put("/two", null, "GET", entry)
+        // replacing an entry doesn't grow the cache
+        cache.put("/one", null, "GET", entry)
+        assertEquals 2, cache.size
+
+        cache.put("/three", null, "GET", entry)
+        assertEquals 1, cache.size
+        assertNull cache.get("/one", null, "GET")
+        assertNull cache.get("/two", null, "GET")
+        assertNotNull cache.get("/three", null, "GET")
+
+        cache.clear()
+        assertEquals 0, cache.size
+    }
+
+    void testControllerOnlyReturnedForSameUri() {
+        def controller = new DefaultGrailsControllerClass(ResolutionCacheTestController)
+        def entry = new UrlMappingsResolutionCache.Entry([] as UrlMappingInfo[], "/book/list", controller)
+        assertSame controller, entry.getController("/book/list")
+        assertNull entry.getController("/book/show")
+    }
+}
+
+class ResolutionCacheTestController {
+    def list = {}
+}
@@ -0,0 +1,125 @@
+package org.codehaus.groovy.grails.web.pages
+
+import org.springframework.mock.web.MockHttpServletResponse
+import org.springframework.web.context.request.RequestContextHolder
+import grails.util.GrailsWebUtil
+
+class GSPResponseWriterTests extends GroovyTestCase {
+
+    void testWriteCharacters() {
+        def response = new MockHttpServletResponse(characterEncoding:"UTF-8")
+        def writer = GSPResponseWriter.getInstance(response, 8, false)
+
+        writer.print "h\u00e9llo "
+        writer.print "w\u00f6rld"
+        writer.close()
+
+        assertEquals "h\u00e9llo w\u00f6rld", response.contentAsString
+        assertEquals 13, response.contentLength
+    }
+
+    void testStreamBytes() {
+        def response = new MockHttpServletResponse(characterEncoding:"UTF-8")
+        def writer = GSPResponseWriter.getInstance(response, 8, true)
+
+        writer.print "h\u00e9llo "
+        writer.print "w\u00f6rld"
+        writer << null
+        writer.close()
+
+        assertEquals "h\u00e9llo w\u00f6rld", response.contentAsString
+        assertEquals 13, response.contentLength
+    }
+
+    void testStreamBytesKeepsSurrogatePairsTogetherAcrossFlushes() {
+        def response = new MockHttpServletResponse(characterEncoding:"UTF-8")
+        def writer = GSPResponseWriter.getInstance(response, 4, true)
+
+        def clef = new String([0xD834, 0xDD1E] as char[])
+        writer.write "abc"
+        writer.write(0xD834)
+        writer.write(0xDD1E)
+        writer.write "d"
+        writer.close()
+
+        assertEquals "abc${clef}d".toString(), response.contentAsString
+        assertEquals 8, response.contentLength
+    }
+
+    void testStreamBytesFallsBackToWriterWhenWriterObtained() {
+        def response = new MockHttpServletResponse(characterEncoding:"UTF-8")
+        response.writer.write "start "
+        def writer = GSPResponseWriter.getInstance(response, 8, true)
+
+        writer.print "h\u00e9llo"
+        writer.close()
+        response.writer.flush()
+
+        assertEquals "start h\u00e9llo", response.contentAsString
+    }
+
+    void testWriteEncoded() {
+        def response = new MockHttpServletResponse(characterEncoding:"UTF-8")
+        def writer = GSPResponseWriter.getInstance(response, 8, true)
+
+        assertEquals "UTF-8", writer.streamCharset.name()
+        writer.print "h\u00e9"
+        writer.writeEncoded("ll\u00f6", "ll\u00f6".getBytes("UTF-8"))
+        writer.print " "
+        writer.writeEncoded("w\u00f6rld w\u00f6rld", "w\u00f6rld w\u00f6rld".getBytes("UTF-8"))
+        writer.print "!"
+        writer.close()
+
+        assertEquals "h\u00e9ll\u00f6 w\u00f6rld w\u00f6rld!", response.contentAsString
+        assertEquals 22, response.contentLength
+    }
+
+    void testWriteEncodedKeepsSurrogatePairsTogether() {
+        def response = new MockHttpServletResponse(characterEncoding:"UTF-8")
+        def writer = GSPResponseWriter.getInstance(response, 8, true)
+
+        def clef = new String([0xD834, 0xDD1E] as char[])
+        writer.write(0xD834)
+        writer.writeEncoded("ignored", "ignored".getBytes("UTF-8"))
+        writer.close()
+
+        assertEquals "?ignored", response.contentAsString
+        assertFalse response.contentAsString.contains(clef)
+    }
+
+    void testWriteEncodedWritesCharactersWhenNotStreamingBytes() {
+        def response = new MockHttpServletResponse(characterEncoding:"UTF-8")
+        def writer = GSPResponseWriter.getInstance(response, 8, false)
+
+        assertNull writer.streamCharset
+        writer.print "h\u00e9llo "
+        writer.writeEncoded("w\u00f6rld", [1, 2, 3] as byte[])
+        writer.close()
+
+        assertEquals "h\u00e9llo w\u00f6rld", response.contentAsString
+        assertEquals 13, response.contentLength
+    }
+
+    void testPageWritesEncodedHtmlParts() {
+        GrailsWebUtil.bindMockWebRequest()
+        try {
+            def gpte = new GroovyPagesTemplateEngine()
+            def header = "<html>\n<head><title>Books</title></head>\n<body>\n" + ("<p>static</p>" * 10)
+            def t = gpte.createTemplate(header + '${name}\n</body>\n</html>', "html_parts_test")
+
+            ["one", "two"].each { name ->
+                def response = new MockHttpServletResponse(characterEncoding:"UTF-8")
+                def writer = GSPResponseWriter.getInstance(response, 32, true)
+                t.make(name:name).writeTo(writer)
+                writer.close()
+                assertEquals "${header}${name}\n</body>\n</html>".toString(), response.contentAsString
+            }
+
+            def bytes = t.metaInfo.htmlParts.getBytes(0, "not encoded again", java.nio.charset.Charset.forName("UTF-8"))
+            assertEquals header, new String(bytes, "UTF-8")
+        }
+        finally {
+            RequestContextHolder.setRequestAttributes(null)
+        }
+    }
+}
@@ -0,0 +1,90 @@
+package org.codehaus.groovy.grails.web.pages
+
+import org.springframework.mock.web.*
+import org.springframework.web.context.request.*
+import org.codehaus.groovy.grails.support.*
+import grails.util.GrailsWebUtil
+
+/**
+ * Tests for the ahead of time compilation of GSP views and the loading of the precompiled pages by the
+ * GroovyPagesTemplateEngine
+ */
+class GroovyPageCompilerTests extends GroovyTestCase {
+
+    File viewsDir
+    File targetDir
+
+    void setUp() {
+        RequestContextHolder.setRequestAttributes(null)
+        def tmp = new File(System.getProperty("java.io.tmpdir"), "gsp-precompile-${System.currentTimeMillis()}")
+        viewsDir = new File(tmp, "views")
+        targetDir = new File(tmp, "classes")
+        new File(viewsDir, "book").mkdirs()
+        targetDir.mkdirs()
+
+        new File(viewsDir, "book/list.gsp").write("<%@ page contentType=\"text/xml\" %><list><%='books'%></list>")
+        new File(viewsDir, "book/_item.gsp").write("<%='item'%>")
+        new File(viewsDir, "book/encoded.gsp").write("<%@ page defaultCodec=\"HTML\" %><%='encoded'%>")
+        new File(viewsDir, "book/broken.gsp").write("<%= { %>")
+    }
+
+    void tearDown() {
+        RequestContextHolder.setRequestAttributes(null)
+        delete(viewsDir.parentFile)
+    }
+
+    private delete(File file) {
+        if(file.isDirectory()) file.listFiles().each { delete(it) }
+        file.delete()
+    }
+
+    void testClassNameForUri() {
+        assertEquals "WEB_INF_grails_app_views_book_list_gsp", GroovyPageCompiler.getClassNameForUri("/WEB-INF/grails-app/views/book/list.gsp")
+        assertEquals "_ome_page_gsp", GroovyPageCompiler.getClassNameForUri("/1ome/page.gsp")
+    }
+
+    void testCompileViews() {
+        def compiler = new GroovyPageCompiler(targetDir, getClass().classLoader)
+
+        assertEquals 2, compiler.compileViews(viewsDir, "/WEB-INF/grails-app/views/")
+        compiler.writeIndex()
+
+        assertTrue new File(targetDir, "WEB_INF_grails_app_views_book_list_gsp.class").exists()
+        assertTrue new File(targetDir, "WEB_INF_grails_app_views_book__item_gsp.class").exists()
+
+        def index = new Properties()
+        new File(targetDir, GroovyPageCompiler.PRECOMPILED_INDEX).withInputStream { index.load(it) }
+
+        assertEquals "WEB_INF_grails_app_views_book_list_gsp", index["/WEB-INF/grails-app/views/book/list.gsp"]
+        assertEquals "text/xml", index["/WEB-INF/grails-app/views/book/list.gsp.contentType"]
+        assertNull index["/WEB-INF/grails-app/views/book/encoded.gsp"]
+        assertNull index["/WEB-INF/grails-app/views/book/broken.gsp"]
+    }
+
+    void testLoadPrecompiledPages() {
+        def compiler = new GroovyPageCompiler(targetDir, getClass().classLoader)
+        compiler.compileViews(viewsDir, "/WEB-INF/grails-app/views")
+        compiler.writeIndex()
+
+        GrailsWebUtil.bindMockWebRequest()
+        def rl = new MockStringResourceLoader()
+        rl.registerMockResource("/WEB-INF/grails-app/views/book/list.gsp", "<list><%='runtime'%></list>")
+
+        def gcl = new GroovyClassLoader(getClass().classLoader)
+        gcl.addClasspath(targetDir.absolutePath)
+
+        def gpte = new GroovyPagesTemplateEngine(new MockServletContext(rl))
+        gpte.classLoader = gcl
+        gpte.afterPropertiesSet()
+
+        def t = gpte.createTemplate("/book/list")
+        assertEquals "WEB_INF_grails_app_views_book_list_gsp", t.metaInfo.pageClass.name
+        assertEquals "text/xml", t.metaInfo.contentType
+
+        def sw = new StringWriter()
+        t.make().writeTo(new PrintWriter(sw))
+        assertEquals "<list>books</list>", sw.toString()
+
+        gpte.clearPageCache()
+    }
+}
@@ -0,0 +1,70 @@
+package org.codehaus.groovy.grails.web.pages
+
+import org.codehaus.groovy.grails.web.servlet.mvc.AbstractGrailsControllerTests
+import org.springframework.web.context.request.RequestContextHolder
+
+/**
+ * Tests for the GroovyPageTagInvokerCache used by GroovyPage.invokeTag
+ */
+class GroovyPageTagInvokerCacheTests extends AbstractGrailsControllerTests {
+
+    void onSetUp() {
+        gcl.parseClass('''
+class InvokerCacheTagLib {
+    static namespace = "ic"
+
+    def hello = { attrs, body ->
+        out << "hello ${attrs.name}"
+    }
+}
+''')
+    }
+
+    void onTearDown() {
+        RequestContextHolder.setRequestAttributes(null)
+    }
+
+    void testResolvesTagOnce() {
+        def cache = new GroovyPageTagInvokerCache()
+        def invoker = cache.getTagInvoker("ic", "hello", ga, appCtx)
+
+        assertNotNull invoker
+        assertTrue invoker.isTag()
+        assertSame invoker, cache.getTagInvoker("ic", "hello", ga, appCtx)
+    }
+
+    void testUnknownNamespaceAndTag() {
+        def cache = new GroovyPageTagInvokerCache()
+
+        assertSame GroovyPageTagInvokerCache.NOT_A_TAG_LIBRARY, cache.getTagInvoker("foaf", "Person", ga, appCtx)
+        assertSame GroovyPageTagInvokerCache.NOT_A_TAG_LIBRARY, cache.getTagInvoker("foaf", "Agent", ga, appCtx)
+        assertNull cache.getTagInvoker("ic", "goodbye", ga, appCtx)
+    }
+
+    void testInvalidateAll() {
+        def cache = new GroovyPageTagInvokerCache()
+        def invoker = cache.getTagInvoker("ic", "hello", ga, appCtx)
+
+        GroovyPageTagInvokerCache.invalidateAll()
+
+        def reloaded = cache.getTagInvoker("ic", "hello", ga, appCtx)
+        assertNotSame invoker, reloaded
+        assertSame reloaded, cache.getTagInvoker("ic", "hello", ga, appCtx)
+    }
+
+    void testTemplateReusesCachedInvoker() {
+        def gpte = new GroovyPagesTemplateEngine(servletContext)
+        def t = gpte.createTemplate('<ic:hello name="${name}" />', "invoker_cache_test")
+
+        ["one", "two"].each { name ->
+            def sw = new StringWriter()
+            def pw = new PrintWriter(sw)
+            webRequest.out = pw
+            def w = t.make(name:name)
+            w.writeTo(pw)
+            assertEquals "hello $name".toString(), sw.toString()
+        }
+
+        assertNotNull t.metaInfo.tagInvokerCache.getTagInvoker("ic", "hello", ga, appCtx)
+    }
+}
@@ -7,6 +7,7 @@ import org.codehaus.groovy.grails.web.servlet.mvc.*
 import org.codehaus.groovy.grails.web.errors.*
 import org.codehaus.groovy.grails.support.*
 import grails.util.*
+import org.codehaus.groovy.grails.web.pages.exceptions.*
 
 class GroovyPagesTemplateEngineTests extends GroovyTestCase {
 
@@ -167,6 +168,67 @@ class GroovyPagesTemplateEngineTests extends GroovyTestCase {
         assertEquals "/WEB-INF/grails-app/views/mydir/myview.gsp", gpte.getUriWithinGrailsViews("/mydir/myview")
     }
 
+    void testCreateTemplateForUriIsCachedWhenReloadDisabled() {
+        GrailsWebUtil.bindMockWebRequest()
+
+        def rl = new MockStringResourceLoader()
+        rl.registerMockResource("/cached/page.gsp", "<%='cached 1'%>")
+
+        def gpte = new GroovyPagesTemplateEngine(new MockServletContext(rl))
+        assertEquals "cached 1", renderTemplate(gpte.createTemplate("/cached/page.gsp"))
+
+        def resource = gpte.getResourceForUri("/cached/page.gsp")
+        rl.registerMockResource("/cached/page.gsp", "<%='cached 2'%>")
+
+        assertSame resource, gpte.getResourceForUri("/cached/page.gsp")
+        assertEquals "cached 1", renderTemplate(gpte.createTemplate("/cached/page.gsp"))
+
+        gpte.clearPageCache()
+        assertEquals "cached 2", renderTemplate(gpte.createTemplate("/cached/page.gsp"))
+    }
+
+    void testCreateTemplateForUriUsesFirstExistingUri() {
+        GrailsWebUtil.bindMockWebRequest()
+
+        def rl = new MockStringResourceLoader()
+        rl.registerMockResource("/fallback/_template.gsp", "<%='fallback'%>")
+
+        def gpte = new GroovyPagesTemplateEngine(new MockServletContext(rl))
+        def uris = ["/first/_template.gsp", "/fallback/_template.gsp"] as String[]
+        assertEquals "fallback", renderTemplate(gpte.createTemplateForUri(uris))
+
+        shouldFail(GroovyPagesException) {
+            gpte.createTemplateForUri(["/first/_missing.gsp", "/fallback/_missing.gsp"] as String[])
+        }
+    }
+
+    void testModificationCheckIntervalWhenReloadEnabled() {
+        GrailsWebUtil.bindMockWebRequest()
+
+        def rl = new MockStringResourceLoader()
+        rl.registerMockResource("/reload/b.gsp", "<%='b'%>")
+
+        def gpte = new GroovyPagesTemplateEngine(new MockServletContext(rl))
+        gpte.reloadEnabled = true
+        gpte.modificationCheckInterval = 60000
+
+        def uris = ["/reload/a.gsp", "/reload/b.gsp"] as String[]
+        assertEquals "b", renderTemplate(gpte.createTemplateForUri(uris))
+
+        rl.registerMockResource("/reload/a.gsp", "<%='a'%>")
+        assertEquals "b", renderTemplate(gpte.createTemplateForUri(uris))
+
+        gpte.modificationCheckInterval = 0
+        assertEquals "a", renderTemplate(gpte.createTemplateForUri(uris))
+    }
+
+    private renderTemplate(t) {
+        def sw = new StringWriter()
+        def pw = new PrintWriter(sw)
+        t.make().writeTo(pw)
+        return sw.toString()
+    }
+
     void tearDown() {
         RequestContextHolder.setRequestAttributes(null)
     }
@@ -0,0 +1,68 @@
+package org.codehaus.groovy.grails.web.pages
+
+import org.springframework.core.io.FileSystemResourceLoader
+import org.springframework.mock.web.MockServletContext
+
+/**
+ * Tests for the GroovyPagesWarmUpCompiler
+ */
+class GroovyPagesWarmUpCompilerTests extends GroovyTestCase {
+
+    File webAppDir
+
+    void setUp() {
+        webAppDir = new File(System.getProperty("java.io.tmpdir"), "gsp-warmup-${System.currentTimeMillis()}")
+        def viewsDir = new File(webAppDir, "WEB-INF/grails-app/views")
+        new File(viewsDir, "book").mkdirs()
+        new File(webAppDir, "WEB-INF/plugins/foo-0.1/grails-app/views/bar").mkdirs()
+
+        10.times { new File(viewsDir, "book/page${it}.gsp").write("<%='page $it'%>") }
+        new File(viewsDir, "book/broken.gsp").write("<%= { %>")
+        new File(webAppDir, "WEB-INF/plugins/foo-0.1/grails-app/views/bar/index.gsp").write("<%='plugin'%>")
+        new File(webAppDir, "WEB-INF/grails-app/views/book/notes.txt").write("not a view")
+    }
+
+    void tearDown() {
+        delete(webAppDir)
+    }
+
+    private delete(File file) {
+        if(file.isDirectory()) file.listFiles().each { delete(it) }
+        file.delete()
+    }
+
+    void testWarmUp() {
+        def servletContext = new MockServletContext("file:${webAppDir.absolutePath}", new FileSystemResourceLoader())
+        def gpte = new GroovyPagesTemplateEngine(servletContext)
+
+        def warmUp = new GroovyPagesWarmUpCompiler()
+        warmUp.groovyPagesTemplateEngine = gpte
+        warmUp.servletContext = servletContext
+        warmUp.threads = 3
+        warmUp.background = false
+        warmUp.afterPropertiesSet()
+
+        assertEquals 12, warmUp.totalCount
+        assertEquals 11, warmUp.compiledCount
+        assertEquals 1, warmUp.failures.size()
+        assertTrue warmUp.failures[0].indexOf("broken.gsp") > -1
+
+        def resource = gpte.getResourceForUri("/book/page3")
+        assertTrue resource.exists()
+        def pageClass = gpte.createTemplate(resource).metaInfo.pageClass
+        warmUp.warmUp()
+        assertSame pageClass, gpte.createTemplate(resource).metaInfo.pageClass
+
+        gpte.clearPageCache()
+    }
+
+    void testWarmUpWithoutViews() {
+        def servletContext = new MockServletContext("file:${new File(webAppDir, "WEB-INF/plugins").absolutePath}", new FileSystemResourceLoader())
+        def warmUp = new GroovyPagesWarmUpCompiler()
+        warmUp.groovyPagesTemplateEngine = new GroovyPagesTemplateEngine(servletContext)
+        warmUp.servletContext = servletContext
+
+        assertEquals 0, warmUp.warmUp()
+        assertEquals 0, warmUp.totalCount
+    }
+}
@@ -30,11 +30,11 @@ public Object run() {
 			assertEquals(trimAndRemoveCR(makeImports()+"""\n
 class myTest2 extends GroovyPage {
 public Object run() {
-out.print(STATIC_HTML_CONTENT_0)
+printHtmlPart(0, STATIC_HTML_CONTENT_0)
 "blah".each { 
-out.print(STATIC_HTML_CONTENT_1)
+printHtmlPart(1, STATIC_HTML_CONTENT_1)
 }
-out.print(STATIC_HTML_CONTENT_2)
+printHtmlPart(2, STATIC_HTML_CONTENT_2)
 }
 static final STATIC_HTML_CONTENT_0 = '''\\t'''
 
@@ -55,11 +55,11 @@ static final STATIC_HTML_CONTENT_2 = '''\\t'''
 		  assertEquals(trimAndRemoveCR(makeImports()+"""\n
 class myTest2 extends GroovyPage {
 public Object run() {
-out.print(STATIC_HTML_CONTENT_0)
+printHtmlPart(0, STATIC_HTML_CONTENT_0)
 "blah".eachWithIndex { t,i ->
-out.print(STATIC_HTML_CONTENT_1)
+printHtmlPart(1, STATIC_HTML_CONTENT_1)
 }
-out.print(STATIC_HTML_CONTENT_2)
+printHtmlPart(2, STATIC_HTML_CONTENT_2)
 }
 static final STATIC_HTML_CONTENT_0 = '''\\t'''
 
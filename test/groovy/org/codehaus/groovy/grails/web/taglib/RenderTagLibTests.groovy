@@ -302,4 +302,31 @@ class RenderTagLibTests extends AbstractGrailsTagTests {
 			assertEquals m.group(2), 'sort=title'
 		}
 	}
+    void testPaginateTagInKeysetMode() {
+        webRequest.controllerName = "book"
+        def books = [[id:3, title:"C"], [id:1, title:"D"]]
+        def template = '<g:paginate mode="keyset" results="${books}" max="2" />'
+
+        assertOutputEquals('<a href="/book/list?max=2&amp;after=1" class="nextLink">Next</a>', template, [books:books])
+
+        webRequest.params.sort = "title"
+        webRequest.params.after = "B"
+        assertOutputEquals('<a href="/book/list?max=2&amp;sort=title&amp;before=C&amp;beforeId=3" class="prevLink">Previous</a>' +
+                '<a href="/book/list?max=2&amp;sort=title&amp;after=D&amp;afterId=1" class="nextLink">Next</a>', template, [books:books])
+
+        webRequest.params.remove("after")
+        webRequest.params.before = "E"
+        assertOutputEquals('<a href="/book/list?max=2&amp;sort=title&amp;before=C&amp;beforeId=3" class="prevLink">Previous</a>' +
+                '<a href="/book/list?max=2&amp;sort=title&amp;after=D&amp;afterId=1" class="nextLink">Next</a>', template, [books:books])
+        // the first page, reached with a previous link
+        assertOutputEquals('<a href="/book/list?max=2&amp;sort=title&amp;after=C&amp;afterId=3" class="nextLink">Next</a>',
+                template, [books:books[0..0]])
+
+        // the empty page that follows a full last page
+        webRequest.params.remove("before")
+        webRequest.params.after = "D"
+        webRequest.params.afterId = "1"
+        assertOutputEquals('<a href="/book/list?max=2&amp;sort=title&amp;before=D&amp;beforeId=1" class="prevLink">Previous</a>',
+                template, [books:[]])
+    }
 }
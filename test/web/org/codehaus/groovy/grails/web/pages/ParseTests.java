@@ -171,11 +171,11 @@ public class ParseTests extends TestCase {
              "\n" +
              "class myTest extends GroovyPage {\n" +
              "public Object run() {\n" +
-             "out.print(STATIC_HTML_CONTENT_0)\n" +
+             "printHtmlPart(0, STATIC_HTML_CONTENT_0)\n" +
              "body1 = new GroovyPageTagBody(this,binding.webRequest) {\n" +
              "}\n" +
              "invokeTag('form','tt',[:],body1)\n" +
-             "out.print(STATIC_HTML_CONTENT_1)\n" +
+             "printHtmlPart(1, STATIC_HTML_CONTENT_1)\n" +
              "}\n" +
              "static final STATIC_HTML_CONTENT_0 = '''<tbody>'''\n" +
              "\n" +